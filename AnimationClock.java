@@ -0,0 +1,148 @@
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one timer behind every animation and timed screen change.
+ *
+ * Each animation belongs to a component and runs at most once per period (never faster than
+ * {@link #MAX_FPS}). While its component is not showing, e.g. its scene is behind another card,
+ * it is paused and its remaining time is kept; it resumes when the component is shown again.
+ * An animation is released as soon as it reports it is finished, is cancelled, or its component
+ * leaves the window for good. A single Swing timer is armed for the next due animation only,
+ * and nothing is scheduled at all while no animation is active. EDT only.
+ */
+final class AnimationClock {
+    static final int MAX_FPS = 60;
+    private static final long MIN_PERIOD_NANOS = 1_000_000_000L / MAX_FPS;
+
+    /** One step of an animation; returns false once it is finished. */
+    interface Animation {
+        boolean tick();
+    }
+
+    /** A running animation, which can be stopped early. */
+    static final class Handle {
+        private final JComponent owner;
+        private final Animation animation;
+        private final long periodNanos;
+        private final boolean repeats;
+        private long nextDue;
+        private long pausedAt = -1;
+        private HierarchyListener resume;
+
+        private Handle(JComponent owner, Animation animation, long periodNanos, boolean repeats) {
+            this.owner = owner;
+            this.animation = animation;
+            this.periodNanos = periodNanos;
+            this.repeats = repeats;
+            this.nextDue = System.nanoTime() + periodNanos;
+        }
+
+        void cancel() {
+            release(this);
+        }
+
+        boolean isRunning() {
+            return active.contains(this);
+        }
+    }
+
+    private static final List<Handle> active = new ArrayList<>();
+    private static final Timer timer = new Timer(0, _ -> tick());
+
+    static {
+        timer.setRepeats(false);
+    }
+
+    private AnimationClock() {}
+
+    /** Runs {@code animation} every {@code periodMillis} (capped at {@link #MAX_FPS}) until it returns false. */
+    static Handle every(JComponent owner, int periodMillis, Animation animation) {
+        long period = Math.max(MIN_PERIOD_NANOS, periodMillis * 1_000_000L);
+        return schedule(new Handle(owner, animation, period, true));
+    }
+
+    /** Runs {@code action} once, {@code delayMillis} of showing time after now. */
+    static Handle after(JComponent owner, int delayMillis, Runnable action) {
+        return schedule(new Handle(owner, () -> {
+            action.run();
+            return false;
+        }, delayMillis * 1_000_000L, false));
+    }
+
+    /** Number of animations not yet released, paused ones included. */
+    static int activeCount() {
+        return active.size();
+    }
+
+    private static Handle schedule(Handle h) {
+        active.add(h);
+        if (!h.owner.isShowing()) pause(h, System.nanoTime());
+        arm();
+        return h;
+    }
+
+    private static void release(Handle h) {
+        if (!active.remove(h)) return;
+        if (h.resume != null) h.owner.removeHierarchyListener(h.resume);
+        h.resume = null;
+    }
+
+    private static void tick() {
+        long now = System.nanoTime();
+        for (Handle h : List.copyOf(active)) {
+            if (!active.contains(h)) continue; // cancelled by an earlier animation this frame
+            if (!h.owner.isShowing()) {
+                pause(h, now);
+                continue;
+            }
+            if (h.pausedAt >= 0) resume(h, now);
+            if (now < h.nextDue) continue;
+
+            boolean more = h.animation.tick();
+            if (!more || !h.repeats) release(h);
+            else h.nextDue = Math.max(h.nextDue + h.periodNanos, now + MIN_PERIOD_NANOS);
+        }
+        arm();
+    }
+
+    private static void pause(Handle h, long now) {
+        if (h.pausedAt >= 0) return;
+        h.pausedAt = now;
+        h.resume = e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !h.owner.isDisplayable())
+                release(h); // gone from the window for good, nothing left to animate
+            else if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && h.owner.isShowing())
+                arm();
+        };
+        h.owner.addHierarchyListener(h.resume);
+    }
+
+    private static void resume(Handle h, long now) {
+        h.nextDue += now - h.pausedAt;
+        h.pausedAt = -1;
+        h.owner.removeHierarchyListener(h.resume);
+        h.resume = null;
+    }
+
+    /** Sets the timer for the earliest due animation that is showing, or leaves it stopped. */
+    private static void arm() {
+        long now = System.nanoTime();
+        long earliest = Long.MAX_VALUE;
+        for (Handle h : active) {
+            if (!h.owner.isShowing()) continue;
+            // A paused animation resumes with the time it had left
+            long due = h.pausedAt >= 0 ? h.nextDue + (now - h.pausedAt) : h.nextDue;
+            earliest = Math.min(earliest, due);
+        }
+        if (earliest == Long.MAX_VALUE) {
+            timer.stop();
+            return;
+        }
+        timer.setInitialDelay((int) Math.max(0, (earliest - now) / 1_000_000L));
+        timer.restart();
+    }
+}
@@ -0,0 +1,299 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The whole game board as one component: category headers and value tiles are painted from
+ * cached images, clicks are hit-tested to a tile, and state changes (hover, a tile being
+ * used) repaint just that tile. Used instead of the per-tile JButton grid for big boards,
+ * where hundreds of buttons make layout and repaint slow.
+ */
+@SuppressWarnings("serial")
+class BoardCanvas extends JComponent {
+    private static final int GAP = 2;
+    private static final int BORDER = 4;
+    private static final Color TILE_BASE = new Color(0, 0, 120);
+    private static final Color TILE_EDGE = new Color(10, 10, 60);
+    private static final Color HEADER_EDGE = new Color(255, 215, 0);
+    private static final Color GOLD = new Color(255, 215, 0);
+    private static final Color SOFT_WHITE = new Color(255, 255, 255, 60);
+
+    private enum TileState { NORMAL, HOVER, USED }
+
+    private final List<String> categories;
+    private final List<List<JeopardyGUI.Clue>> columns = new ArrayList<>();
+    private final int rows;
+    private final Consumer<JeopardyGUI.Clue> onTileClicked;
+    private Font headerFont, tileFont;
+
+    // Images are only valid for the cell size and device scale they were rendered at
+    private final Map<String, BufferedImage> tileImages = new HashMap<>();
+    private final Map<String, BufferedImage> headerImages = new HashMap<>();
+    private BufferedImage background;
+    private int cachedCellW = -1, cachedCellH = -1;
+    private double cachedScale = 1;
+
+    private int hoverCol = -1, hoverRow = -1;
+
+    BoardCanvas(List<String> categoryOrder, Map<String, List<JeopardyGUI.Clue>> byCategory,
+                Font headerFont, Font tileFont, Consumer<JeopardyGUI.Clue> onTileClicked) {
+        this.categories = new ArrayList<>(categoryOrder);
+        for (String cat : categories) columns.add(byCategory.get(cat));
+        this.rows = columns.stream().mapToInt(List::size).max().orElse(5);
+        this.headerFont = headerFont;
+        this.tileFont = tileFont;
+        this.onTileClicked = onTileClicked;
+        setOpaque(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHover(columnAt(e.getX()), rowAt(e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHover(-1, -1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                JeopardyGUI.Clue clue = clueAt(columnAt(e.getX()), rowAt(e.getY()));
+                if (clue != null && !clue.asked()) BoardCanvas.this.onTileClicked.accept(clue);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    /** Repaints the tile showing {@code clue}, e.g. after it was marked asked. */
+    void tileChanged(JeopardyGUI.Clue clue) {
+        for (int c = 0; c < columns.size(); c++) {
+            int r = columns.get(c).indexOf(clue);
+            if (r >= 0) repaint(cellBounds(c, r + 1));
+        }
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (font == null || tileFont == null) return;
+        // Keep the header/tile proportions of the fonts we were built with
+        float scale = font.getSize2D() / tileFont.getSize2D();
+        headerFont = FontCache.get(headerFont.getName(), headerFont.getStyle(), FontCache.bucket(Math.round(headerFont.getSize() * scale)));
+        tileFont = font;
+        invalidateImages();
+        repaint();
+    }
+
+    // ===== Geometry and hit-testing =====
+
+    private int cellW() {
+        int cols = Math.max(1, categories.size());
+        return Math.max(1, (getWidth() - 2 * BORDER - (cols - 1) * GAP) / cols);
+    }
+
+    private int cellH() {
+        return Math.max(1, (getHeight() - 2 * BORDER - rows * GAP) / (rows + 1));
+    }
+
+    private Rectangle cellBounds(int col, int row) {
+        int w = cellW(), h = cellH();
+        return new Rectangle(BORDER + col * (w + GAP), BORDER + row * (h + GAP), w, h);
+    }
+
+    private int columnAt(int x) {
+        int c = (x - BORDER) / (cellW() + GAP);
+        return x < BORDER || c >= categories.size() ? -1 : c;
+    }
+
+    private int rowAt(int y) {
+        int r = (y - BORDER) / (cellH() + GAP);
+        return y < BORDER || r > rows ? -1 : r;
+    }
+
+    private JeopardyGUI.Clue clueAt(int col, int row) {
+        if (col < 0 || row < 1) return null;
+        List<JeopardyGUI.Clue> list = columns.get(col);
+        return row - 1 < list.size() ? list.get(row - 1) : null;
+    }
+
+    private void setHover(int col, int row) {
+        if (clueAt(col, row) == null) col = row = -1;
+        if (col == hoverCol && row == hoverRow) return;
+        if (hoverCol >= 0) repaint(cellBounds(hoverCol, hoverRow));
+        hoverCol = col;
+        hoverRow = row;
+        if (hoverCol >= 0) repaint(cellBounds(hoverCol, hoverRow));
+    }
+
+    // ===== Painting =====
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // On a HiDPI screen g maps each unit to several device pixels; render the images at that
+        // resolution and draw them back at unit size, or they get upscaled and blurry
+        double scale = g instanceof Graphics2D g2 ? Math.max(1, g2.getTransform().getScaleX()) : 1;
+        int w = cellW(), h = cellH();
+        if (w != cachedCellW || h != cachedCellH || scale != cachedScale) invalidateImages();
+        cachedCellW = w;
+        cachedCellH = h;
+        cachedScale = scale;
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        if (background == null || background.getWidth() != Math.max(1, pixels(getWidth())) || background.getHeight() != Math.max(1, pixels(getHeight())))
+            background = renderBackground(getWidth(), getHeight());
+        g.drawImage(background, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                pixels(clip.x), pixels(clip.y), pixels(clip.x + clip.width), pixels(clip.y + clip.height), null);
+
+        for (int c = 0; c < categories.size(); c++) {
+            for (int r = 0; r <= rows; r++) {
+                Rectangle cell = cellBounds(c, r);
+                if (!cell.intersects(clip)) continue;
+                BufferedImage img = r == 0 ? headerImage(categories.get(c), w, h) : tileImage(c, r, w, h);
+                g.drawImage(img, cell.x, cell.y, w, h, null);
+            }
+        }
+    }
+
+    private void invalidateImages() {
+        tileImages.clear();
+        headerImages.clear();
+        background = null;
+    }
+
+    private BufferedImage tileImage(int col, int row, int w, int h) {
+        JeopardyGUI.Clue clue = clueAt(col, row);
+        if (clue == null) return tileImages.computeIfAbsent("", _ -> renderEmptyTile(w, h));
+        TileState state = clue.asked() ? TileState.USED
+                : col == hoverCol && row == hoverRow ? TileState.HOVER : TileState.NORMAL;
+        String label = "$" + clue.value;
+        return tileImages.computeIfAbsent(state + label, _ -> renderTile(label, state, w, h));
+    }
+
+    private BufferedImage headerImage(String category, int w, int h) {
+        return headerImages.computeIfAbsent(category, _ -> renderHeader(category.toUpperCase(), w, h));
+    }
+
+    /** Device pixels for {@code units} at the current scale. */
+    private int pixels(int units) {
+        return (int) Math.ceil(units * cachedScale);
+    }
+
+    /** An image w x h units big in device pixels; draw into it through {@link #unitGraphics}. */
+    private BufferedImage newImage(int w, int h) {
+        int pw = Math.max(1, pixels(w)), ph = Math.max(1, pixels(h));
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return gc != null ? gc.createCompatibleImage(pw, ph, Transparency.TRANSLUCENT)
+                : new BufferedImage(pw, ph, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private Graphics2D unitGraphics(BufferedImage img) {
+        Graphics2D g2 = img.createGraphics();
+        g2.scale(cachedScale, cachedScale);
+        return g2;
+    }
+
+    private BufferedImage renderBackground(int w, int h) {
+        BufferedImage img = newImage(w, h);
+        Graphics2D g2 = unitGraphics(img);
+        g2.setPaint(new GradientPaint(0, 0, new Color(0, 0, 90), 0, h, new Color(20, 20, 140)));
+        g2.fillRect(0, 0, w, h);
+        g2.setColor(Color.BLACK);
+        for (int i = 0; i < BORDER; i++) g2.drawRect(i, i, w - 1 - 2 * i, h - 1 - 2 * i);
+        g2.dispose();
+        return img;
+    }
+
+    private BufferedImage renderTile(String label, TileState state, int w, int h) {
+        BufferedImage img = newImage(w, h);
+        Graphics2D g2 = unitGraphics(img);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        Color base = state == TileState.HOVER ? TILE_BASE.brighter() : TILE_BASE;
+        g2.setPaint(new GradientPaint(0, 0, base.brighter(), 0, h, base.darker()));
+        g2.fillRoundRect(0, 0, w, h, 25, 25);
+        g2.setColor(SOFT_WHITE);
+        g2.drawRoundRect(1, 1, w - 3, h - 3, 25, 25);
+
+        g2.setFont(tileFont);
+        g2.setColor(state == TileState.USED ? Color.GRAY : GOLD);
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(label, (w - fm.stringWidth(label)) / 2, (h - fm.getHeight()) / 2 + fm.getAscent());
+        g2.dispose();
+        return img;
+    }
+
+    private BufferedImage renderEmptyTile(int w, int h) {
+        BufferedImage img = newImage(w, h);
+        Graphics2D g2 = unitGraphics(img);
+        g2.setColor(TILE_BASE);
+        g2.fillRect(0, 0, w, h);
+        g2.setColor(TILE_EDGE);
+        for (int i = 0; i < 4; i++) g2.drawRect(i, i, w - 1 - 2 * i, h - 1 - 2 * i);
+        g2.dispose();
+        return img;
+    }
+
+    private BufferedImage renderHeader(String text, int w, int h) {
+        BufferedImage img = newImage(w, h);
+        Graphics2D g2 = unitGraphics(img);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setColor(TILE_BASE);
+        g2.fillRect(0, 0, w, h);
+        g2.setColor(HEADER_EDGE);
+        for (int i = 0; i < 3; i++) g2.drawRect(i, i, w - 1 - 2 * i, h - 1 - 2 * i);
+
+        // Word-wrap to the cell, shrinking the font until the lines fit
+        int pad = 13;
+        Font font = headerFont;
+        List<String> lines;
+        FontMetrics fm;
+        do {
+            fm = FontCache.metrics(font);
+            lines = wrap(text, fm, w - 2 * pad);
+            int widest = 0;
+            for (String line : lines) widest = Math.max(widest, fm.stringWidth(line));
+            boolean fits = widest <= w - 2 * pad && lines.size() * fm.getHeight() <= h - 2 * pad;
+            if (fits || font.getSize() <= 8) break;
+            font = FontCache.get(font.getName(), font.getStyle(), font.getSize() - 1);
+        } while (true);
+
+        g2.setFont(font);
+        g2.setColor(Color.WHITE);
+        int y = (h - lines.size() * fm.getHeight()) / 2 + fm.getAscent();
+        for (String line : lines) {
+            g2.drawString(line, (w - fm.stringWidth(line)) / 2, y);
+            y += fm.getHeight();
+        }
+        g2.dispose();
+        return img;
+    }
+
+    private static List<String> wrap(String text, FontMetrics fm, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            if (line.length() > 0 && fm.stringWidth(line + " " + word) > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (line.length() > 0) line.append(' ');
+            line.append(word);
+        }
+        if (line.length() > 0) lines.add(line.toString());
+        return lines;
+    }
+}
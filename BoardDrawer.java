@@ -0,0 +1,263 @@
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Draws random boards from a large {@link ClueStore} without repeating clues across games.
+ *
+ * A category→value-tier index is built once; after that a draw only touches the clues it
+ * picks, so it stays well under a millisecond however big the bank is. Every drawn clue is
+ * recorded in a bitset that is saved next to the pack ({@code <pack>.used}), so later
+ * sessions on the same bank keep skipping them; it is written off the caller's thread, and
+ * flushed at exit. Draws are driven by the caller's {@link Random} and skip whatever the used
+ * set holds, so a seeded Random repeats its boards only from the same used-clue state, not
+ * from one session to the next.
+ */
+final class BoardDrawer {
+    static final int TIERS = 5;
+
+    private static final int USED_MAGIC = 0x4A555345; // "JUSE"
+
+    // One writer for every drawer, so saves never run on the EDT or a connection thread
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "used-clues-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Set<BoardDrawer> UNSAVED = ConcurrentHashMap.newKeySet();
+
+    static {
+        // Exiting (the window's close, Ctrl-C on a server) must not lose the last board's draw
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            WRITER.shutdown();
+            try {
+                WRITER.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            for (BoardDrawer drawer : UNSAVED) drawer.save();
+        }, "used-clues-flush"));
+    }
+
+    private final ClueStore store;
+    private final File usedFile;
+    private final BitSet used; // guarded by usedLock
+    // Locks rather than monitors: room servers draw and save on virtual threads, and a
+    // monitor held across the file write would pin the carrier
+    private final ReentrantLock usedLock = new ReentrantLock();
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    // Categories with at least TIERS distinct values, and for each one the first clue index
+    // of each of its lowest TIERS value tiers (plus the end of the last tier)
+    private final int[] eligible;
+    private final int[] tierStarts;
+
+    BoardDrawer(ClueStore store) {
+        this.store = store;
+        this.usedFile = new File(store.pack().file().getPath() + ".used");
+        this.used = loadUsed();
+
+        int[] eligibleBuf = new int[store.categoryCount()];
+        int[] startsBuf = new int[(TIERS + 1) * 16];
+        int count = 0;
+        for (int c = 0; c < store.categoryCount(); c++) {
+            int from = store.firstClue(c), to = from + store.clueCount(c);
+            if (startsBuf.length < (count + 1) * (TIERS + 1))
+                startsBuf = Arrays.copyOf(startsBuf, startsBuf.length * 2);
+            int base = count * (TIERS + 1);
+            int tiers = 0;
+            for (int i = from; i < to && tiers <= TIERS; i++) {
+                if (i == from || store.value(i) != store.value(i - 1))
+                    startsBuf[base + tiers++] = i;
+            }
+            if (tiers < TIERS) continue;
+            if (tiers == TIERS) startsBuf[base + TIERS] = to; // otherwise already holds the start of tier 6
+            eligibleBuf[count++] = c;
+        }
+        eligible = Arrays.copyOf(eligibleBuf, count);
+        tierStarts = Arrays.copyOf(startsBuf, count * (TIERS + 1));
+    }
+
+    /** Number of categories that can fill a whole column. */
+    int eligibleCategories() {
+        return eligible.length;
+    }
+
+    /**
+     * Picks up to {@code categories} columns of {@link #TIERS} unused clues each and marks them
+     * used. Returns {@code [category][tier]} store indices, lowest tier first. When the bank has
+     * run out the used set is cleared and the draw starts over on the whole bank.
+     */
+    int[][] draw(int categories, Random rng) {
+        usedLock.lock();
+        try {
+            int[][] board = drawOnce(categories, rng);
+            if (board.length < Math.min(categories, eligible.length)) {
+                used.clear();
+                board = drawOnce(categories, rng);
+            }
+            for (int[] column : board) for (int clue : column) used.set(clue);
+            return board;
+        } finally {
+            usedLock.unlock();
+        }
+    }
+
+    private int[][] drawOnce(int categories, Random rng) {
+        int want = Math.min(categories, eligible.length);
+        int[][] board = new int[want][];
+        int[] picked = new int[want];
+        int found = 0;
+        // Rejection sampling keeps a draw independent of the number of categories
+        for (int attempt = 0; found < want && attempt < want * 64; attempt++) {
+            int e = rng.nextInt(eligible.length);
+            if (contains(picked, found, e)) continue;
+            int[] column = drawColumn(e, rng);
+            if (column == null) continue;
+            picked[found] = e;
+            board[found++] = column;
+        }
+        if (found < want) {
+            // Sparse leftovers: sweep from a random start instead of guessing
+            int start = rng.nextInt(eligible.length);
+            for (int k = 0; k < eligible.length && found < want; k++) {
+                int e = (start + k) % eligible.length;
+                if (contains(picked, found, e)) continue;
+                int[] column = drawColumn(e, rng);
+                if (column == null) continue;
+                picked[found] = e;
+                board[found++] = column;
+            }
+        }
+        return found == want ? board : Arrays.copyOf(board, found);
+    }
+
+    private static boolean contains(int[] a, int n, int v) {
+        for (int i = 0; i < n; i++) if (a[i] == v) return true;
+        return false;
+    }
+
+    private int[] drawColumn(int e, Random rng) {
+        int[] column = new int[TIERS];
+        int base = e * (TIERS + 1);
+        for (int t = 0; t < TIERS; t++) {
+            int from = tierStarts[base + t], to = tierStarts[base + t + 1];
+            int clue = unusedIn(from, to, from + rng.nextInt(to - from));
+            if (clue < 0) return null;
+            column[t] = clue;
+        }
+        return column;
+    }
+
+    /** First unused clue at or after {@code start}, wrapping around inside [from, to). */
+    private int unusedIn(int from, int to, int start) {
+        int i = used.nextClearBit(start);
+        if (i < to) return i;
+        i = used.nextClearBit(from);
+        return i < start ? i : -1;
+    }
+
+    String categoryName(int[] column) {
+        return store.categoryName(categoryOf(column[0]));
+    }
+
+    private int categoryOf(int clue) {
+        // Categories are contiguous in store order, so binary search on first-clue indices
+        int lo = 0, hi = store.categoryCount() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (store.firstClue(mid) <= clue) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // ===== Persistence of used clues =====
+
+    private BitSet loadUsed() {
+        if (!usedFile.isFile()) return new BitSet(store.size());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(usedFile)))) {
+            if (in.readInt() != USED_MAGIC
+                    || in.readLong() != store.pack().sourceSize()
+                    || in.readLong() != store.pack().sourceCrc()) {
+                return new BitSet(store.size()); // bank changed, old indices mean nothing
+            }
+            int n = in.readInt();
+            // toLongArray drops trailing empty words, so anything up to the whole bank is fine
+            if (n < 0 || n > (store.size() + 63) / 64) return new BitSet(store.size()); // corrupt
+            long[] words = new long[n];
+            for (int i = 0; i < words.length; i++) words[i] = in.readLong();
+            return BitSet.valueOf(words);
+        } catch (IOException ex) {
+            return new BitSet(store.size());
+        }
+    }
+
+    /**
+     * Saves the used set on the shared writer thread; call after each draw. The writer is a
+     * daemon so it never holds the JVM open, so a shutdown hook lets it finish first.
+     */
+    void saveLater() {
+        if (!UNSAVED.add(this)) return; // a save is already queued, and will see this draw
+        try {
+            WRITER.execute(this::save);
+        } catch (RejectedExecutionException shuttingDown) {
+            save();
+        }
+    }
+
+    /** Writes the used set now. */
+    void save() {
+        saveLock.lock();
+        try {
+            UNSAVED.remove(this); // before reading, so a draw from here on queues another save
+            long[] words;
+            usedLock.lock();
+            try {
+                words = used.toLongArray();
+            } finally {
+                usedLock.unlock();
+            }
+            write(words);
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    /** Writes to a temp file of its own and moves it over the used file, like a pack is written. */
+    private void write(long[] words) {
+        try {
+            Path target = usedFile.toPath();
+            Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), usedFile.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(USED_MAGIC);
+                out.writeLong(store.pack().sourceSize());
+                out.writeLong(store.pack().sourceCrc());
+                out.writeInt(words.length);
+                for (long w : words) out.writeLong(w);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(tmp);
+                throw ex;
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            System.err.println("Could not save used clues to " + usedFile + ": " + ex.getMessage());
+        }
+    }
+}
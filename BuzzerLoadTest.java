@@ -0,0 +1,158 @@
+import javax.swing.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exercises {@link BuzzerServer} with loopback clients: first a few arbitration checks (first
+ * buzz wins, early buzzes lock out, no second turn on a clue), then a load run where TCP clients
+ * buzz in a ping-pong loop and UDP clients blast datagrams while every win immediately starts a
+ * new clue. Reports buzzes per second, client round trips, and how long a win takes to reach
+ * the EDT, where the screen would change.
+ *
+ * Usage: java BuzzerLoadTest [tcp=8] [udp=2] [seconds=3]
+ * Exits non-zero if a check fails.
+ */
+public class BuzzerLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int tcpClients = 8, udpClients = 2, seconds = 3;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "tcp" -> tcpClients = Integer.parseInt(kv[1]);
+                case "udp" -> udpClients = Integer.parseInt(kv[1]);
+                case "seconds" -> seconds = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        boolean ok = checks();
+        load(tcpClients, udpClients, seconds);
+        System.exit(ok ? 0 : 1);
+    }
+
+    // ===== Arbitration checks =====
+
+    private static boolean checks() throws Exception {
+        AtomicInteger winner = new AtomicInteger(-1);
+        boolean ok = true;
+        try (BuzzerServer server = new BuzzerServer(0, 4, (seat, _) -> winner.set(seat));
+             SocketChannel a = connect(server);
+             SocketChannel b = connect(server)) {
+            server.expect();
+            ok &= check("early buzz is refused", buzz(a, 1) == 0);
+            server.arm();
+            ok &= check("early buzzer is locked out", buzz(a, 1) == 0);
+            ok &= check("first buzz after arming wins", buzz(b, 2) == 1 && winner.get() == 2);
+            ok &= check("later buzz loses", buzz(a, 3) == 0);
+
+            server.arm(); // seat 2 answered wrong
+            ok &= check("no second turn on a clue", buzz(b, 2) == 0);
+            Thread.sleep(BuzzerServer.LOCKOUT_NANOS / 1_000_000 + 20);
+            ok &= check("lockout expires", buzz(a, 1) == 1 && winner.get() == 1);
+
+            server.expect();
+            server.arm();
+            ok &= check("a new clue resets turns", buzz(b, 2) == 1);
+            server.idle();
+            ok &= check("idle ignores buzzes", buzz(a, 0) == 0);
+            ok &= check("unknown seat ignored", buzz(a, 9) == 0);
+        }
+        return ok;
+    }
+
+    private static boolean check(String what, boolean passed) {
+        System.out.printf("  %-32s %s%n", what, passed ? "ok" : "FAILED");
+        return passed;
+    }
+
+    // ===== Load =====
+
+    private static void load(int tcpClients, int udpClients, int seconds) throws Exception {
+        LatencyHistogram roundTrip = new LatencyHistogram();
+        LatencyHistogram toEdt = new LatencyHistogram();
+        AtomicLong wins = new AtomicLong();
+        BuzzerServer[] holder = new BuzzerServer[1];
+        BuzzerServer server = new BuzzerServer(0, 64, (_, buzzNanos) -> {
+            wins.incrementAndGet();
+            SwingUtilities.invokeLater(() -> toEdt.record(System.nanoTime() - buzzNanos));
+            // Straight on to the next clue
+            holder[0].expect();
+            holder[0].arm();
+        });
+        holder[0] = server;
+        server.expect();
+        server.arm();
+
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < tcpClients; i++) {
+            int seat = i;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try (SocketChannel ch = connect(server)) {
+                    while (System.nanoTime() < end) {
+                        long t0 = System.nanoTime();
+                        buzz(ch, seat);
+                        roundTrip.record(System.nanoTime() - t0);
+                    }
+                } catch (IOException ex) {
+                    System.err.println("tcp client " + seat + ": " + ex);
+                }
+            }));
+        }
+        for (int i = 0; i < udpClients; i++) {
+            int seat = tcpClients + i;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try (DatagramChannel ch = DatagramChannel.open()) {
+                    ch.connect(new InetSocketAddress("127.0.0.1", server.port()));
+                    ByteBuffer packet = ByteBuffer.allocate(1);
+                    while (System.nanoTime() < end) {
+                        packet.clear();
+                        packet.put((byte) seat).flip();
+                        ch.write(packet); // replies are not read: a buzzer that only sends
+                    }
+                } catch (IOException ex) {
+                    System.err.println("udp client " + seat + ": " + ex);
+                }
+            }));
+        }
+        for (Thread t : threads) t.join();
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> {});
+        server.close();
+
+        System.out.printf("%n%d tcp + %d udp clients, %d s: %,d buzzes (%,d/s), %,d wins%n",
+                tcpClients, udpClients, seconds, server.packets(), server.packets() / seconds, wins.get());
+        print("tcp round trip", roundTrip);
+        print("win -> EDT", toEdt);
+    }
+
+    private static void print(String name, LatencyHistogram h) {
+        System.out.printf("  %-16s n=%,d  p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", name, h.count(),
+                h.percentileNanos(0.5) / 1e6, h.percentileNanos(0.99) / 1e6, h.maxNanos() / 1e6);
+    }
+
+    private static SocketChannel connect(BuzzerServer server) throws IOException {
+        SocketAddress addr = new InetSocketAddress("127.0.0.1", server.port());
+        SocketChannel ch = SocketChannel.open(addr);
+        ch.socket().setTcpNoDelay(true);
+        return ch;
+    }
+
+    /** Sends one buzz and waits for the server's reply byte. */
+    private static int buzz(SocketChannel ch, int seat) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(1);
+        b.put((byte) seat).flip();
+        ch.write(b);
+        b.clear();
+        if (ch.read(b) < 0) throw new IOException("server closed");
+        return b.get(0);
+    }
+}
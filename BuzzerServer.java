@@ -0,0 +1,211 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Network buzzers: contestants' devices connect over TCP or send UDP datagrams to one port,
+ * and the first to buzz after the host opens buzzing gets the clue.
+ *
+ * Protocol: every byte a client sends is one buzz for the seat it names (0-based, up to 127; a
+ * UDP datagram's first byte). Each buzz is answered with one byte, 1 if it won the clue and 0 if
+ * not. One selector thread reads all channels without blocking and stamps each read with
+ * {@link System#nanoTime()}, so buzzes are ranked in the order the server received them.
+ *
+ * Arbitration is a single compare-and-set on {@link #state}, so buzz handling never waits on
+ * the host's thread. As on the show, a buzz while the clue is still being read
+ * ({@link #expect}ed but not yet {@link #arm}ed) locks that seat out for {@link #LOCKOUT_NANOS},
+ * and a contestant who has already answered a clue cannot buzz on it again.
+ * The winner is passed to the {@link Listener} on the selector thread.
+ */
+final class BuzzerServer implements Closeable {
+    static final long LOCKOUT_NANOS = 250_000_000L;
+    /** Seats the protocol can name: the seat is one signed byte. */
+    static final int MAX_SEATS = 128;
+
+    interface Listener {
+        /** {@code buzzNanos} is the {@link System#nanoTime()} the winning buzz was read at. */
+        void won(int seat, long buzzNanos);
+    }
+
+    private static final int IDLE = -3, READING = -2, ARMED = -1; // otherwise, the seat that won
+
+    private final int seats;
+    private final Listener listener;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private final AtomicLongArray lockedUntil;
+    private final AtomicLongArray answered; // bitset of seats that have had a turn at the current clue
+
+    private final Selector selector;
+    private final ServerSocketChannel tcp;
+    private final DatagramChannel udp;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(4096);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(4096);
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile long packets; // written by the selector thread only
+
+    /** Listens on {@code port} for TCP and UDP; 0 picks a free port, see {@link #port()}. */
+    BuzzerServer(int port, int seats, Listener listener) throws IOException {
+        if (seats > MAX_SEATS) throw new IllegalArgumentException(seats + " seats; a buzz can name only " + MAX_SEATS);
+        this.seats = seats;
+        this.listener = listener;
+        lockedUntil = new AtomicLongArray(seats);
+        answered = new AtomicLongArray((seats + 63) / 64);
+
+        selector = Selector.open();
+        tcp = ServerSocketChannel.open();
+        tcp.bind(new InetSocketAddress(port));
+        tcp.configureBlocking(false);
+        tcp.register(selector, SelectionKey.OP_ACCEPT);
+        udp = DatagramChannel.open();
+        udp.bind(new InetSocketAddress(port()));
+        udp.configureBlocking(false);
+        udp.register(selector, SelectionKey.OP_READ);
+
+        thread = new Thread(this::selectLoop, "buzzer-selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int port() {
+        return tcp.socket().getLocalPort();
+    }
+
+    // ===== Host side, any thread =====
+
+    /** A new clue is on screen and being read: clears who has answered; early buzzes lock out. */
+    void expect() {
+        for (int i = 0; i < answered.length(); i++) answered.set(i, 0);
+        state.set(READING);
+    }
+
+    /** Opens buzzing, for the first time on a clue or again after a wrong answer or pass. */
+    void arm() {
+        state.set(ARMED);
+    }
+
+    /** The host picked {@code seat} by hand: buzzing closes as if that seat had won. */
+    void claim(int seat) {
+        if (seat >= 0 && seat < seats) markAnswered(seat);
+        state.set(seat);
+    }
+
+    /** No clue in play; buzzes are ignored. */
+    void idle() {
+        state.set(IDLE);
+    }
+
+    // ===== Arbitration =====
+
+    /** Handles one buzz read at {@code nanos}; true if it won the clue. */
+    boolean buzz(int seat, long nanos) {
+        if (seat < 0 || seat >= seats) return false;
+        int s = state.get();
+        if (s == READING) {
+            lockedUntil.set(seat, nanos + LOCKOUT_NANOS);
+            return false;
+        }
+        if (s != ARMED || nanos - lockedUntil.get(seat) < 0 || hasAnswered(seat)) return false;
+        if (!state.compareAndSet(ARMED, seat)) return false;
+        markAnswered(seat);
+        listener.won(seat, nanos);
+        return true;
+    }
+
+    private boolean hasAnswered(int seat) {
+        return (answered.get(seat >>> 6) & (1L << seat)) != 0;
+    }
+
+    private void markAnswered(int seat) {
+        answered.getAndAccumulate(seat >>> 6, 1L << seat, (a, b) -> a | b);
+    }
+
+    // ===== Network =====
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isAcceptable()) accept();
+                        else if (key.channel() == udp) readDatagrams();
+                        else readStream(key);
+                    } catch (IOException ex) {
+                        // One client going away must not stop the others
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            if (running) System.err.println("Buzzer server stopped: " + ex);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client;
+        while ((client = tcp.accept()) != null) {
+            client.configureBlocking(false);
+            client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            client.register(selector, SelectionKey.OP_READ);
+        }
+    }
+
+    private void readStream(SelectionKey key) throws IOException {
+        SocketChannel client = (SocketChannel) key.channel();
+        in.clear();
+        int n = client.read(in);
+        if (n < 0) throw new IOException("closed");
+        long now = System.nanoTime();
+        out.clear();
+        for (int i = 0; i < n; i++) out.put(buzz(in.get(i), now) ? (byte) 1 : 0);
+        packets += n;
+        out.flip();
+        client.write(out); // a client that stops reading its replies just loses them
+    }
+
+    private void readDatagrams() throws IOException {
+        SocketAddress from;
+        in.clear();
+        while ((from = udp.receive(in)) != null) {
+            long now = System.nanoTime();
+            if (in.position() > 0) {
+                out.clear();
+                out.put(buzz(in.get(0), now) ? (byte) 1 : 0).flip();
+                udp.send(out, from);
+                packets++;
+            }
+            in.clear();
+        }
+    }
+
+    /** Buzzes received so far. */
+    long packets() {
+        return packets;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.close();
+        tcp.close();
+        udp.close();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
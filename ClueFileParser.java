@@ -0,0 +1,251 @@
+import java.io.*;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Turns a clue CSV into clue rows, applying the game's file rules: a header row, blank
+ * separator rows, and a {@code # FinalJeopardy} marker whose next row is the final clue.
+ *
+ * Small files are tokenized on the calling thread. Large ones are split at record boundaries
+ * and tokenized chunk by chunk on a fork-join pool; rows are handed to the {@link Sink} in file
+ * order either way, so categories come out in the same first-seen order.
+ */
+final class ClueFileParser {
+
+    interface Sink {
+        void clue(String category, int value, String question, String answer);
+        void finalClue(String category, String question, String answer);
+    }
+
+    static final String FINAL_MARKER = "# FinalJeopardy";
+
+    /** Below this size the split/merge overhead costs more than it saves. */
+    static final long PARALLEL_THRESHOLD = 16L << 20;
+
+    private ClueFileParser() {}
+
+    static void parse(File file, Sink sink, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        long size = file.length();
+        if (size >= PARALLEL_THRESHOLD && size <= Integer.MAX_VALUE && ForkJoinPool.getCommonPoolParallelism() > 1)
+            parseParallel(file, sink, ForkJoinPool.commonPool(), progress, cancelled);
+        else
+            parseSequential(file, sink, progress, cancelled);
+    }
+
+    static void parseSequential(File file, Sink sink, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        long length = Math.max(1, file.length());
+        boolean[] inFinal = {false};
+        try (Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            new CsvTokenizer(in).parse(row -> {
+                if ((row.rowNumber() & 4095) == 0) {
+                    if (cancelled.getAsBoolean()) return false;
+                    progress.accept((int) Math.min(100, row.charsRead() * 100 / length));
+                }
+                if (isBlankLine(row)) return true;
+                if (row.fieldStartsWith(0, FINAL_MARKER)) {
+                    inFinal[0] = true;
+                    return true;
+                }
+                if (inFinal[0]) {
+                    if (isFinalClue(row)) sink.finalClue(row.field(0), row.field(2), row.field(3));
+                    return false;
+                }
+                if (isClue(row)) sink.clue(row.field(0), row.intField(1), row.field(2), row.field(3));
+                return true;
+            });
+        }
+    }
+
+    /** A line of only whitespace; skipped everywhere, so it can't stand between the marker and the final clue. */
+    private static boolean isBlankLine(CsvTokenizer row) {
+        return row.fieldCount() == 1 && row.isBlank(0);
+    }
+
+    private static boolean isClue(CsvTokenizer row) {
+        return row.fieldCount() >= 4 && !row.isBlank(1) && !row.fieldEqualsIgnoreCase(0, "category");
+    }
+
+    private static boolean isFinalClue(CsvTokenizer row) {
+        return row.fieldCount() >= 4 && !row.isBlank(2) && !row.isBlank(3);
+    }
+
+    // ===== Parallel path =====
+
+    static void parseParallel(File file, Sink sink, ForkJoinPool pool, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        int size = data.capacity();
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, size / (1 << 20)));
+
+        // Pass 1: quote count per raw slice. Every '"' flips the tokenizer's in-quotes state
+        // (an escaped "" flips it twice), so the running count's parity tells us whether a
+        // newline at a given offset ends a record or sits inside a quoted field.
+        int[] rawStart = new int[chunks + 1];
+        for (int i = 0; i <= chunks; i++) rawStart[i] = (int) ((long) size * i / chunks);
+        long[] quotes = join(pool, chunks, i -> countQuotes(data, rawStart[i], rawStart[i + 1]));
+
+        // Pass 2: move each boundary forward to just past the first newline outside quotes
+        long[] quotesBefore = new long[chunks];
+        for (int i = 1; i < chunks; i++) quotesBefore[i] = quotesBefore[i - 1] + quotes[i - 1];
+        long[] boundaries = join(pool, chunks, i -> i == 0 ? 0 : recordStartAfter(data, rawStart[i], (quotesBefore[i] & 1) == 1));
+        int[] start = new int[chunks + 1];
+        start[chunks] = size;
+        for (int i = 1; i < chunks; i++) start[i] = (int) Math.max(boundaries[i], start[i - 1]);
+
+        // Pass 3: tokenize every chunk on the pool
+        AtomicInteger done = new AtomicInteger();
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int from = start[i], to = start[i + 1];
+            tasks.add(pool.submit(() -> {
+                Chunk c = tokenizeChunk(data, from, to, cancelled);
+                progress.accept(done.incrementAndGet() * 99 / chunks);
+                return c;
+            }));
+        }
+
+        // Merge in file order, applying the same rules as parseSequential
+        boolean inFinal = false;
+        try {
+            for (ForkJoinTask<Chunk> task : tasks) {
+                Chunk c = task.join();
+                if (cancelled.getAsBoolean()) return;
+                for (int r = 0; r < c.rows; r++) {
+                    byte f = c.flags[r];
+                    if ((f & Chunk.BLANK) != 0) continue;
+                    if ((f & Chunk.MARKER) != 0) {
+                        inFinal = true;
+                        continue;
+                    }
+                    if (inFinal) {
+                        if ((f & Chunk.FINAL) != 0) sink.finalClue(c.categories[r], c.questions[r], c.answers[r]);
+                        return;
+                    }
+                    if ((f & Chunk.CLUE) != 0) {
+                        if ((f & Chunk.BAD_VALUE) != 0) throw new NumberFormatException(c.errors.get(r));
+                        sink.clue(c.categories[r], c.values[r], c.questions[r], c.answers[r]);
+                    }
+                }
+            }
+        } catch (CancellationException ex) {
+            // cancelled mid-chunk; the caller discards what it has
+        } finally {
+            for (ForkJoinTask<Chunk> task : tasks) task.cancel(false);
+        }
+    }
+
+    private interface IndexTask {
+        long run(int i) throws IOException;
+    }
+
+    private static long[] join(ForkJoinPool pool, int n, IndexTask body) throws IOException {
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int idx = i;
+            tasks.add(pool.submit(() -> body.run(idx)));
+        }
+        long[] out = new long[n];
+        for (int i = 0; i < n; i++) out[i] = tasks.get(i).join();
+        return out;
+    }
+
+    private static long countQuotes(MappedByteBuffer data, int from, int to) {
+        long n = 0;
+        for (int i = from; i < to; i++)
+            if (data.get(i) == '"') n++;
+        return n;
+    }
+
+    /** Offset just past the first '\n' at or after {@code from} that is outside quotes. */
+    private static int recordStartAfter(MappedByteBuffer data, int from, boolean inQuotes) {
+        int size = data.capacity();
+        for (int i = from; i < size; i++) {
+            byte b = data.get(i);
+            if (b == '"') inQuotes = !inQuotes;
+            else if (b == '\n' && !inQuotes) return i + 1;
+        }
+        return size;
+    }
+
+    private static Chunk tokenizeChunk(MappedByteBuffer data, int from, int to, BooleanSupplier cancelled) throws IOException {
+        Chunk chunk = new Chunk();
+        if (from >= to) return chunk;
+        CharBuffer chars = StandardCharsets.UTF_8.decode(data.slice(from, to - from));
+        Map<String, String> categoryNames = new HashMap<>();
+        try (Reader in = new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining())) {
+            new CsvTokenizer(in).parse(row -> {
+                if ((row.rowNumber() & 4095) == 0 && cancelled.getAsBoolean()) throw new CancellationException();
+                chunk.add(row, categoryNames);
+                return true;
+            });
+        }
+        return chunk;
+    }
+
+    /**
+     * Rows of one chunk, classified but not yet interpreted: whether a row is the final clue
+     * depends on rows in earlier chunks, so that is decided during the merge.
+     */
+    private static final class Chunk {
+        static final byte MARKER = 1, CLUE = 2, FINAL = 4, BAD_VALUE = 8, BLANK = 16;
+
+        int rows;
+        byte[] flags = new byte[1024];
+        int[] values = new int[1024];
+        String[] categories = new String[1024];
+        String[] questions = new String[1024];
+        String[] answers = new String[1024];
+        final Map<Integer, String> errors = new HashMap<>();
+
+        void add(CsvTokenizer row, Map<String, String> categoryNames) {
+            if (rows == flags.length) {
+                int n = rows * 2;
+                flags = Arrays.copyOf(flags, n);
+                values = Arrays.copyOf(values, n);
+                categories = Arrays.copyOf(categories, n);
+                questions = Arrays.copyOf(questions, n);
+                answers = Arrays.copyOf(answers, n);
+            }
+            byte f = 0;
+            if (isBlankLine(row)) {
+                f = BLANK;
+            } else if (row.fieldStartsWith(0, FINAL_MARKER)) {
+                f = MARKER;
+            } else {
+                if (isClue(row)) {
+                    f |= CLUE;
+                    try {
+                        values[rows] = row.intField(1);
+                    } catch (NumberFormatException ex) {
+                        f |= BAD_VALUE;
+                        errors.put(rows, ex.getMessage());
+                    }
+                }
+                if (isFinalClue(row)) f |= FINAL;
+                if (f != 0) {
+                    String cat = row.field(0);
+                    categories[rows] = categoryNames.computeIfAbsent(cat, k -> k);
+                    questions[rows] = row.field(2);
+                    answers[rows] = row.field(3);
+                }
+            }
+            flags[rows++] = f;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks {@link CsvTokenizer} on the RFC-4180 cases a clue bank can hit: escaped "" quotes,
+ * quoted commas and newlines, CRLF endings, a CRLF split across the read buffer, an unterminated
+ * quote at the end of the file, and trimming. Then checks {@link ClueFileParser}'s file rules,
+ * and that its parallel path hands over exactly the rows its sequential path does, on a bank
+ * past {@link ClueFileParser#PARALLEL_THRESHOLD} full of quoted newlines for the chunk
+ * boundaries to land in.
+ *
+ * Usage: java ClueFileTest [rows=200000]
+ * Exits non-zero if a check fails.
+ */
+public class ClueFileTest {
+
+    public static void main(String[] args) throws Exception {
+        int rows = 200_000;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "rows" -> rows = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        boolean ok = tokenizer();
+        ok &= fileRules();
+        ok &= parallelMatchesSequential(rows);
+        System.exit(ok ? 0 : 1);
+    }
+
+    // ===== Tokenizer =====
+
+    private static boolean tokenizer() throws IOException {
+        boolean ok = true;
+        ok &= check("plain fields", rows("a,b,c\n"), List.of(List.of("a", "b", "c")));
+        ok &= check("\"\" is an escaped quote", rows("\"say \"\"hi\"\"\",x\n"), List.of(List.of("say \"hi\"", "x")));
+        ok &= check("quoted comma", rows("\"a,b\",c\n"), List.of(List.of("a,b", "c")));
+        ok &= check("quoted newline", rows("\"one\ntwo\",x\nnext,y\n"), List.of(List.of("one\ntwo", "x"), List.of("next", "y")));
+        ok &= check("quoted CRLF", rows("\"one\r\ntwo\",x\r\n"), List.of(List.of("one\r\ntwo", "x")));
+        ok &= check("CRLF ends one row", rows("a,b\r\nc,d\r\n"), List.of(List.of("a", "b"), List.of("c", "d")));
+        ok &= check("blank lines skipped", rows("a\n\n\r\n\nb\n"), List.of(List.of("a"), List.of("b")));
+        ok &= check("no newline at end", rows("a,b"), List.of(List.of("a", "b")));
+        ok &= check("empty fields kept", rows(",,\n"), List.of(List.of("", "", "")));
+        ok &= check("quoted fields trimmed", rows(" \" padded \" , x \n"), List.of(List.of("padded", "x")));
+        ok &= check("unterminated quote runs to EOF", rows("a,\"open\nstill open"), List.of(List.of("a", "open\nstill open")));
+        ok &= check("quote closed at EOF", rows("a,\"done\""), List.of(List.of("a", "done")));
+
+        // The CR as the last char of one 64K read and the LF as the first of the next
+        int size = 64 * 1024;
+        String first = "x".repeat(size - 1);
+        ok &= check("CRLF across the 64K buffer", rows(first + "\r\nnext\r\n"), List.of(List.of(first), List.of("next")));
+
+        // Every buffer size across a small file: each case above lands on a boundary somewhere
+        String mixed = "h1,h2\r\n\"a \"\"q\"\", b\",\"line\r\nbreak\"\r\n\r\nlast,\"x\"\"\"\n";
+        List<List<String>> expected = rows(mixed);
+        boolean same = true;
+        for (int buffer = 16; buffer <= mixed.length() + 16; buffer++) same &= rows(mixed, buffer).equals(expected);
+        ok &= check("same rows at every buffer size", same);
+        return ok;
+    }
+
+    private static List<List<String>> rows(String csv) throws IOException {
+        return rows(csv, 64 * 1024);
+    }
+
+    private static List<List<String>> rows(String csv, int bufferSize) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        new CsvTokenizer(new StringReader(csv), bufferSize).parse(row -> {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < row.fieldCount(); i++) fields.add(row.field(i));
+            rows.add(fields);
+            return true;
+        });
+        return rows;
+    }
+
+    // ===== File rules =====
+
+    private static boolean fileRules() throws IOException {
+        File csv = File.createTempFile("clue-file-test", ".csv");
+        try {
+            Files.writeString(csv.toPath(), """
+                    Category,Value,Question,Answer
+                    Crypto,100,"A cipher, by shifting",Caesar
+
+                    Crypto,200,"Say ""hello"" now","Two
+                    lines"
+                    # FinalJeopardy
+                       \t
+                    Final Cat,,Final question,Final answer
+                    Ignored,100,After the final,clue
+                    """, StandardCharsets.UTF_8);
+            List<String> seen = parse(csv, false);
+            return check("header, blank lines and final clue", seen, List.of(
+                    "clue|Crypto|100|A cipher, by shifting|Caesar",
+                    "clue|Crypto|200|Say \"hello\" now|Two\nlines",
+                    "final|Final Cat|Final question|Final answer"));
+        } finally {
+            csv.delete();
+        }
+    }
+
+    // ===== Parallel against sequential =====
+
+    private static boolean parallelMatchesSequential(int rows) throws IOException {
+        File csv = File.createTempFile("clue-file-test", ".csv");
+        try {
+            writeBank(csv, rows);
+            // Grow the bank until it is big enough to take the parallel path
+            while (csv.length() < ClueFileParser.PARALLEL_THRESHOLD) writeBank(csv, rows *= 2);
+            System.out.printf("  bank: %,d rows, %.1f MB%n", rows, csv.length() / (1024.0 * 1024.0));
+
+            List<String> sequential = parse(csv, false);
+            List<String> parallel = parse(csv, true);
+            boolean ok = check("sequential reads every row", sequential.size() == rows + 1);
+            ok &= check("parallel rows match sequential", parallel, sequential);
+            return ok;
+        } finally {
+            csv.delete();
+        }
+    }
+
+    /** A bank where every few rows has a quoted newline, CRLF or escaped quote, and a final clue. */
+    private static void writeBank(File csv, int rows) throws IOException {
+        Random rng = new Random(7);
+        try (Writer out = Files.newBufferedWriter(csv.toPath(), StandardCharsets.UTF_8)) {
+            out.write("Category,Value,Question,Answer\n");
+            for (int i = 0; i < rows; i++) {
+                String question = switch (rng.nextInt(5)) {
+                    case 0 -> "\"Spans\nlines " + i + ", with a comma\"";
+                    case 1 -> "\"Has \"\"quotes\"\" " + i + "\r\nand a CRLF\"";
+                    case 2 -> "\"Ends in a quote \"\"\"";
+                    default -> "Plain question " + i + " " + "x".repeat(rng.nextInt(80));
+                };
+                out.write("Category " + (i % 997) + "," + (100 * (1 + i % 5)) + "," + question + ",Answer " + i);
+                out.write(rng.nextInt(8) == 0 ? "\r\n\r\n" : "\n");
+            }
+            out.write(ClueFileParser.FINAL_MARKER + "\nFinal,,\"Final\nquestion\",Final answer\n");
+        }
+    }
+
+    private static List<String> parse(File csv, boolean parallel) throws IOException {
+        List<String> seen = new ArrayList<>();
+        ClueFileParser.Sink sink = new ClueFileParser.Sink() {
+            @Override
+            public void clue(String category, int value, String question, String answer) {
+                seen.add("clue|" + category + "|" + value + "|" + question + "|" + answer);
+            }
+
+            @Override
+            public void finalClue(String category, String question, String answer) {
+                seen.add("final|" + category + "|" + question + "|" + answer);
+            }
+        };
+        if (!parallel) {
+            ClueFileParser.parseSequential(csv, sink, _ -> {}, () -> false);
+            return seen;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4); // not the common pool, which may have one thread here
+        try {
+            ClueFileParser.parseParallel(csv, sink, pool, _ -> {}, () -> false);
+        } finally {
+            pool.shutdown();
+        }
+        return seen;
+    }
+
+    // ===== Reporting =====
+
+    private static <T> boolean check(String what, List<T> actual, List<T> expected) {
+        boolean passed = check(what, actual.equals(expected));
+        if (!passed) {
+            int i = 0;
+            while (i < Math.min(actual.size(), expected.size()) && actual.get(i).equals(expected.get(i))) i++;
+            System.out.printf("      %d vs %d rows; first difference at %d:%n      expected %s%n      actual   %s%n",
+                    expected.size(), actual.size(), i,
+                    i < expected.size() ? expected.get(i) : "(end)", i < actual.size() ? actual.get(i) : "(end)");
+        }
+        return passed;
+    }
+
+    private static boolean check(String what, boolean passed) {
+        System.out.printf("  %-40s %s%n", what, passed ? "ok" : "FAILED");
+        return passed;
+    }
+}
@@ -0,0 +1,324 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Precompiled binary form of a clue CSV, cached next to the source as {@code <name>.jpack}.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   int   magic 'JPAK', int version
+ *   long  source size, long source mtime, long source CRC32C
+ *   int   string count N, int[N+1] byte offsets into the blob, UTF-8 blob
+ *   int   category count C, then per category: int nameId, int firstClue, int clueCount
+ *   int   clue count K, then per clue: int value, int questionId, int answerId
+ *   int   1 if a Final Jeopardy clue follows: int categoryId, int questionId, int answerId
+ * </pre>
+ * Strings are interned, so repeated answers and category names are stored once. Clues are
+ * grouped by category in first-seen order and already sorted by value.
+ */
+final class CluePack {
+    static final String EXTENSION = ".jpack";
+
+    private static final int MAGIC = 0x4A50414B; // "JPAK"
+    private static final int VERSION = 1;
+
+    private final File file;
+    private final ByteBuffer buf;
+    private final int stringCount, offsetsPos, blobPos, blobSize;
+    private final int categoryCount, categoriesPos;
+    private final int clueCount, cluesPos;
+    private final int finalPos;
+
+    private CluePack(File file, ByteBuffer buf) throws IOException {
+        this.file = file;
+        this.buf = buf;
+        int size = buf.capacity();
+        if (size < 36 || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) throw new IOException("Not a clue pack");
+        // Every section is checked against the file's size, and every offset and id in it
+        // against what it points into, so a truncated or corrupt pack is an IOException here and
+        // not an IndexOutOfBoundsException in the middle of a game. It is one pass over ints,
+        // with no strings decoded.
+        stringCount = buf.getInt(32);
+        offsetsPos = 36;
+        blobPos = section(offsetsPos, stringCount, 4, 4, size, "string offsets");
+        blobSize = buf.getInt(blobPos - 4);
+        if (blobSize < 0 || buf.getInt(offsetsPos) != 0) throw new IOException("Corrupt clue pack: bad string blob");
+        for (int i = 0, prev = 0; i < stringCount; i++) {
+            int next = buf.getInt(offsetsPos + 4 * i + 4);
+            if (next < prev || next > blobSize) throw new IOException("Corrupt clue pack: bad offset for string " + i);
+            prev = next;
+        }
+        int p = section(blobPos, 1, blobSize, 4, size, "string blob") - 4;
+        categoryCount = buf.getInt(p);
+        categoriesPos = p + 4;
+        p = section(categoriesPos, categoryCount, 12, 4, size, "categories") - 4;
+        clueCount = buf.getInt(p);
+        cluesPos = p + 4;
+        finalPos = section(cluesPos, clueCount, 12, 16, size, "clues") - 16;
+
+        for (int c = 0; c < categoryCount; c++) {
+            int at = categoriesPos + 12 * c;
+            checkString(buf.getInt(at), "category", c);
+            int first = buf.getInt(at + 4), count = buf.getInt(at + 8);
+            if (first < 0 || count < 0 || (long) first + count > clueCount)
+                throw new IOException("Corrupt clue pack: category " + c + " has clues past the end");
+        }
+        for (int k = 0; k < clueCount; k++) {
+            checkString(buf.getInt(cluesPos + 12 * k + 4), "clue", k);
+            checkString(buf.getInt(cluesPos + 12 * k + 8), "clue", k);
+        }
+        if (buf.getInt(finalPos) == 1) {
+            for (int i = 4; i <= 12; i += 4) checkString(buf.getInt(finalPos + i), "Final Jeopardy clue", 0);
+        }
+    }
+
+    private void checkString(int id, String owner, int index) throws IOException {
+        if (id < 0 || id >= stringCount)
+            throw new IOException("Corrupt clue pack: " + owner + " " + index + " names string " + id + " of " + stringCount);
+    }
+
+    /**
+     * End of a section of {@code count} entries of {@code entrySize} bytes at {@code pos}, plus
+     * the {@code trailer} bytes that must follow it; an IOException if that runs past the file.
+     */
+    private static int section(int pos, int count, int entrySize, int trailer, int size, String what) throws IOException {
+        long end = pos + (long) count * entrySize + trailer;
+        if (count < 0 || end > size) throw new IOException("Corrupt clue pack: " + what + " past the end of the file");
+        return (int) end;
+    }
+
+    static File cacheFileFor(File csv) {
+        return new File(csv.getPath() + EXTENSION);
+    }
+
+    /**
+     * Where the pack goes when the CSV's folder can't be written: one per CSV, in a folder of the
+     * user's own. Not the shared temp folder, where anyone could leave a pack under the
+     * predictable name and have it trusted on size and mtime.
+     */
+    static File fallbackFileFor(File csv) {
+        String id = Integer.toHexString(csv.getAbsolutePath().hashCode());
+        return new File(new File(System.getProperty("user.home"), ".jeopardy-packs"), csv.getName() + "-" + id + EXTENSION);
+    }
+
+    /**
+     * Maps the cached pack for {@code csv}, next to it or else in its fallback place, if it exists
+     * and still matches the CSV: same size, and either the same mtime or the same content hash.
+     * Returns null if there is no usable pack. When only the hash matched, the pack takes the
+     * CSV's new mtime, so the next start is quick again.
+     */
+    static CluePack openIfFresh(File csv) {
+        CluePack pack = openIfFresh(csv, cacheFileFor(csv));
+        return pack != null ? pack : openIfFresh(csv, fallbackFileFor(csv));
+    }
+
+    private static CluePack openIfFresh(File csv, File packFile) {
+        if (!packFile.isFile()) return null;
+        try {
+            SourceKey key = SourceKey.of(csv.toPath());
+            MappedByteBuffer mapped;
+            try (FileChannel ch = FileChannel.open(packFile.toPath(), StandardOpenOption.READ)) {
+                mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            }
+            if (mapped.capacity() < 32 || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) return null;
+            if (mapped.getLong(8) != key.size) return null;
+            // Same size and mtime is trusted without reading the CSV, so a warm start parses
+            // nothing; a touched or copied file with the same bytes is caught by the hash
+            if (mapped.getLong(16) != key.mtime) {
+                if (mapped.getLong(24) != crcOf(csv.toPath())) return null;
+                refreshMtime(packFile, key.mtime);
+            }
+            return new CluePack(packFile, mapped);
+        } catch (IOException | RuntimeException ex) {
+            return null; // a broken cache is the same as no cache
+        }
+    }
+
+    /** Writes just the header's mtime; the rest of the pack is the same, so readers are unaffected. */
+    private static void refreshMtime(File packFile, long mtime) {
+        try (FileChannel ch = FileChannel.open(packFile.toPath(), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(8).putLong(0, mtime), 16);
+        } catch (IOException ex) {
+            // a read-only folder: the hash is checked again next time, which is all this saves
+        }
+    }
+
+    /** Maps a pack without checking it against any CSV. */
+    static CluePack open(File packFile) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel ch = FileChannel.open(packFile.toPath(), StandardOpenOption.READ)) {
+            mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        return new CluePack(packFile, mapped);
+    }
+
+    static long crcOf(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                crc.update(ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+            }
+        }
+        return crc.getValue();
+    }
+
+    // ===== Reading =====
+
+    File file() { return file; }
+
+    /** Size of the CSV this pack was compiled from. */
+    long sourceSize() { return buf.getLong(8); }
+
+    /** CRC32C of the CSV this pack was compiled from. */
+    long sourceCrc() { return buf.getLong(24); }
+
+    int categoryCount() { return categoryCount; }
+
+    String categoryName(int c) { return string(buf.getInt(categoriesPos + 12 * c)); }
+
+    int firstClue(int c) { return buf.getInt(categoriesPos + 12 * c + 4); }
+
+    int clueCount(int c) { return buf.getInt(categoriesPos + 12 * c + 8); }
+
+    int totalClues() { return clueCount; }
+
+    int value(int clue) { return buf.getInt(cluesPos + 12 * clue); }
+
+    String question(int clue) { return string(buf.getInt(cluesPos + 12 * clue + 4)); }
+
+    String answer(int clue) { return string(buf.getInt(cluesPos + 12 * clue + 8)); }
+
+    boolean hasFinal() { return buf.getInt(finalPos) == 1; }
+
+    String finalCategory() { return string(buf.getInt(finalPos + 4)); }
+
+    String finalQuestion() { return string(buf.getInt(finalPos + 8)); }
+
+    String finalAnswer() { return string(buf.getInt(finalPos + 12)); }
+
+    /**
+     * Decodes straight from the mapped blob; nothing is cached on the heap. Checked again here
+     * because the mapping shows the file as it is now, and something may have rewritten it in place.
+     */
+    private String string(int id) {
+        if (id < 0 || id >= stringCount) throw new UncheckedIOException(new IOException("Corrupt clue pack: no string " + id + " in " + file));
+        int from = buf.getInt(offsetsPos + 4 * id);
+        int to = buf.getInt(offsetsPos + 4 * id + 4);
+        if (from < 0 || to < from || to > blobSize)
+            throw new UncheckedIOException(new IOException("Corrupt clue pack: bad offset for string " + id + " in " + file));
+        byte[] bytes = new byte[to - from];
+        buf.get(blobPos + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ===== Writing =====
+
+    /** File size and mtime captured before the CSV is read, plus its CRC32C once it has been. */
+    static final class SourceKey {
+        final long size, mtime;
+        long crc;
+
+        private SourceKey(long size, long mtime) {
+            this.size = size;
+            this.mtime = mtime;
+        }
+
+        static SourceKey of(Path csv) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(csv, BasicFileAttributes.class);
+            return new SourceKey(attrs.size(), attrs.lastModifiedTime().toMillis());
+        }
+    }
+
+    /**
+     * Collects clues in file order and writes them as a pack. Sorting by value happens here,
+     * once, instead of on every load.
+     */
+    static final class Builder {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<Integer, List<int[]>> byCategory = new LinkedHashMap<>();
+        private int[] finalClue;
+
+        void add(String category, int value, String question, String answer) {
+            byCategory.computeIfAbsent(intern(category), _ -> new ArrayList<>())
+                    .add(new int[]{value, intern(question), intern(answer)});
+        }
+
+        void setFinal(String category, String question, String answer) {
+            finalClue = new int[]{intern(category), intern(question), intern(answer)};
+        }
+
+        private int intern(String s) {
+            return stringIds.computeIfAbsent(s, k -> {
+                strings.add(k);
+                return strings.size() - 1;
+            });
+        }
+
+        /** Writes to a temp file and moves it over {@code packFile}, so readers never see half a pack. */
+        void write(File packFile, SourceKey key) throws IOException {
+            Path target = packFile.toPath();
+            Files.createDirectories(target.toAbsolutePath().getParent()); // the fallback folder, the first time
+            Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), packFile.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(key.size);
+                out.writeLong(key.mtime);
+                out.writeLong(key.crc);
+
+                byte[][] encoded = new byte[strings.size()][];
+                out.writeInt(encoded.length);
+                int offset = 0;
+                for (int i = 0; i < encoded.length; i++) {
+                    encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(offset);
+                    offset += encoded[i].length;
+                }
+                out.writeInt(offset);
+                for (byte[] b : encoded) out.write(b);
+
+                out.writeInt(byCategory.size());
+                int first = 0;
+                for (var e : byCategory.entrySet()) {
+                    e.getValue().sort((a, b) -> Integer.compare(a[0], b[0]));
+                    out.writeInt(e.getKey());
+                    out.writeInt(first);
+                    out.writeInt(e.getValue().size());
+                    first += e.getValue().size();
+                }
+                out.writeInt(first);
+                for (List<int[]> clues : byCategory.values()) {
+                    for (int[] c : clues) {
+                        out.writeInt(c[0]);
+                        out.writeInt(c[1]);
+                        out.writeInt(c[2]);
+                    }
+                }
+
+                out.writeInt(finalClue != null ? 1 : 0);
+                for (int v : finalClue != null ? finalClue : new int[3]) out.writeInt(v);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(tmp);
+                throw ex;
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.BitSet;
+
+/**
+ * A whole clue bank without a heap object per clue.
+ *
+ * Question, answer and category text stay UTF-8 in the memory-mapped {@link CluePack} and are
+ * addressed by int clue index. Values are read from the pack's fixed-size clue records and the
+ * per-game flags live in bitsets, so opening a store decodes no text. The board asks for
+ * {@code JeopardyGUI.Clue} views only for the clues it actually shows; those views read and set
+ * their asked and Daily Double flags here. EDT only, like the board.
+ */
+final class ClueStore {
+    private final CluePack pack;
+    private final BitSet asked;
+    private final BitSet dailyDouble;
+
+    ClueStore(CluePack pack) {
+        this.pack = pack;
+        int n = pack.totalClues();
+        asked = new BitSet(n);
+        dailyDouble = new BitSet(n);
+    }
+
+    int size() { return pack.totalClues(); }
+
+    int categoryCount() { return pack.categoryCount(); }
+
+    String categoryName(int c) { return pack.categoryName(c); }
+
+    /** Index of the category's lowest-value clue; a category's clues are contiguous and value-sorted. */
+    int firstClue(int c) { return pack.firstClue(c); }
+
+    int clueCount(int c) { return pack.clueCount(c); }
+
+    int value(int clue) { return pack.value(clue); }
+
+    String question(int clue) { return pack.question(clue); }
+
+    String answer(int clue) { return pack.answer(clue); }
+
+    boolean isAsked(int clue) { return asked.get(clue); }
+
+    void setAsked(int clue, boolean value) { asked.set(clue, value); }
+
+    boolean isDailyDouble(int clue) { return dailyDouble.get(clue); }
+
+    void setDailyDouble(int clue, boolean value) { dailyDouble.set(clue, value); }
+
+    CluePack pack() { return pack; }
+}
@@ -0,0 +1,163 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Centered, word-wrapped text drawn with {@link TextLayout}s at the largest font size that fits
+ * the component, in place of {@code <html>} labels.
+ *
+ * The component's font (normally from its {@link FontRole}) is the largest size tried; smaller
+ * bucket sizes are searched until the wrapped text fits inside the insets. Line breaks are
+ * measured with {@link LineBreakMeasurer}, and explicit {@code '\n'}s start a new line.
+ *
+ * Laid-out text is cached per text, font and box size, shared by all views. A {@link Spec}
+ * captures a view's current font and size so upcoming text can be laid out ahead of time on a
+ * background thread; the layout code touches no Swing state and the cache is synchronized.
+ */
+@SuppressWarnings("serial")
+class ClueTextView extends JComponent {
+    private static final int MAX_CACHED = 256;
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    /** Font and inner box a view lays its text out in. */
+    record Spec(Font font, int width, int height) {
+        /** Lays {@code text} out now so showing it later is a cache hit. Safe off the EDT. */
+        void prepare(String text) {
+            if (text != null && width > 0 && height > 0) layout(text, this);
+        }
+    }
+
+    /** Wrapped lines at the size that fitted, with the total height of the block. */
+    private record Block(TextLayout[] lines, float height) {}
+
+    private record Key(String text, Spec spec) {}
+
+    private static final Map<Key, Block> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Block> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private String text = "";
+
+    ClueTextView() {
+        setForeground(Color.WHITE);
+    }
+
+    void setText(String text) {
+        text = text == null ? "" : text;
+        if (text.equals(this.text)) return;
+        this.text = text;
+        repaint();
+    }
+
+    String getText() {
+        return text;
+    }
+
+    /** This view's current font and inner size, for laying out text ahead of time. */
+    Spec spec() {
+        Insets in = getInsets();
+        return new Spec(getFont(), getWidth() - in.left - in.right, getHeight() - in.top - in.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+        Spec spec = spec();
+        if (text.isEmpty() || spec.font == null || spec.width <= 0 || spec.height <= 0) return;
+
+        Block block = layout(text, spec);
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            g2.setColor(getForeground());
+
+            Insets in = getInsets();
+            float y = in.top + (spec.height - block.height) / 2;
+            for (TextLayout line : block.lines) {
+                y += line.getAscent();
+                float x = in.left + (spec.width - line.getVisibleAdvance()) / 2;
+                line.draw(g2, x, y);
+                y += line.getDescent() + line.getLeading();
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private static Block layout(String text, Spec spec) {
+        Key key = new Key(text, spec);
+        synchronized (cache) {
+            Block cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+        Block block = fit(text, spec);
+        synchronized (cache) {
+            cache.put(key, block);
+        }
+        return block;
+    }
+
+    /** Binary search over the font buckets for the largest size whose wrapped text fits the box. */
+    private static Block fit(String text, Spec spec) {
+        int lo = 0, hi = FontCache.bucketIndex(spec.font.getSize());
+        Block best = null;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            Block b = wrap(text, spec.font.deriveFont((float) FontCache.bucketAt(mid)), spec.width, true);
+            if (b != null && b.height <= spec.height) {
+                best = b;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (best != null) return best;
+        // Nothing fits: smallest size, and let over-long words break wherever they must
+        Font smallest = spec.font.deriveFont((float) FontCache.bucketAt(0));
+        Block b = wrap(text, smallest, spec.width, true);
+        return b != null ? b : wrap(text, smallest, spec.width, false);
+    }
+
+    /**
+     * Wraps each paragraph to {@code width}. With {@code wholeWords}, returns null if a single word
+     * is wider than the box instead of splitting it.
+     */
+    private static Block wrap(String text, Font font, int width, boolean wholeWords) {
+        List<TextLayout> lines = new ArrayList<>();
+        float height = 0;
+        for (String paragraph : text.split("\n", -1)) {
+            if (paragraph.isEmpty()) {
+                // Blank line: the height of a line of this font
+                TextLayout blank = new TextLayout(" ", font, FRC);
+                lines.add(blank);
+                height += blank.getAscent() + blank.getDescent() + blank.getLeading();
+                continue;
+            }
+            AttributedString as = new AttributedString(paragraph);
+            as.addAttribute(TextAttribute.FONT, font);
+            LineBreakMeasurer lbm = new LineBreakMeasurer(as.getIterator(), FRC);
+            while (lbm.getPosition() < paragraph.length()) {
+                TextLayout line = lbm.nextLayout(width, paragraph.length(), wholeWords);
+                if (line == null) return null; // the next word alone is too wide
+                lines.add(line);
+                height += line.getAscent() + line.getDescent() + line.getLeading();
+            }
+        }
+        return new Block(lines.toArray(new TextLayout[0]), height);
+    }
+}
@@ -0,0 +1,122 @@
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Picks one contestant out of many: type part of a name to filter, then Enter (the top match)
+ * or a click. Stands in for the row of contestant buttons when there are too many to show.
+ */
+@SuppressWarnings("serial")
+final class ContestantPicker extends JPanel {
+    private static final int VISIBLE_ROWS = 6;
+
+    private final int seats;
+    private final IntFunction<String> names;
+    private final IntConsumer onPick;
+    private final JTextField search = new JTextField(18);
+    private final Matches matches;
+    private final JList<Integer> list;
+
+    ContestantPicker(int seats, IntFunction<String> names, IntConsumer onPick, Color background) {
+        super(new BorderLayout(0, 4));
+        this.seats = seats;
+        this.names = names;
+        this.onPick = onPick;
+        matches = new Matches();
+        list = new JList<>(matches);
+        setBackground(background);
+
+        search.setFont(FontCache.get("SansSerif", Font.BOLD, 18));
+        search.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { refilter(); }
+            @Override public void removeUpdate(DocumentEvent e) { refilter(); }
+            @Override public void changedUpdate(DocumentEvent e) { refilter(); }
+        });
+        search.addActionListener(_ -> pick(list.isSelectionEmpty() ? 0 : list.getSelectedIndex()));
+
+        list.setFont(FontCache.get("SansSerif", Font.BOLD, 18));
+        list.setFixedCellHeight(26);
+        list.setVisibleRowCount(VISIBLE_ROWS);
+        list.setLayoutOrientation(JList.VERTICAL_WRAP);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object seat, int index, boolean selected, boolean focused) {
+                return super.getListCellRendererComponent(l, names.apply((Integer) seat), index, selected, focused);
+            }
+        });
+        list.setFixedCellWidth(220);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = list.locationToIndex(e.getPoint());
+                if (row >= 0 && list.getCellBounds(row, row).contains(e.getPoint())) pick(row);
+            }
+        });
+
+        JLabel prompt = new JLabel("Find contestant:");
+        prompt.setForeground(Color.WHITE);
+        prompt.setFont(FontCache.get("SansSerif", Font.BOLD, 18));
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        top.setOpaque(false);
+        top.add(prompt);
+        top.add(search);
+        add(top, BorderLayout.NORTH);
+        JScrollPane scroll = new JScrollPane(list, ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER,
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        add(scroll, BorderLayout.CENTER);
+        refilter();
+    }
+
+    /** Clears the search and takes the keyboard, ready for the next pick. */
+    void reset() {
+        search.setText("");
+        SwingUtilities.invokeLater(search::requestFocusInWindow);
+    }
+
+    /** Names changed; re-runs the current search. */
+    void refresh() {
+        refilter();
+    }
+
+    private void pick(int row) {
+        if (row < matches.getSize()) onPick.accept(matches.getElementAt(row));
+    }
+
+    private void refilter() {
+        matches.filter(search.getText().trim().toLowerCase(Locale.ROOT));
+        if (matches.getSize() > 0) list.setSelectedIndex(0);
+    }
+
+    /** Seats whose name contains the search text, in seat order. */
+    private final class Matches extends AbstractListModel<Integer> {
+        private final int[] seatsShown = new int[seats];
+        private int count;
+
+        void filter(String text) {
+            int before = count;
+            count = 0;
+            for (int s = 0; s < seats; s++) {
+                if (text.isEmpty() || names.apply(s).toLowerCase(Locale.ROOT).contains(text)) seatsShown[count++] = s;
+            }
+            if (before > count) fireIntervalRemoved(this, count, before - 1);
+            if (count > before) fireIntervalAdded(this, before, count - 1);
+            if (Math.min(before, count) > 0) fireContentsChanged(this, 0, Math.min(before, count) - 1);
+        }
+
+        @Override
+        public int getSize() {
+            return count;
+        }
+
+        @Override
+        public Integer getElementAt(int index) {
+            return seatsShown[index];
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import javax.swing.*;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plays whole games through the control API, headless: opens every clue, buzzes a contestant in
+ * and judges them (or places the Daily Double wager), advances past each answer, then plays Final
+ * Jeopardy through to the finale. A second {@link GameEngine} gets the same commands directly
+ * and ends with the scores the API's game must have. Along the way, actions the screen doesn't
+ * offer must be refused with 409 and leave the game as it was, bad parameters get 400, and
+ * requests without the server's PIN get 401.
+ *
+ * Reports the server's request-to-acknowledgement time, action included, and the client's
+ * round trip; the acknowledgement p99 has to stay under {@link #ACK_BUDGET_MILLIS}.
+ *
+ * Usage: java -Djava.awt.headless=true ControlLatencyTest [clues=cybersecurity_full_clues.csv] [games=10]
+ * Exits non-zero if a check fails.
+ */
+public class ControlLatencyTest {
+    private static final double ACK_BUDGET_MILLIS = 10;
+    private static final int WARMUP_GAMES = 10;
+    private static final Pattern PHASE = Pattern.compile("\"phase\":\"(\\w+)\"");
+    private static final Pattern SCENE = Pattern.compile("\"scene\":\"(\\w+)\"");
+    private static final Pattern SCORES = Pattern.compile("\"scores\":\\[([-\\d,]*)]");
+    private static final Pattern STATE = Pattern.compile("\"state\":(\\{.*})}$");
+
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final LatencyHistogram roundTrip = new LatencyHistogram();
+    private static final LatencyHistogram acks = new LatencyHistogram();
+    private static boolean ok = true;
+    private static String lastBody = "", pin = "";
+
+    public static void main(String[] args) throws Exception {
+        File clues = new File("cybersecurity_full_clues.csv");
+        int games = 10;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "clues" -> clues = new File(kv[1]);
+                case "games" -> games = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        // Warm-up, not timed: the first games run interpreted and load classes
+        for (int g = -WARMUP_GAMES; g < 0; g++) play(clues, g, g == -WARMUP_GAMES);
+        acks.reset();
+        roundTrip.reset();
+        for (int g = 0; g < games; g++) play(clues, g, false);
+
+        System.out.printf("%d games through the control API%n", games);
+        print("ack (server)", acks);
+        print("round trip", roundTrip);
+        check("ack p99 under " + ACK_BUDGET_MILLIS + " ms", acks.percentileNanos(0.99) / 1e6 < ACK_BUDGET_MILLIS);
+        System.exit(ok ? 0 : 1);
+    }
+
+    /** One game, start to finale; the refusal checks only on the first. */
+    private static void play(File clues, int game, boolean checkRefusals) throws Exception {
+        Random rng = new Random(game);
+        JeopardyGUI gui = new JeopardyGUI();
+        JeopardyGUI.ClueBank bank = gui.loadCluesFromCSV(clues, _ -> {}, () -> false);
+        if (!bank.allClues.isEmpty()) bank.allClues.get(rng.nextInt(bank.allClues.size())).setDailyDouble(true);
+        ControlServer control = onEdt(() -> {
+            gui.buildScreens();
+            gui.applyClueBank(bank);
+            gui.rebuildBoard();
+            return gui.startControl(0);
+        });
+        String base = "http://127.0.0.1:" + control.port() + "/";
+        pin = control.pin();
+        int seats = gui.engine().contestantCount();
+        GameEngine expected = new GameEngine(seats);
+        int[] values = bank.allClues.stream().mapToInt(c -> c.value).toArray();
+        int dailyDouble = -1;
+        for (int i = 0; i < values.length; i++) if (bank.allClues.get(i).isDailyDouble()) dailyDouble = i;
+        expected.newBoard(values, dailyDouble);
+
+        try {
+            if (checkRefusals) {
+                String realPin = pin;
+                pin = "WRONG";
+                check("a wrong PIN is a 401", post(base + "open", "slot=0") == 401);
+                pin = realPin;
+                check("the PIN also works as a parameter", send(HttpRequest.newBuilder(URI.create(base + "state?pin=" + pin)).GET().build()) == 200);
+                String before = state(get(base + "state"));
+                check("judge with nothing open is refused", post(base + "judge", "correct=true") == 409);
+                check("a bad parameter is a 400", post(base + "open", "slot=x") == 400);
+                check("an unknown seat is a 400", post(base + "adjust", "{\"seat\": 99, \"score\": 1}") == 400);
+                check("refusals leave the game alone", before.equals(state(get(base + "state"))));
+            }
+            for (int slot = 0; slot < values.length; slot++) {
+                expect(post(base + "open", "slot=" + slot), 200);
+                expected.openClue(slot);
+                if (slot == dailyDouble) {
+                    int seat = rng.nextInt(seats), amount = rng.nextInt(2000);
+                    boolean correct = rng.nextBoolean();
+                    expect(post(base + "wager", "{\"seat\": " + seat + ", \"amount\": " + amount + "}"), 200);
+                    expect(post(base + "judge", "correct=" + correct), 200);
+                    expected.wager(seat, amount);
+                    expected.judge(correct);
+                } else {
+                    // A wrong answer or two, then someone gets it or nobody does
+                    for (int tries = rng.nextInt(3); tries >= 0; tries--) {
+                        int seat = rng.nextInt(seats);
+                        boolean correct = tries == 0 && rng.nextBoolean();
+                        expect(post(base + "judge", "seat=" + seat + "&correct=" + correct), 200);
+                        expected.buzz(seat);
+                        expected.judge(correct);
+                        if (correct) break;
+                    }
+                    if (expected.phase() == GameEngine.Phase.CLUE_OPEN && checkRefusals && slot == 0)
+                        check("opening a second clue is refused", post(base + "open", "slot=1") == 409);
+                }
+                expect(post(base + "advance", ""), 200); // answer, or No Buzz
+                expected.closeClue();
+                if (rng.nextInt(10) == 0) {
+                    int seat = rng.nextInt(seats), score = rng.nextInt(5000) - 1000;
+                    expect(post(base + "adjust", "seat=" + seat + "&score=" + score), 200);
+                    expected.adjustScore(seat, score);
+                }
+            }
+            // Winner (unless nobody got the last clue), board, category, question, then wagers
+            // open; or straight to the finale if nobody has a score to wager
+            for (int i = 0; i < 4 && !field(PHASE, lastBody).matches("FINAL|GAME_OVER"); i++)
+                expect(post(base + "advance", ""), 200);
+            if (checkRefusals) check("advancing gets to Final Jeopardy", field(PHASE, lastBody).matches("FINAL|GAME_OVER"));
+            if (checkRefusals && "FINAL".equals(field(PHASE, lastBody)))
+                check("Final Jeopardy starts only once", post(base + "advance", "") == 409);
+            expected.startFinal();
+            for (int seat : expected.finalOrder()) {
+                if (expected.isFinalDone(seat)) continue;
+                int amount = rng.nextInt(3000);
+                boolean correct = rng.nextBoolean();
+                expect(post(base + "wager", "seat=" + seat + "&amount=" + amount), 200);
+                expect(post(base + "judge", "seat=" + seat + "&correct=" + correct), 200);
+                expected.finalWager(seat, amount);
+                expected.finalJudge(seat, correct);
+            }
+            String end = state(get(base + "state"));
+            int[] scores = new int[seats];
+            for (int i = 0; i < seats; i++) scores[i] = expected.score(i);
+            check((game < 0 ? "warm-up game " + (game + WARMUP_GAMES) : "game " + game) + " ends at the finale with the engine's scores",
+                    "finale".equals(field(SCENE, end)) && "GAME_OVER".equals(field(PHASE, end))
+                            && Arrays.equals(scores, Arrays.stream(field(SCORES, end).split(",")).mapToInt(Integer::parseInt).toArray()));
+            post(base + "advance", ""); // off the finale, which stops its animations
+        } finally {
+            acks.merge(control.acks());
+            control.close();
+        }
+    }
+
+    private static int post(String url, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Authorization", "Bearer " + pin);
+        if (body.startsWith("{")) request.header("Content-Type", "application/json");
+        else request.header("Content-Type", "application/x-www-form-urlencoded");
+        return send(request.build());
+    }
+
+    private static String get(String url) throws Exception {
+        send(HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + pin).GET().build());
+        return lastBody;
+    }
+
+    private static int send(HttpRequest request) throws Exception {
+        long t0 = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        roundTrip.record(System.nanoTime() - t0);
+        lastBody = response.body();
+        return response.statusCode();
+    }
+
+    private static void expect(int status, int wanted) {
+        if (status != wanted) {
+            check("got " + wanted + " but " + status + ": " + lastBody, false);
+            throw new IllegalStateException("Game went off script");
+        }
+    }
+
+    private static String state(String reply) {
+        return field(STATE, reply);
+    }
+
+    private static String field(Pattern p, String json) {
+        Matcher m = p.matcher(json);
+        return m.find() ? m.group(1) : null;
+    }
+
+    private static <T> T onEdt(Callable<T> body) throws Exception {
+        Object[] result = new Object[1];
+        Exception[] failure = new Exception[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result[0] = body.call();
+            } catch (Exception ex) {
+                failure[0] = ex;
+            }
+        });
+        if (failure[0] != null) throw failure[0];
+        @SuppressWarnings("unchecked") T t = (T) result[0];
+        return t;
+    }
+
+    private static void check(String what, boolean passed) {
+        System.out.printf("  %-44s %s%n", what, passed ? "ok" : "FAILED");
+        ok &= passed;
+    }
+
+    private static void print(String name, LatencyHistogram h) {
+        System.out.printf("  %-16s n=%,d  p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", name, h.count(),
+                h.percentileNanos(0.5) / 1e6, h.percentileNanos(0.99) / 1e6, h.maxNanos() / 1e6);
+    }
+}
@@ -0,0 +1,266 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.swing.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Lets a host drive the game from a tablet or phone over HTTP instead of at the laptop.
+ * {@code POST /<action>} takes the action's parameters in the query string, a form body or a
+ * flat JSON object. The reply is {@code {"ok":true,"state":{...}}} once the action has been
+ * applied. If the game can't take the action now, the reply is 409 with
+ * {@code "ok":false,"error":...}, and bad parameters get 400; the state comes back either way.
+ * {@code GET /state} only reads it.
+ *
+ * The server listens on every interface so a tablet on the same network can reach it, so every
+ * request must carry the {@link #pin()} shown on the host's console, as
+ * {@code Authorization: Bearer <pin>} or a {@code pin} query parameter; without it the reply is
+ * 401. No cross-origin headers are sent for actions, so a web page the host happens to open
+ * can't drive the game from its browser.
+ *
+ * The game registers the actions with {@link #on}. Each action runs on the EDT through
+ * invokeAndWait, so it goes through the same code as the Swing buttons and sees the same
+ * state. Only after that does the reply go out. Each connection runs on its own virtual
+ * thread, so a stalled tablet holds up nothing. The time from request to acknowledgement is
+ * kept in {@link #acks()}, and also goes to {@link EdtMonitor} when that is on.
+ */
+final class ControlServer implements Closeable {
+
+    /** One action; runs on the EDT, and throws IllegalStateException if the game can't take it now. */
+    interface Action {
+        void run(Params params);
+    }
+
+    /** An action's parameters. A missing or malformed one is an IllegalArgumentException, so a 400. */
+    static final class Params {
+        private final Map<String, String> values;
+
+        Params(Map<String, String> values) {
+            this.values = values;
+        }
+
+        boolean has(String name) {
+            return values.get(name) != null;
+        }
+
+        int number(String name) {
+            String v = required(name);
+            try {
+                return Integer.parseInt(v.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(name + " is not a whole number: " + v);
+            }
+        }
+
+        int number(String name, int otherwise) {
+            return has(name) ? number(name) : otherwise;
+        }
+
+        boolean flag(String name) {
+            String v = required(name);
+            return switch (v.trim().toLowerCase()) {
+                case "true", "1", "yes", "right", "correct" -> true;
+                case "false", "0", "no", "wrong", "incorrect" -> false;
+                default -> throw new IllegalArgumentException(name + " is not true or false: " + v);
+            };
+        }
+
+        boolean flag(String name, boolean otherwise) {
+            return has(name) ? flag(name) : otherwise;
+        }
+
+        private String required(String name) {
+            String v = values.get(name);
+            if (v == null) throw new IllegalArgumentException("Missing " + name);
+            return v;
+        }
+    }
+
+    private static final String PIN_LETTERS = "ABCDEFGHJKMNPQRSTUVWXYZ23456789"; // none that look alike
+    private static final int PIN_LENGTH = 8;
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Supplier<? extends CharSequence> state; // a JSON object; read on the EDT
+    private final LatencyHistogram acks = new LatencyHistogram();
+    private final String pin = newPin();
+
+    /** Serves on {@code port}, 0 for any free port; see {@link #port()}. */
+    ControlServer(int port, Supplier<? extends CharSequence> state) throws IOException {
+        this.state = state;
+        server = HttpServers.create(port, 64);
+        server.setExecutor(handlers);
+        server.createContext("/state", ex -> serve(ex, null));
+        server.start();
+    }
+
+    /** Serves {@code POST /name} with {@code action}. */
+    void on(String name, Action action) {
+        server.createContext("/" + name, ex -> serve(ex, action));
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** What a client must send with every request; new each time the server starts. */
+    String pin() {
+        return pin;
+    }
+
+    /** Request to acknowledgement, action included, for every request so far. */
+    LatencyHistogram acks() {
+        return acks;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    // ===== Requests =====
+
+    private void serve(HttpExchange ex, Action action) throws IOException {
+        long t0 = System.nanoTime();
+        try {
+            String method = ex.getRequestMethod();
+            if (!ex.getRequestURI().getPath().equals(ex.getHttpContext().getPath())) {
+                send(ex, 404, error("No such action " + ex.getRequestURI().getPath()));
+                return;
+            }
+            boolean authorized;
+            try {
+                authorized = authorized(ex);
+            } catch (IllegalArgumentException bad) { // a query that doesn't decode, e.g. ?pin=%zz
+                send(ex, 400, error(bad.getMessage()));
+                return;
+            }
+            if (!authorized) {
+                ex.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                send(ex, 401, error("Send the PIN shown on the host's console"));
+                return;
+            }
+            // Reading the state from another page is harmless once it has the PIN; acting is not
+            if (action == null) ex.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            if (!method.equals(action == null ? "GET" : "POST")) {
+                send(ex, 405, error("Use " + (action == null ? "GET" : "POST")));
+                return;
+            }
+            Params params;
+            try {
+                params = action == null ? null : params(ex);
+            } catch (IllegalArgumentException bad) {
+                send(ex, 400, error(bad.getMessage()));
+                return;
+            }
+            reply(ex, t0, onEdt(action, params));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private boolean authorized(HttpExchange ex) {
+        String given;
+        String auth = ex.getRequestHeaders().getFirst("Authorization");
+        if (auth != null && auth.regionMatches(true, 0, "Bearer ", 0, 7)) given = auth.substring(7).strip();
+        else {
+            Map<String, String> query = new HashMap<>();
+            form(ex.getRequestURI().getRawQuery(), query);
+            given = query.get("pin");
+        }
+        // Compared in constant time, so the reply's timing gives away nothing about the PIN
+        return given != null && MessageDigest.isEqual(pin.getBytes(StandardCharsets.UTF_8),
+                given.toUpperCase().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String newPin() {
+        SecureRandom random = new SecureRandom();
+        StringBuilder sb = new StringBuilder(PIN_LENGTH);
+        for (int i = 0; i < PIN_LENGTH; i++) sb.append(PIN_LETTERS.charAt(random.nextInt(PIN_LETTERS.length())));
+        return sb.toString();
+    }
+
+    /** Status and body of an action run on the EDT, with the state as it left it. */
+    private record Outcome(int status, StringBuilder body) {}
+
+    private Outcome onEdt(Action action, Params params) {
+        Outcome[] outcome = new Outcome[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                StringBuilder body = new StringBuilder(512);
+                int status = 200;
+                try {
+                    if (action != null) action.run(params);
+                    body.append("{\"ok\":true");
+                } catch (IllegalStateException refused) {
+                    status = 409;
+                    Json.quote(body.append("{\"ok\":false,\"error\":"), refused.getMessage());
+                } catch (IllegalArgumentException bad) {
+                    status = 400;
+                    Json.quote(body.append("{\"ok\":false,\"error\":"), bad.getMessage());
+                }
+                outcome[0] = new Outcome(status, body.append(",\"state\":").append(state.get()).append('}'));
+            });
+        } catch (InvocationTargetException failed) {
+            return new Outcome(500, error(String.valueOf(failed.getCause())));
+        } catch (InterruptedException stopping) {
+            Thread.currentThread().interrupt();
+            return new Outcome(503, error("Shutting down"));
+        }
+        return outcome[0];
+    }
+
+    private void reply(HttpExchange ex, long t0, Outcome outcome) throws IOException {
+        send(ex, outcome.status(), outcome.body());
+        long nanos = System.nanoTime() - t0;
+        acks.record(nanos);
+        EdtMonitor.record(EdtMonitor.CONTROL, nanos);
+    }
+
+    private static void send(HttpExchange ex, int status, StringBuilder json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.getResponseHeaders().set("Cache-Control", "no-store");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static StringBuilder error(String message) {
+        return Json.quote(new StringBuilder("{\"ok\":false,\"error\":"), message).append('}');
+    }
+
+    /** Query string, then the body: a JSON object, or form fields. Later values win. */
+    private static Params params(HttpExchange ex) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        form(ex.getRequestURI().getRawQuery(), values);
+        String body = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).strip();
+        if (body.startsWith("{")) values.putAll(Json.object(body));
+        else form(body, values);
+        return new Params(values);
+    }
+
+    private static void form(String encoded, Map<String, String> into) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String field : encoded.split("&")) {
+            if (field.isEmpty()) continue;
+            String[] kv = field.split("=", 2);
+            into.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "true");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single-pass RFC-4180 tokenizer for clue banks.
+ *
+ * Rows are pushed to a {@link RowHandler} as soon as they are complete. Field text is kept
+ * in one reused char buffer, so nothing is allocated per row unless the handler asks for a
+ * String. Handles quoted commas, escaped "" quotes, CRLF/LF endings and quoted fields that
+ * span several lines. Blank lines are skipped.
+ */
+final class CsvTokenizer {
+
+    interface RowHandler {
+        /** Called once per non-empty record. Return false to stop parsing. */
+        boolean onRow(CsvTokenizer row) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buf;
+
+    // Current record: all field text back to back, with per-field bounds
+    private char[] rowChars = new char[256];
+    private int rowLen;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int fieldCount;
+
+    private long charsRead;
+    private long rowNumber;
+
+    CsvTokenizer(Reader in) {
+        this(in, BUFFER_SIZE);
+    }
+
+    CsvTokenizer(Reader in, int bufferSize) {
+        this.in = in;
+        this.buf = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Tokenizes the whole input, or until the handler returns false.
+     */
+    void parse(RowHandler handler) throws IOException {
+        boolean inQuotes = false;
+        boolean quoteInQuotes = false; // saw '"' inside a quoted field, waiting for the next char
+        boolean skipLF = false;        // last char was '\r'
+        int fieldStart = 0;
+        rowLen = 0;
+        fieldCount = 0;
+
+        int n;
+        while ((n = in.read(buf, 0, buf.length)) != -1) {
+            charsRead += n;
+            for (int i = 0; i < n; i++) {
+                char c = buf[i];
+
+                if (skipLF) {
+                    skipLF = false;
+                    if (c == '\n') continue;
+                }
+
+                if (quoteInQuotes) {
+                    quoteInQuotes = false;
+                    if (c == '"') {          // "" is an escaped quote
+                        append(c);
+                        continue;
+                    }
+                    inQuotes = false;        // closing quote, fall through and handle c normally
+                }
+
+                if (inQuotes) {
+                    if (c == '"') quoteInQuotes = true;
+                    else append(c);
+                    continue;
+                }
+
+                switch (c) {
+                    case '"' -> inQuotes = true;
+                    case ',' -> {
+                        endField(fieldStart);
+                        fieldStart = rowLen;
+                    }
+                    case '\r', '\n' -> {
+                        if (c == '\r') skipLF = true;
+                        if (!endRow(fieldStart, handler)) return;
+                        fieldStart = 0;
+                    }
+                    default -> append(c);
+                }
+            }
+        }
+        if (rowLen > 0 || fieldCount > 0) endRow(fieldStart, handler);
+    }
+
+    private void append(char c) {
+        if (rowLen == rowChars.length) rowChars = Arrays.copyOf(rowChars, rowLen * 2);
+        rowChars[rowLen++] = c;
+    }
+
+    private void endField(int fieldStart) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = fieldStart;
+        ends[fieldCount] = rowLen;
+        fieldCount++;
+    }
+
+    private boolean endRow(int fieldStart, RowHandler handler) throws IOException {
+        boolean emptyLine = fieldCount == 0 && rowLen == 0;
+        endField(fieldStart);
+        boolean keepGoing = emptyLine || handler.onRow(this);
+        if (!emptyLine) rowNumber++;
+        rowLen = 0;
+        fieldCount = 0;
+        return keepGoing;
+    }
+
+    // ===== Row accessors (valid only inside RowHandler.onRow) =====
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /** 0-based index of the current record, counting only non-empty records. */
+    long rowNumber() {
+        return rowNumber;
+    }
+
+    /** Characters consumed from the reader so far. */
+    long charsRead() {
+        return charsRead;
+    }
+
+    private int trimmedStart(int i) {
+        int s = starts[i], e = ends[i];
+        while (s < e && rowChars[s] <= ' ') s++;
+        return s;
+    }
+
+    private int trimmedEnd(int i) {
+        // Down to the trimmed start, not the raw one: an all-whitespace field is empty, not inverted
+        int s = trimmedStart(i), e = ends[i];
+        while (e > s && rowChars[e - 1] <= ' ') e--;
+        return e;
+    }
+
+    /** Field text with surrounding whitespace removed; "" if the field is missing. */
+    String field(int i) {
+        if (i >= fieldCount) return "";
+        int s = trimmedStart(i);
+        return new String(rowChars, s, trimmedEnd(i) - s);
+    }
+
+    boolean isBlank(int i) {
+        return i >= fieldCount || trimmedStart(i) == trimmedEnd(i);
+    }
+
+    boolean fieldStartsWith(int i, String prefix) {
+        if (i >= fieldCount) return false;
+        int s = trimmedStart(i);
+        if (trimmedEnd(i) - s < prefix.length()) return false;
+        for (int k = 0; k < prefix.length(); k++)
+            if (rowChars[s + k] != prefix.charAt(k)) return false;
+        return true;
+    }
+
+    boolean fieldEqualsIgnoreCase(int i, String s) {
+        if (i >= fieldCount) return false;
+        int from = trimmedStart(i);
+        if (trimmedEnd(i) - from != s.length()) return false;
+        for (int k = 0; k < s.length(); k++) {
+            char a = rowChars[from + k], b = s.charAt(k);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)
+                    && Character.toLowerCase(a) != Character.toLowerCase(b)) return false;
+        }
+        return true;
+    }
+
+    /** Parses the field as a decimal int without allocating. */
+    int intField(int i) {
+        if (isBlank(i)) throw new NumberFormatException("empty field " + i + " in row " + rowNumber);
+        int s = trimmedStart(i), e = trimmedEnd(i);
+        boolean negative = rowChars[s] == '-';
+        if (negative || rowChars[s] == '+') s++;
+        if (s == e) throw new NumberFormatException(field(i));
+        long v = 0;
+        for (int k = s; k < e; k++) {
+            int d = rowChars[k] - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("For input string: \"" + field(i) + "\"");
+            v = v * 10 + d;
+            if (v > Integer.MAX_VALUE + 1L) throw new NumberFormatException("For input string: \"" + field(i) + "\"");
+        }
+        v = negative ? -v : v;
+        if (v > Integer.MAX_VALUE) throw new NumberFormatException("For input string: \"" + field(i) + "\"");
+        return (int) v;
+    }
+}
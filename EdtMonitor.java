@@ -0,0 +1,274 @@
+import javax.management.ObjectName;
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Instrumentation for the event dispatch thread, to find out why the board froze:
+ * <ul>
+ *   <li>{@value #DISPATCH}: how long each AWT event took to dispatch</li>
+ *   <li>{@value #LATENCY}: how long a probe posted to the queue waited before it ran</li>
+ *   <li>{@value #PAINT} / {@value #REVALIDATE}: each Swing paint pass and layout pass</li>
+ *   <li>{@value #TRANSITION}: screen change to first paint of the new screen</li>
+ *   <li>{@value #LOAD}: picking a clue file to the bank being on the board</li>
+ *   <li>{@value #STARTUP}: process start to the first painted board, when launched with a clue file</li>
+ *   <li>{@value #BUZZ}: a network buzz being read to the winner's name on screen</li>
+ *   <li>{@value #CONTROL}: a control API request to its acknowledgement, the action applied</li>
+ * </ul>
+ * A watchdog thread logs any event that holds the EDT longer than the stall threshold, with
+ * the EDT's stack at that moment, so work that should not be there (file loading, say) shows
+ * up with its call site. Everything is dumped to stderr periodically and readable over JMX
+ * as {@code jeopardy:type=EdtMonitor}.
+ *
+ * Turned on with {@code -Djeopardy.metrics=true} (or the older {@code -Djeopardy.paintStats=true});
+ * {@code -Djeopardy.stallMillis} (default 200) and {@code -Djeopardy.metricsDumpSeconds}
+ * (default 30, 0 for none) tune it. When off, {@link #record} does nothing.
+ */
+final class EdtMonitor implements EdtMonitorMXBean {
+    static final String DISPATCH = "edt.dispatch";
+    static final String LATENCY = "edt.latency";
+    static final String PAINT = "paint";
+    static final String REVALIDATE = "revalidate";
+    static final String TRANSITION = "transition";
+    static final String LOAD = "load";
+    static final String STARTUP = "startup";
+    static final String BUZZ = "buzz";
+    static final String CONTROL = "control";
+
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final AtomicLong stalls = new AtomicLong();
+    private static volatile boolean enabled;
+    private static long stallNanos;
+
+    // Written by the EDT, read by the watchdog
+    private static volatile Thread edt;
+    private static volatile long dispatchStart;
+    private static volatile long dispatchSeq;
+    private static volatile AWTEvent dispatching;
+    // EDT only: nesting depth of dispatchEvent, and which levels ran a nested (modal) loop
+    private static int depth;
+    private static long nestedLevels;
+
+    private EdtMonitor() {}
+
+    static void installIfEnabled() {
+        if (Boolean.getBoolean("jeopardy.metrics") || Boolean.getBoolean("jeopardy.paintStats")) install();
+    }
+
+    static synchronized void install() {
+        if (enabled) return;
+        stallNanos = Long.getLong("jeopardy.stallMillis", 200) * 1_000_000L;
+        enabled = true;
+
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EventQueue() {
+            @Override
+            protected void dispatchEvent(AWTEvent event) {
+                timedDispatch(event, () -> super.dispatchEvent(event));
+            }
+        });
+        RepaintManager.setCurrentManager(new RepaintManager() {
+            @Override
+            public void paintDirtyRegions() {
+                long t0 = System.nanoTime();
+                super.paintDirtyRegions();
+                record(PAINT, System.nanoTime() - t0);
+            }
+
+            @Override
+            public void validateInvalidComponents() {
+                long t0 = System.nanoTime();
+                super.validateInvalidComponents();
+                record(REVALIDATE, System.nanoTime() - t0);
+            }
+        });
+
+        Thread watchdog = new Thread(EdtMonitor::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        long dumpSeconds = Long.getLong("jeopardy.metricsDumpSeconds", 30);
+        if (dumpSeconds > 0) {
+            Thread dumper = new Thread(() -> dumpEvery(dumpSeconds * 1000), "metrics-dump");
+            dumper.setDaemon(true);
+            dumper.start();
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new EdtMonitor(), new ObjectName("jeopardy:type=EdtMonitor"));
+        } catch (Exception ex) {
+            System.err.println("EdtMonitor: not registered with JMX: " + ex);
+        }
+    }
+
+    static void record(String name, long nanos) {
+        if (enabled) histograms.computeIfAbsent(name, _ -> new LatencyHistogram()).record(nanos);
+    }
+
+    static String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-12s %8s %9s %9s %9s %9s %9s%n",
+                "metric (ms)", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(String.format("%-12s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", e.getKey(), h.count(),
+                    h.meanNanos() / 1e6, h.percentileNanos(0.5) / 1e6, h.percentileNanos(0.9) / 1e6,
+                    h.percentileNanos(0.99) / 1e6, h.maxNanos() / 1e6));
+        }
+        sb.append("EDT stalls over ").append(stallNanos / 1_000_000).append(" ms: ").append(stalls.get());
+        return sb.toString();
+    }
+
+    // ===== Dispatch timing =====
+
+    private static void timedDispatch(AWTEvent event, Runnable dispatch) {
+        long t0 = System.nanoTime();
+        AWTEvent outer = dispatching;
+        if (depth > 0) nestedLevels |= 1L << Math.min(depth - 1, 63);
+        edt = Thread.currentThread();
+        dispatching = event;
+        dispatchSeq++;
+        dispatchStart = t0;
+        depth++;
+        try {
+            dispatch.run();
+        } finally {
+            depth--;
+            long end = System.nanoTime();
+            boolean modal = (nestedLevels & (1L << Math.min(depth, 63))) != 0;
+            nestedLevels &= ~(1L << Math.min(depth, 63));
+            // Back in an outer event that was running a modal loop: its clock restarts here
+            dispatchStart = depth > 0 ? end : 0;
+            dispatching = outer;
+            // An event that ran a modal dialog measures the user, not the EDT
+            if (!modal) {
+                long nanos = end - t0;
+                record(DISPATCH, nanos);
+                if (nanos > stallNanos) {
+                    stalls.incrementAndGet();
+                    System.err.printf("EDT: %s took %.1f ms%n", describe(event), nanos / 1e6);
+                }
+            }
+        }
+    }
+
+    // ===== Watchdog =====
+
+    /** Probes queue latency and reports stalls, each stalled event once, while it is still stuck. */
+    private static void watch() {
+        long period = Math.max(10, Math.min(PROBE_INTERVAL_MILLIS, stallNanos / 4_000_000));
+        long reportedSeq = -1;
+        AtomicBoolean probePending = new AtomicBoolean();
+        while (true) {
+            try {
+                Thread.sleep(period);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (probePending.compareAndSet(false, true)) {
+                long posted = System.nanoTime();
+                EventQueue.invokeLater(() -> {
+                    record(LATENCY, System.nanoTime() - posted);
+                    probePending.set(false);
+                });
+            }
+
+            long start = dispatchStart;
+            long seq = dispatchSeq;
+            Thread thread = edt;
+            if (start == 0 || thread == null || seq == reportedSeq) continue;
+            long blocked = System.nanoTime() - start;
+            if (blocked < stallNanos) continue;
+
+            StackTraceElement[] stack = thread.getStackTrace();
+            // Parked in a nested (modal) loop waiting for input: idle, not stuck
+            if (waitingForEvents(stack)) continue;
+            reportedSeq = seq;
+            StringBuilder sb = new StringBuilder(String.format("EDT stalled for %.1f ms in %s%n",
+                    blocked / 1e6, describe(dispatching)));
+            for (StackTraceElement frame : stack) sb.append("\tat ").append(frame).append('\n');
+            System.err.print(sb);
+        }
+    }
+
+    private static boolean waitingForEvents(StackTraceElement[] stack) {
+        for (int i = 0; i < Math.min(stack.length, 12); i++) {
+            if (stack[i].getClassName().equals("java.awt.EventQueue") && stack[i].getMethodName().equals("getNextEvent"))
+                return true;
+        }
+        return false;
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event == null) return "?";
+        String s = event.toString();
+        return s.length() > 160 ? s.substring(0, 160) + "..." : s;
+    }
+
+    private static void dumpEvery(long millis) {
+        long lastCount = -1;
+        while (true) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            long count = histograms.values().stream().mapToLong(LatencyHistogram::count).sum();
+            if (count == lastCount) continue; // nothing new since the last dump
+            lastCount = count;
+            System.err.println(report());
+        }
+    }
+
+    // ===== JMX =====
+
+    @Override
+    public String getReport() {
+        return report();
+    }
+
+    @Override
+    public String[] getHistogramNames() {
+        return new TreeMap<>(histograms).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getStallCount() {
+        return stalls.get();
+    }
+
+    @Override
+    public long getStallThresholdMillis() {
+        return stallNanos / 1_000_000;
+    }
+
+    @Override
+    public long count(String histogram) {
+        LatencyHistogram h = histograms.get(histogram);
+        return h == null ? 0 : h.count();
+    }
+
+    @Override
+    public double percentileMillis(String histogram, double percentile) {
+        LatencyHistogram h = histograms.get(histogram);
+        return h == null ? 0 : h.percentileNanos(percentile / 100) / 1e6;
+    }
+
+    @Override
+    public double maxMillis(String histogram) {
+        LatencyHistogram h = histograms.get(histogram);
+        return h == null ? 0 : h.maxNanos() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        stalls.set(0);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * JMX view of {@link EdtMonitor}, registered as {@code jeopardy:type=EdtMonitor}.
+ */
+public interface EdtMonitorMXBean {
+
+    /** The same text as the periodic dump: one line per histogram. */
+    String getReport();
+
+    String[] getHistogramNames();
+
+    long getStallCount();
+
+    long getStallThresholdMillis();
+
+    long count(String histogram);
+
+    double percentileMillis(String histogram, double percentile);
+
+    double maxMillis(String histogram);
+
+    void reset();
+}
@@ -0,0 +1,78 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared Font and FontMetrics instances, keyed by family, style and size.
+ *
+ * Sizes derived from the window height are snapped to a small fixed set of buckets, so resizing
+ * and screen transitions keep reusing the same handful of fonts (and their glyph caches)
+ * instead of creating a new Font for every pixel of window height. EDT only.
+ */
+final class FontCache {
+    static final String GAME_FAMILY = "Arial Black";
+    private static final String GAME_FALLBACK = "Serif";
+
+    private static final int[] BUCKETS = {
+            8, 9, 10, 11, 12, 14, 16, 18, 20, 22, 24, 26, 28, 32, 36, 40, 44, 48,
+            54, 60, 64, 72, 80, 88, 96, 108, 120, 132, 144, 160, 180, 200
+    };
+
+    private record Key(String family, int style, int size) {}
+
+    private static final Map<Key, Font> fonts = new HashMap<>();
+    private static final Map<Font, FontMetrics> metrics = new HashMap<>();
+    private static Graphics2D metricsGraphics;
+    private static String gameFamily;
+
+    private FontCache() {}
+
+    /** The nearest bucket size to {@code size}. */
+    static int bucket(int size) {
+        int i = Arrays.binarySearch(BUCKETS, size);
+        if (i >= 0) return size;
+        int hi = -i - 1;
+        if (hi == 0) return BUCKETS[0];
+        if (hi == BUCKETS.length) return BUCKETS[BUCKETS.length - 1];
+        return size - BUCKETS[hi - 1] <= BUCKETS[hi] - size ? BUCKETS[hi - 1] : BUCKETS[hi];
+    }
+
+    /** Index of the largest bucket not above {@code size}, or 0 if {@code size} is below them all. */
+    static int bucketIndex(int size) {
+        int i = Arrays.binarySearch(BUCKETS, size);
+        return i >= 0 ? i : Math.max(0, -i - 2);
+    }
+
+    static int bucketAt(int index) {
+        return BUCKETS[index];
+    }
+
+    /** Exactly the requested font, created once. */
+    static Font get(String family, int style, int size) {
+        return fonts.computeIfAbsent(new Key(family, style, size), k -> new Font(k.family, k.style, k.size));
+    }
+
+    /** The game's display font at the nearest bucket size: Arial Black, or Serif where it is missing. */
+    static Font game(int style, int size) {
+        if (gameFamily == null) {
+            gameFamily = get(GAME_FAMILY, Font.PLAIN, 12).getFamily().equalsIgnoreCase(GAME_FAMILY)
+                    ? GAME_FAMILY : GAME_FALLBACK;
+        }
+        return get(gameFamily, style, bucket(size));
+    }
+
+    static FontMetrics metrics(Font font) {
+        FontMetrics fm = metrics.get(font);
+        if (fm == null) {
+            if (metricsGraphics == null) {
+                metricsGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+                metricsGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            }
+            fm = metricsGraphics.getFontMetrics(font);
+            metrics.put(font, fm);
+        }
+        return fm;
+    }
+}
@@ -0,0 +1,29 @@
+import java.awt.Font;
+
+/**
+ * What a piece of text is on screen, which decides how its font scales with the window:
+ * a fraction of the window height, never below a minimum size.
+ */
+enum FontRole {
+    HEADER(0.035, 20, true),
+    TILE(0.04, 24, true),
+    CLUE_TEXT(0.08, 48, false),
+    ANSWER_TEXT(0.09, 48, false),
+    FINAL_TEXT(0.085, 44, false),
+    CATEGORY_SLIDE(0.09, 48, true),
+    SPLASH(0.12, 60, true);
+
+    final double scale;
+    final int minSize;
+    final boolean bold;
+
+    FontRole(double scale, int minSize, boolean bold) {
+        this.scale = scale;
+        this.minSize = minSize;
+        this.bold = bold;
+    }
+
+    Font fontFor(int frameHeight) {
+        return FontCache.game(bold ? Font.BOLD : Font.PLAIN, Math.max((int) (frameHeight * scale), minSize));
+    }
+}
@@ -0,0 +1,370 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * The rules of a game, with no Swing in sight: scores, which clue is open and who is answering
+ * it, wager limits, Daily Double placement, end of the board and Final Jeopardy.
+ *
+ * Clues are identified by their slot on the board (0 .. clueCount-1) and contestants by index.
+ * The UI issues commands ({@link #openClue}, {@link #buzz}, {@link #judge}, ...) and redraws
+ * from the resulting {@link Event}s; a command that does not fit the current {@link Phase}
+ * throws IllegalStateException. State is a few primitive arrays, and events are only built
+ * when someone listens, so the engine can run games by the million in simulations.
+ * Every command that succeeds is also handed to the {@linkplain #setRecorder recorder} as a
+ * {@link Command}; {@link #apply}ing the same commands to a {@link #clear}ed engine rebuilds the
+ * same game, which is how the journal restores and replays games.
+ * Not thread-safe: drive each engine from one thread.
+ */
+final class GameEngine {
+
+    /** Lowest cap on a Daily Double wager, however little the contestant has. */
+    static final int DEFAULT_DAILY_DOUBLE_CAP = 1000;
+
+    enum Phase {
+        /** Waiting for the host to pick a clue. */
+        BOARD,
+        /** A Daily Double was found; waiting for who found it and their wager. */
+        DAILY_DOUBLE,
+        /** Clue on screen, open for buzzing. */
+        CLUE_OPEN,
+        /** A contestant buzzed in (or wagered on a Daily Double) and is answering. */
+        ANSWERING,
+        /** The answer is being shown; the clue is done. */
+        REVEAL,
+        /** Final Jeopardy wagers and answers. */
+        FINAL,
+        GAME_OVER
+    }
+
+    sealed interface Event {}
+    record ClueOpened(int clue, int value, boolean dailyDouble) implements Event {}
+    record WagerPlaced(int contestant, int wager, boolean finalJeopardy) implements Event {}
+    record Buzzed(int contestant) implements Event {}
+    record Judged(int contestant, boolean correct, int delta) implements Event {}
+    record ScoreChanged(int contestant, int score) implements Event {}
+    record ClueClosed(int clue, boolean boardCleared) implements Event {}
+    record PhaseChanged(Phase phase) implements Event {}
+
+    interface Listener {
+        void onEvent(Event event);
+    }
+
+    /** One call of a command method, as data. */
+    sealed interface Command {}
+    record NewBoard(int[] values, int[] dailyDoubles) implements Command {}
+    record ResetScores() implements Command {}
+    record OpenClue(int slot) implements Command {}
+    record Wager(int contestant, int amount) implements Command {}
+    record Buzz(int contestant) implements Command {}
+    record Pass() implements Command {}
+    record Judge(boolean correct) implements Command {}
+    record NoBuzz() implements Command {}
+    record CloseClue() implements Command {}
+    record AdjustScore(int contestant, int score) implements Command {}
+    record StartFinal() implements Command {}
+    record FinalWager(int contestant, int amount) implements Command {}
+    record FinalJudge(int contestant, boolean correct) implements Command {}
+
+    private final int[] scores;
+    private final int dailyDoubleCap;
+    private final List<Listener> listeners = new ArrayList<>();
+    private Consumer<Command> recorder;
+
+    private int[] values = new int[0];
+    private final BitSet asked = new BitSet();
+    private final BitSet dailyDoubles = new BitSet();
+    private int remaining;
+
+    private Phase phase = Phase.BOARD;
+    private int clue = -1, answering = -1, stake;
+
+    private final int[] finalWagers;
+    private final BitSet finalDone = new BitSet();
+
+    GameEngine(int contestants) {
+        this(contestants, DEFAULT_DAILY_DOUBLE_CAP);
+    }
+
+    GameEngine(int contestants, int dailyDoubleCap) {
+        if (contestants <= 0) throw new IllegalArgumentException("Need at least one contestant");
+        this.scores = new int[contestants];
+        this.finalWagers = new int[contestants];
+        this.dailyDoubleCap = dailyDoubleCap;
+    }
+
+    void addListener(Listener l) {
+        listeners.add(l);
+    }
+
+    /** Receives each command after it succeeds; null for none. */
+    void setRecorder(Consumer<Command> recorder) {
+        this.recorder = recorder;
+    }
+
+    // ===== Rules =====
+
+    /** Daily Double wagers may go up to the contestant's score, or the cap if that is higher. */
+    static int clampDailyDoubleWager(int wager, int score, int cap) {
+        return Math.max(0, Math.min(wager, Math.max(cap, score)));
+    }
+
+    /** Final Jeopardy wagers may go up to the contestant's score; nothing if it is not positive. */
+    static int clampFinalWager(int wager, int score) {
+        return Math.max(0, Math.min(wager, score));
+    }
+
+    /** Where the Daily Double goes: any clue on the board, uniformly. */
+    static int placeDailyDouble(int clueCount, RandomGenerator rng) {
+        return clueCount == 0 ? -1 : rng.nextInt(clueCount);
+    }
+
+    // ===== Commands =====
+
+    /** Deals a new board of clue values with the given Daily Double slots; scores are kept. */
+    void newBoard(int[] clueValues, int... dailyDoubleSlots) {
+        values = clueValues;
+        asked.clear();
+        dailyDoubles.clear();
+        for (int dd : dailyDoubleSlots) if (dd >= 0) dailyDoubles.set(dd);
+        remaining = clueValues.length;
+        finalDone.clear();
+        clue = answering = -1;
+        setPhase(Phase.BOARD);
+        if (recorder != null) recorder.accept(new NewBoard(clueValues, dailyDoubleSlots));
+    }
+
+    void resetScores() {
+        for (int i = 0; i < scores.length; i++) setScore(i, 0);
+        if (recorder != null) recorder.accept(new ResetScores());
+    }
+
+    void openClue(int slot) {
+        expect(Phase.BOARD);
+        if (asked.get(slot)) throw new IllegalStateException("Clue " + slot + " was already played");
+        asked.set(slot);
+        remaining--;
+        clue = slot;
+        answering = -1;
+        stake = values[slot];
+        boolean dd = dailyDoubles.get(slot);
+        if (observed()) emit(new ClueOpened(slot, stake, dd));
+        setPhase(dd ? Phase.DAILY_DOUBLE : Phase.CLUE_OPEN);
+        if (recorder != null) recorder.accept(new OpenClue(slot));
+    }
+
+    /** The contestant who found the Daily Double wagers; returns the wager after clamping. */
+    int wager(int contestant, int amount) {
+        expect(Phase.DAILY_DOUBLE);
+        stake = clampDailyDoubleWager(amount, scores[contestant], dailyDoubleCap);
+        answering = contestant;
+        if (observed()) emit(new WagerPlaced(contestant, stake, false));
+        setPhase(Phase.ANSWERING);
+        if (recorder != null) recorder.accept(new Wager(contestant, amount));
+        return stake;
+    }
+
+    void buzz(int contestant) {
+        expect(Phase.CLUE_OPEN);
+        answering = contestant;
+        if (observed()) emit(new Buzzed(contestant));
+        setPhase(Phase.ANSWERING);
+        if (recorder != null) recorder.accept(new Buzz(contestant));
+    }
+
+    /** Gives the buzzer back without a ruling. */
+    void pass() {
+        expect(Phase.ANSWERING);
+        if (dailyDoubles.get(clue)) throw new IllegalStateException("A Daily Double must be judged");
+        answering = -1;
+        setPhase(Phase.CLUE_OPEN);
+        if (recorder != null) recorder.accept(new Pass());
+    }
+
+    /**
+     * Rules on the answer. Right reveals the answer; wrong costs the stake and reopens the clue
+     * for the others, except on a Daily Double, which is revealed either way.
+     */
+    void judge(boolean correct) {
+        expect(Phase.ANSWERING);
+        int c = answering;
+        int delta = correct ? stake : -stake;
+        if (observed()) emit(new Judged(c, correct, delta));
+        setScore(c, scores[c] + delta);
+        answering = -1;
+        setPhase(correct || dailyDoubles.get(clue) ? Phase.REVEAL : Phase.CLUE_OPEN);
+        if (recorder != null) recorder.accept(new Judge(correct));
+    }
+
+    /** Nobody (else) wants it: reveal the answer. */
+    void noBuzz() {
+        expect(Phase.CLUE_OPEN);
+        setPhase(Phase.REVEAL);
+        if (recorder != null) recorder.accept(new NoBuzz());
+    }
+
+    /** Back to the board, from the revealed answer or by abandoning the open clue. */
+    void closeClue() {
+        if (phase != Phase.REVEAL && phase != Phase.CLUE_OPEN && phase != Phase.DAILY_DOUBLE)
+            throw new IllegalStateException("No clue open in phase " + phase);
+        int closed = clue;
+        clue = answering = -1;
+        if (observed()) emit(new ClueClosed(closed, remaining == 0));
+        setPhase(Phase.BOARD);
+        if (recorder != null) recorder.accept(new CloseClue());
+    }
+
+    /** Host override; allowed at any time. */
+    void adjustScore(int contestant, int score) {
+        setScore(contestant, score);
+        if (recorder != null) recorder.accept(new AdjustScore(contestant, score));
+    }
+
+    /** Moves to Final Jeopardy, from the board. Contestants without a positive score sit it out. */
+    void startFinal() {
+        // Only once: starting again would clear the wagers and rulings already made
+        expect(Phase.BOARD);
+        clue = answering = -1;
+        finalDone.clear();
+        Arrays.fill(finalWagers, 0);
+        for (int i = 0; i < scores.length; i++) if (!canPlayFinal(i)) finalDone.set(i);
+        setPhase(Phase.FINAL);
+        if (finalDone.cardinality() == scores.length) setPhase(Phase.GAME_OVER);
+        if (recorder != null) recorder.accept(new StartFinal());
+    }
+
+    /** Records a Final Jeopardy wager and returns it after clamping. */
+    int finalWager(int contestant, int amount) {
+        expect(Phase.FINAL);
+        if (finalDone.get(contestant)) throw new IllegalStateException("Contestant " + contestant + " is done");
+        finalWagers[contestant] = clampFinalWager(amount, scores[contestant]);
+        if (observed()) emit(new WagerPlaced(contestant, finalWagers[contestant], true));
+        if (recorder != null) recorder.accept(new FinalWager(contestant, amount));
+        return finalWagers[contestant];
+    }
+
+    void finalJudge(int contestant, boolean correct) {
+        expect(Phase.FINAL);
+        if (finalDone.get(contestant)) throw new IllegalStateException("Contestant " + contestant + " is done");
+        int delta = correct ? finalWagers[contestant] : -finalWagers[contestant];
+        if (observed()) emit(new Judged(contestant, correct, delta));
+        setScore(contestant, scores[contestant] + delta);
+        finalDone.set(contestant);
+        if (finalDone.cardinality() == scores.length) setPhase(Phase.GAME_OVER);
+        if (recorder != null) recorder.accept(new FinalJudge(contestant, correct));
+    }
+
+    /** Runs a recorded command again. */
+    void apply(Command command) {
+        switch (command) {
+            case NewBoard c -> newBoard(c.values(), c.dailyDoubles());
+            case ResetScores _ -> resetScores();
+            case OpenClue c -> openClue(c.slot());
+            case Wager c -> wager(c.contestant(), c.amount());
+            case Buzz c -> buzz(c.contestant());
+            case Pass _ -> pass();
+            case Judge c -> judge(c.correct());
+            case NoBuzz _ -> noBuzz();
+            case CloseClue _ -> closeClue();
+            case AdjustScore c -> adjustScore(c.contestant(), c.score());
+            case StartFinal _ -> startFinal();
+            case FinalWager c -> finalWager(c.contestant(), c.amount());
+            case FinalJudge c -> finalJudge(c.contestant(), c.correct());
+        }
+    }
+
+    /** Back to a fresh engine: zero scores, empty board. Not recorded; replays start from here. */
+    void clear() {
+        for (int i = 0; i < scores.length; i++) setScore(i, 0);
+        values = new int[0];
+        asked.clear();
+        dailyDoubles.clear();
+        remaining = 0;
+        finalDone.clear();
+        Arrays.fill(finalWagers, 0);
+        clue = answering = -1;
+        stake = 0;
+        setPhase(Phase.BOARD);
+    }
+
+    // ===== Queries =====
+
+    Phase phase() { return phase; }
+    int contestantCount() { return scores.length; }
+    int score(int contestant) { return scores[contestant]; }
+    int clueCount() { return values.length; }
+    int value(int slot) { return values[slot]; }
+    boolean isAsked(int slot) { return asked.get(slot); }
+    boolean isDailyDouble(int slot) { return dailyDoubles.get(slot); }
+    int remainingClues() { return remaining; }
+    boolean isBoardCleared() { return remaining == 0; }
+
+    /** The open clue's slot, or -1. */
+    int currentClue() { return clue; }
+
+    /** Who is answering the open clue, or -1. */
+    int answering() { return answering; }
+
+    /** What the open clue is worth to the one answering it: its value, or their Daily Double wager. */
+    int stake() { return stake; }
+
+    boolean canPlayFinal(int contestant) { return scores[contestant] > 0; }
+
+    /** Whether the contestant's Final Jeopardy is judged, or they are sitting it out. */
+    boolean isFinalDone(int contestant) { return finalDone.get(contestant); }
+
+    /** Contestants from lowest to highest score, the order Final Jeopardy is played in. */
+    int[] finalOrder() {
+        int[] order = new int[scores.length];
+        finalOrder(order);
+        return order;
+    }
+
+    /** {@link #finalOrder()} into a caller's array, without allocating. Ties keep seat order. */
+    void finalOrder(int[] out) {
+        for (int i = 0; i < scores.length; i++) {
+            int j = i;
+            while (j > 0 && scores[out[j - 1]] > scores[i]) {
+                out[j] = out[j - 1];
+                j--;
+            }
+            out[j] = i;
+        }
+    }
+
+    /** Highest score; the earliest contestant wins a tie. */
+    int leader() {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) if (scores[i] > scores[best]) best = i;
+        return best;
+    }
+
+    // ===== Internals =====
+
+    private void expect(Phase expected) {
+        if (phase != expected) throw new IllegalStateException("Expected " + expected + " but in " + phase);
+    }
+
+    private void setScore(int contestant, int score) {
+        if (scores[contestant] == score) return;
+        scores[contestant] = score;
+        if (observed()) emit(new ScoreChanged(contestant, score));
+    }
+
+    private void setPhase(Phase next) {
+        if (phase == next) return;
+        phase = next;
+        if (observed()) emit(new PhaseChanged(next));
+    }
+
+    private boolean observed() {
+        return !listeners.isEmpty();
+    }
+
+    private void emit(Event e) {
+        for (Listener l : listeners) l.onEvent(e);
+    }
+}
@@ -0,0 +1,289 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only record of everything that changes a game: boards dealt, contestant names, and
+ * every {@link GameEngine.Command}. Replaying the entries into a cleared engine rebuilds the
+ * scores and board exactly, so a crashed show restarts where it stopped, a turn can be undone,
+ * and a finished game can be played back.
+ *
+ * File layout (big-endian): int magic, int version, then entries, each a tag byte and its
+ * fields. Writes are queued by the caller and written in batches by one background thread,
+ * which forces each batch to disk; a torn last entry from a crash is ignored on reading.
+ * Undo is itself an entry, so the file is never rewritten except by {@link #rewrite}.
+ */
+final class GameJournal implements Closeable {
+    private static final int MAGIC = 0x4A4A524E; // "JJRN"
+    private static final int VERSION = 1;
+
+    sealed interface Entry {}
+    /** A board went up: which clue file, and which store clues sit in each column. */
+    record Dealt(String file, long sourceCrc, int dailyDouble, List<String> categories, List<int[]> columns) implements Entry {}
+    record Named(String[] names) implements Entry {}
+    record Played(GameEngine.Command command) implements Entry {}
+    /** Takes back the last turn; see {@link #undoLastTurn}. */
+    record Undone() implements Entry {}
+
+    private static final int DEALT = 1, NAMED = 2, UNDONE = 3;
+    private static final int NEW_BOARD = 10, RESET_SCORES = 11, OPEN_CLUE = 12, WAGER = 13, BUZZ = 14, PASS = 15,
+            JUDGE = 16, NO_BUZZ = 17, CLOSE_CLUE = 18, ADJUST_SCORE = 19, START_FINAL = 20, FINAL_WAGER = 21,
+            FINAL_JUDGE = 22;
+    private static final Entry CLOSE = new Undone(); // poison pill for the writer, compared by identity
+
+    private final File file;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private GameJournal(File file) {
+        this.file = file;
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Opens {@code file} for appending, creating it if needed. */
+    static GameJournal open(File file) throws IOException {
+        if (!file.isFile() || file.length() == 0) {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+        }
+        return new GameJournal(file);
+    }
+
+    File file() {
+        return file;
+    }
+
+    /** Queues an entry; never blocks. */
+    void append(Entry entry) {
+        queue.add(entry);
+    }
+
+    /** Writes whatever is queued and stops the writer. */
+    @Override
+    public void close() {
+        queue.add(CLOSE);
+        try {
+            writer.join(2000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        try (FileOutputStream fos = new FileOutputStream(file, true);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                boolean closing = false;
+                for (Entry e : batch) {
+                    if (e == CLOSE) closing = true;
+                    else write(out, e);
+                }
+                batch.clear();
+                out.flush();
+                fos.getChannel().force(false);
+                if (closing) return;
+            }
+        } catch (IOException ex) {
+            System.err.println("Journal " + file + " stopped: " + ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== Reading =====
+
+    /** Every entry in the file, in order, up to a torn or unreadable tail. */
+    static List<Entry> read(File file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException(file + " is not a game journal");
+            while (true) entries.add(readEntry(in));
+        } catch (EOFException | UTFDataFormatException ex) {
+            return entries; // end of file, or the last entry was cut off mid-write
+        }
+    }
+
+    /** {@link #read} with every {@link Undone} applied. */
+    static List<Entry> effective(List<Entry> entries) {
+        List<Entry> out = new ArrayList<>(entries.size());
+        for (Entry e : entries) {
+            if (e instanceof Undone) undoLastTurn(out);
+            else out.add(e);
+        }
+        return out;
+    }
+
+    /**
+     * Drops the last turn from an effective history: everything back to and including the last
+     * clue opened or score adjusted. Returns false, changing nothing, if a new board or score
+     * reset comes first, since those are not undone.
+     */
+    static boolean undoLastTurn(List<Entry> history) {
+        for (int i = history.size() - 1; i >= 0; i--) {
+            Entry e = history.get(i);
+            if (e instanceof Dealt || e instanceof Played(GameEngine.NewBoard _) || e instanceof Played(GameEngine.ResetScores _))
+                return false;
+            if (e instanceof Played(GameEngine.OpenClue _) || e instanceof Played(GameEngine.AdjustScore _)) {
+                history.subList(i, history.size()).clear();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Replaces the file's contents with {@code entries}, atomically. For compacting on restore. */
+    static void rewrite(File file, List<Entry> entries) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (Entry e : entries) write(out, e);
+            out.flush();
+            fos.getChannel().force(false);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===== Encoding =====
+
+    private static void write(DataOutputStream out, Entry entry) throws IOException {
+        switch (entry) {
+            case Dealt d -> {
+                out.writeByte(DEALT);
+                out.writeUTF(d.file());
+                out.writeLong(d.sourceCrc());
+                out.writeInt(d.dailyDouble());
+                out.writeInt(d.categories().size());
+                for (int i = 0; i < d.categories().size(); i++) {
+                    out.writeUTF(d.categories().get(i));
+                    writeInts(out, d.columns().get(i));
+                }
+            }
+            case Named n -> {
+                out.writeByte(NAMED);
+                out.writeInt(n.names().length);
+                for (String name : n.names()) out.writeUTF(name);
+            }
+            case Undone _ -> out.writeByte(UNDONE);
+            case Played p -> writeCommand(out, p.command());
+        }
+    }
+
+    private static void writeCommand(DataOutputStream out, GameEngine.Command command) throws IOException {
+        switch (command) {
+            case GameEngine.NewBoard c -> {
+                out.writeByte(NEW_BOARD);
+                writeInts(out, c.values());
+                writeInts(out, c.dailyDoubles());
+            }
+            case GameEngine.ResetScores _ -> out.writeByte(RESET_SCORES);
+            case GameEngine.OpenClue c -> {
+                out.writeByte(OPEN_CLUE);
+                out.writeInt(c.slot());
+            }
+            case GameEngine.Wager c -> {
+                out.writeByte(WAGER);
+                out.writeInt(c.contestant());
+                out.writeInt(c.amount());
+            }
+            case GameEngine.Buzz c -> {
+                out.writeByte(BUZZ);
+                out.writeInt(c.contestant());
+            }
+            case GameEngine.Pass _ -> out.writeByte(PASS);
+            case GameEngine.Judge c -> {
+                out.writeByte(JUDGE);
+                out.writeBoolean(c.correct());
+            }
+            case GameEngine.NoBuzz _ -> out.writeByte(NO_BUZZ);
+            case GameEngine.CloseClue _ -> out.writeByte(CLOSE_CLUE);
+            case GameEngine.AdjustScore c -> {
+                out.writeByte(ADJUST_SCORE);
+                out.writeInt(c.contestant());
+                out.writeInt(c.score());
+            }
+            case GameEngine.StartFinal _ -> out.writeByte(START_FINAL);
+            case GameEngine.FinalWager c -> {
+                out.writeByte(FINAL_WAGER);
+                out.writeInt(c.contestant());
+                out.writeInt(c.amount());
+            }
+            case GameEngine.FinalJudge c -> {
+                out.writeByte(FINAL_JUDGE);
+                out.writeInt(c.contestant());
+                out.writeBoolean(c.correct());
+            }
+        }
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case DEALT -> {
+                String file = in.readUTF();
+                long crc = in.readLong();
+                int dd = in.readInt();
+                int n = readCount(in);
+                List<String> categories = new ArrayList<>(n);
+                List<int[]> columns = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    categories.add(in.readUTF());
+                    columns.add(readInts(in));
+                }
+                yield new Dealt(file, crc, dd, categories, columns);
+            }
+            case NAMED -> {
+                String[] names = new String[readCount(in)];
+                for (int i = 0; i < names.length; i++) names[i] = in.readUTF();
+                yield new Named(names);
+            }
+            case UNDONE -> new Undone();
+            case NEW_BOARD -> new Played(new GameEngine.NewBoard(readInts(in), readInts(in)));
+            case RESET_SCORES -> new Played(new GameEngine.ResetScores());
+            case OPEN_CLUE -> new Played(new GameEngine.OpenClue(in.readInt()));
+            case WAGER -> new Played(new GameEngine.Wager(in.readInt(), in.readInt()));
+            case BUZZ -> new Played(new GameEngine.Buzz(in.readInt()));
+            case PASS -> new Played(new GameEngine.Pass());
+            case JUDGE -> new Played(new GameEngine.Judge(in.readBoolean()));
+            case NO_BUZZ -> new Played(new GameEngine.NoBuzz());
+            case CLOSE_CLUE -> new Played(new GameEngine.CloseClue());
+            case ADJUST_SCORE -> new Played(new GameEngine.AdjustScore(in.readInt(), in.readInt()));
+            case START_FINAL -> new Played(new GameEngine.StartFinal());
+            case FINAL_WAGER -> new Played(new GameEngine.FinalWager(in.readInt(), in.readInt()));
+            case FINAL_JUDGE -> new Played(new GameEngine.FinalJudge(in.readInt(), in.readBoolean()));
+            // Garbage where an entry should start: most likely a torn write, so stop reading here
+            default -> throw new EOFException("Unknown journal entry " + tag);
+        };
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int v : values) out.writeInt(v);
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int n = readCount(in);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = in.readInt();
+        return values;
+    }
+
+    /** A length prefix; a wild one means a torn tail, so it ends the read like one. */
+    private static int readCount(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0 || n > 1 << 20) throw new EOFException("Bad array length " + n);
+        return n;
+    }
+}
@@ -0,0 +1,332 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays synthetic games through {@link GameEngine} to compare rule settings: where the Daily
+ * Double goes, the minimum Daily Double wager cap, and the order Final Jeopardy is played in.
+ *
+ * Contestants follow a {@link Skill}: how often they know an answer (less often further down a
+ * column) and how quickly they buzz. Whoever answers correctly picks next, at random; Daily
+ * Double wagers follow Kelly sizing on the contestant's own odds, and Final Jeopardy wagers
+ * protect a lead against everyone still to play (or bet everything when behind).
+ *
+ * Games are split into chunks on the common fork/join pool, each with its own
+ * {@link SplittableRandom} split from the seed, so a run is reproducible for a given seed and
+ * chunk count. A chunk reuses one engine and a handful of arrays for all its games.
+ *
+ * Usage: {@code java GameSimulator [games=200000] [seed=42] [skills=0.75:1,0.6:1,0.5:1.2]
+ * [caps=1000,2000] [placements=uniform,bottom] [finals=lowest,highest,sealed]}
+ */
+final class GameSimulator {
+    static final int COLUMNS = 6, ROWS = 5;
+    private static final int CLUES = COLUMNS * ROWS;
+    private static final double ROW_DIFFICULTY = 0.1;  // each row down is 10% less likely to be known
+    private static final double BLUFF = 0.05;          // chance of buzzing without knowing
+    private static final double FINAL_DIFFICULTY = 0.8;
+    // Daily Double row frequencies on the TV show, top to bottom
+    private static final int[] BOTTOM_ROW_WEIGHTS = {0, 9, 26, 39, 26};
+
+    /** {@code accuracy}: chance of knowing a top-row clue. {@code speed}: relative buzzer speed. */
+    record Skill(double accuracy, double speed) {}
+
+    enum Placement { UNIFORM, BOTTOM_ROWS }
+
+    enum FinalOrder {
+        /** As the app plays it: lowest score first, each wager placed knowing earlier results. */
+        LOWEST_FIRST,
+        HIGHEST_FIRST,
+        /** Everyone wagers on the pre-Final scores, as on TV. */
+        SEALED
+    }
+
+    record Config(int dailyDoubleCap, Placement placement, FinalOrder finalOrder) {}
+
+    /** Tallies for a batch of games; chunks merge into one. */
+    static final class Result {
+        final long[] wins;
+        long games, ties, winningScoreSum, dailyDoubles, dailyDoubleWagerSum, finalLeadChanges;
+
+        Result(int contestants) {
+            wins = new long[contestants];
+        }
+
+        Result merge(Result o) {
+            for (int i = 0; i < wins.length; i++) wins[i] += o.wins[i];
+            games += o.games;
+            ties += o.ties;
+            winningScoreSum += o.winningScoreSum;
+            dailyDoubles += o.dailyDoubles;
+            dailyDoubleWagerSum += o.dailyDoubleWagerSum;
+            finalLeadChanges += o.finalLeadChanges;
+            return this;
+        }
+
+        double winProbability(int contestant) {
+            return (double) wins[contestant] / games;
+        }
+
+        /** Half-width of the 95% confidence interval of {@link #winProbability}. */
+        double margin(int contestant) {
+            double p = winProbability(contestant);
+            return 1.96 * Math.sqrt(p * (1 - p) / games);
+        }
+    }
+
+    /** Runs {@code games} games of one configuration on all cores. */
+    static Result run(Config config, Skill[] skills, long games, long seed) {
+        int chunks = Math.max(1, ForkJoinPool.getCommonPoolParallelism()) * 4;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) rngs[c] = root.split();
+
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> new Table(config, skills, rngs[c])
+                        .play(games / chunks + (c < games % chunks ? 1 : 0)))
+                .reduce(Result::merge)
+                .orElseThrow();
+    }
+
+    /** One worker's game state, reused for every game it plays. */
+    private static final class Table {
+        private final Config config;
+        private final Skill[] skills;
+        private final SplittableRandom rng;
+        private final GameEngine engine;
+        private final int n;
+        private final int[] values = new int[CLUES];
+        private final int[] dailyDouble = new int[1];
+        private final int[] unplayed = new int[CLUES];
+        private final boolean[] knows, attempted, resolved;
+        private final int[] order, preFinal;
+
+        Table(Config config, Skill[] skills, SplittableRandom rng) {
+            this.config = config;
+            this.skills = skills;
+            this.rng = rng;
+            this.n = skills.length;
+            this.engine = new GameEngine(n, config.dailyDoubleCap());
+            for (int slot = 0; slot < CLUES; slot++) values[slot] = (slot / COLUMNS + 1) * 200;
+            knows = new boolean[n];
+            attempted = new boolean[n];
+            resolved = new boolean[n];
+            order = new int[n];
+            preFinal = new int[n];
+        }
+
+        Result play(long games) {
+            Result r = new Result(n);
+            for (long g = 0; g < games; g++) playOne(r);
+            return r;
+        }
+
+        private void playOne(Result r) {
+            engine.resetScores();
+            dailyDouble[0] = placeDailyDouble();
+            engine.newBoard(values, dailyDouble);
+            for (int i = 0; i < CLUES; i++) unplayed[i] = i;
+
+            int control = rng.nextInt(n);
+            for (int k = 0; k < CLUES; k++) {
+                int pick = k + rng.nextInt(CLUES - k);
+                int slot = unplayed[pick];
+                unplayed[pick] = unplayed[k];
+                unplayed[k] = slot;
+
+                engine.openClue(slot);
+                int row = slot / COLUMNS;
+                if (engine.phase() == GameEngine.Phase.DAILY_DOUBLE) {
+                    double p = chance(control, row);
+                    int most = Math.max(config.dailyDoubleCap(), engine.score(control));
+                    engine.wager(control, (int) Math.round(most * Math.max(0, 2 * p - 1)));
+                    r.dailyDoubles++;
+                    r.dailyDoubleWagerSum += engine.stake();
+                    engine.judge(rng.nextDouble() < p);
+                } else {
+                    control = playOpenClue(row, control);
+                }
+                engine.closeClue();
+            }
+            int leaderBeforeFinal = leaderOrTie();
+            playFinal();
+
+            int winner = leaderOrTie();
+            r.games++;
+            if (winner < 0) {
+                r.ties++;
+            } else {
+                r.wins[winner]++;
+                r.winningScoreSum += engine.score(winner);
+                if (winner != leaderBeforeFinal) r.finalLeadChanges++;
+            }
+        }
+
+        /** Buzzing until someone is right or nobody else tries; returns who picks next. */
+        private int playOpenClue(int row, int control) {
+            for (int i = 0; i < n; i++) {
+                knows[i] = rng.nextDouble() < chance(i, row);
+                attempted[i] = !(knows[i] || rng.nextDouble() < BLUFF); // not buzzing counts as done
+            }
+            while (true) {
+                int buzzer = fastestBuzzer();
+                if (buzzer < 0) {
+                    engine.noBuzz();
+                    return control;
+                }
+                engine.buzz(buzzer);
+                engine.judge(knows[buzzer]);
+                if (knows[buzzer]) return buzzer;
+                attempted[buzzer] = true;
+            }
+        }
+
+        /** Among those still trying, the winner of the buzzer race, weighted by speed; -1 if none. */
+        private int fastestBuzzer() {
+            double total = 0;
+            for (int i = 0; i < n; i++) if (!attempted[i]) total += skills[i].speed();
+            if (total == 0) return -1;
+            double x = rng.nextDouble() * total;
+            int last = -1;
+            for (int i = 0; i < n; i++) {
+                if (attempted[i]) continue;
+                last = i;
+                x -= skills[i].speed();
+                if (x < 0) return i;
+            }
+            return last;
+        }
+
+        private void playFinal() {
+            for (int i = 0; i < n; i++) {
+                preFinal[i] = engine.score(i);
+                resolved[i] = false;
+            }
+            engine.startFinal();
+            engine.finalOrder(order);
+            if (config.finalOrder() == FinalOrder.HIGHEST_FIRST) {
+                for (int a = 0, b = n - 1; a < b; a++, b--) {
+                    int t = order[a];
+                    order[a] = order[b];
+                    order[b] = t;
+                }
+            }
+            for (int i : order) {
+                if (!engine.canPlayFinal(i)) continue;
+                engine.finalWager(i, finalWager(i));
+                engine.finalJudge(i, rng.nextDouble() < skills[i].accuracy() * FINAL_DIFFICULTY);
+                resolved[i] = true;
+            }
+        }
+
+        /** Keeps a lead safe against the best anyone else can still reach; all in when behind. */
+        private int finalWager(int contestant) {
+            boolean sealed = config.finalOrder() == FinalOrder.SEALED;
+            int own = engine.score(contestant);
+            int threat = Integer.MIN_VALUE;
+            for (int j = 0; j < n; j++) {
+                if (j == contestant) continue;
+                boolean known = !sealed && resolved[j];
+                int s = sealed ? preFinal[j] : engine.score(j);
+                if (!known && s > 0) s *= 2;
+                threat = Math.max(threat, s);
+            }
+            return own > threat ? own - threat - 1 : own;
+        }
+
+        private int placeDailyDouble() {
+            if (config.placement() == Placement.UNIFORM) return GameEngine.placeDailyDouble(CLUES, rng);
+            int x = rng.nextInt(100), row = 0;
+            while (x >= BOTTOM_ROW_WEIGHTS[row]) x -= BOTTOM_ROW_WEIGHTS[row++];
+            return row * COLUMNS + rng.nextInt(COLUMNS);
+        }
+
+        private double chance(int contestant, int row) {
+            return skills[contestant].accuracy() * (1 - ROW_DIFFICULTY * row);
+        }
+
+        /** The sole leader, or -1 on a tie for first. */
+        private int leaderOrTie() {
+            int best = engine.leader();
+            for (int i = 0; i < n; i++)
+                if (i != best && engine.score(i) == engine.score(best)) return -1;
+            return best;
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = 200_000, seed = 42;
+        Skill[] skills = {new Skill(0.75, 1.0), new Skill(0.6, 1.0), new Skill(0.5, 1.2)};
+        List<Integer> caps = List.of(1000, 2000);
+        List<Placement> placements = List.of(Placement.UNIFORM, Placement.BOTTOM_ROWS);
+        List<FinalOrder> finals = List.of(FinalOrder.values());
+
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Expected key=value: " + arg);
+            String[] items = kv[1].split(",");
+            switch (kv[0]) {
+                case "games" -> games = Long.parseLong(kv[1]);
+                case "seed" -> seed = Long.parseLong(kv[1]);
+                case "skills" -> {
+                    skills = new Skill[items.length];
+                    for (int i = 0; i < items.length; i++) {
+                        String[] as = items[i].split(":");
+                        skills[i] = new Skill(Double.parseDouble(as[0]), as.length > 1 ? Double.parseDouble(as[1]) : 1.0);
+                    }
+                }
+                case "caps" -> caps = Arrays.stream(items).map(Integer::valueOf).toList();
+                case "placements" -> placements = Arrays.stream(items)
+                        .map(s -> s.equalsIgnoreCase("bottom") ? Placement.BOTTOM_ROWS : Placement.valueOf(s.toUpperCase(Locale.ROOT)))
+                        .toList();
+                case "finals" -> finals = Arrays.stream(items)
+                        .map(s -> switch (s.toLowerCase(Locale.ROOT)) {
+                            case "lowest" -> FinalOrder.LOWEST_FIRST;
+                            case "highest" -> FinalOrder.HIGHEST_FIRST;
+                            case "sealed" -> FinalOrder.SEALED;
+                            default -> FinalOrder.valueOf(s.toUpperCase(Locale.ROOT));
+                        })
+                        .toList();
+                default -> throw new IllegalArgumentException("Unknown option " + kv[0]);
+            }
+        }
+
+        List<Config> configs = new ArrayList<>();
+        for (int cap : caps)
+            for (Placement p : placements)
+                for (FinalOrder f : finals) configs.add(new Config(cap, p, f));
+
+        System.out.printf("%d games per setting, %d contestants, %d-way parallel, seed %d%n",
+                games, skills.length, ForkJoinPool.getCommonPoolParallelism(), seed);
+        for (int i = 0; i < skills.length; i++)
+            System.out.printf("  contestant %d: accuracy %.2f, speed %.2f%n", i + 1, skills[i].accuracy(), skills[i].speed());
+        System.out.println();
+
+        StringBuilder header = new StringBuilder(String.format("%-6s %-11s %-13s", "cap", "DD rows", "final order"));
+        for (int i = 0; i < skills.length; i++) header.append(String.format(" %15s", "P(win " + (i + 1) + ")"));
+        header.append(String.format(" %7s %9s %8s %9s %10s", "ties", "avg win$", "avg DD$", "FJ flips", "games/s"));
+        System.out.println(header);
+
+        for (Config config : configs) {
+            long t0 = System.nanoTime();
+            Result r = run(config, skills, games, seed);
+            double secs = (System.nanoTime() - t0) / 1e9;
+
+            StringBuilder row = new StringBuilder(String.format("%-6d %-11s %-13s",
+                    config.dailyDoubleCap(), config.placement(), config.finalOrder()));
+            for (int i = 0; i < skills.length; i++)
+                row.append(String.format(" %8.2f%%+-%.2f", 100 * r.winProbability(i), 100 * r.margin(i)));
+            long decided = r.games - r.ties;
+            row.append(String.format(" %6.2f%% %9.0f %8.0f %8.2f%% %10.0f",
+                    100.0 * r.ties / r.games,
+                    decided == 0 ? 0.0 : (double) r.winningScoreSum / decided,
+                    r.dailyDoubles == 0 ? 0.0 : (double) r.dailyDoubleWagerSum / r.dailyDoubles,
+                    100.0 * r.finalLeadChanges / r.games,
+                    r.games / secs));
+            System.out.println(row);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Makes the game's HTTP servers (spectators, control), so settings the JDK server reads only
+ * once are in place before whichever of them comes first.
+ */
+final class HttpServers {
+    static {
+        // The JDK server writes headers and body separately; with Nagle on, the body waits for
+        // the client's delayed ACK of the headers, some 40 ms. Read once, by the first server made.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private HttpServers() {}
+
+    /** An unstarted server on {@code port} of every interface, 0 for any free port. */
+    static HttpServer create(int port, int backlog) throws IOException {
+        return HttpServer.create(new InetSocketAddress(port), backlog);
+    }
+}
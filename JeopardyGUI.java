@@ -1,74 +1,148 @@
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 public class JeopardyGUI {
     private JFrame frame;
     private JPanel boardPanel, scorePanel;
+    private SceneManager scenes;
+    private JPanel boardScene; // board + score panel
     private final Map<String, List<Clue>> byCategory = new LinkedHashMap<>();
     private final List<String> categoryOrder = new ArrayList<>();
     private final List<Clue>  allClues= new ArrayList<>();
-    private final Contestant[] contestants = new Contestant[3];
+    private final Contestant[] contestants;
+    private final GameEngine engine;
+    // Above this many contestants, a leaderboard and searchable pickers replace the per-contestant panels and buttons
+    private static final int CLASSIC_MAX_CONTESTANTS = 6;
+    private static final int FINALE_PLACES = 5; // places the finale shows in a crowd game; a classic one shows every seat
+    private final boolean crowd;
+    private Leaderboard leaderboard;
+    private ContestantPicker buzzPicker, ddPicker;
     private Clue finalJeopardyClue = null;
-    private final Random rand = new Random();
+    // -Djeopardy.seed=<n> makes board draws and Daily Double placement reproducible, given the same <pack>.used state
+    private final Random rand = Long.getLong("jeopardy.seed") != null ? new Random(Long.getLong("jeopardy.seed")) : new Random();
+    private SwingWorker<ClueBank, Void> loadTask;
+    private JFileChooser chooser; // slow to build (it scans the directory), so only made when first needed
+    private File clueFile; // where the board's clues came from, for the journal
+    private ClueStore clueStore;
+    private BoardDrawer boardDrawer;
+
+    // Banks bigger than this are treated as a pool to draw a board from
+    static final int MAX_FULL_BOARD_CATEGORIES = 12;
+    static final int BOARD_CATEGORIES = 6;
+
+    // Board rendering: "grid" (a JButton per tile), "canvas" (one BoardCanvas), or "auto",
+    // which switches to the canvas once the board has more tiles than a normal game
+    private static final String BOARD_RENDERER = System.getProperty("jeopardy.board", "auto");
+    private static final int CANVAS_BOARD_TILES = 60;
+
+    // -Djeopardy.journal=<file> moves the game journal; an empty value turns it off
+    private static final String JOURNAL_PATH = System.getProperty("jeopardy.journal",
+            new File(System.getProperty("user.home"), ".jeopardy-journal").getPath());
+    private static final int REPLAY_STEP_MILLIS = 100;
+    private GameJournal journal;
+    private final List<GameJournal.Entry> history = new ArrayList<>(); // the journal, with undos applied
+    private boolean replaying; // rebuilding state from the journal: record nothing
+
+    // -Djeopardy.buzzerPort=<port> takes buzzes from the network; -Djeopardy.buzzerStats=true prints their latency
+    private static final int BUZZER_PORT = Integer.getInteger("jeopardy.buzzerPort", 0);
+    private static final boolean BUZZER_STATS = Boolean.getBoolean("jeopardy.buzzerStats");
+    private BuzzerServer buzzers; // null unless network buzzers are on
+    // -Djeopardy.spectatorPort=<port> streams the board to spectators over HTTP
+    private static final int SPECTATOR_PORT = Integer.getInteger("jeopardy.spectatorPort", 0);
+    private SpectatorFeed spectators; // null unless spectators are on
+    // -Djeopardy.controlPort=<port> lets a tablet drive the game over HTTP
+    private static final int CONTROL_PORT = Integer.getInteger("jeopardy.controlPort", 0);
+    static final int DEFAULT_WIDTH = 1100, DEFAULT_HEIGHT = 750;
+
+    private static final Executor CLUE_PREFETCH = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "clue-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
 
     // Colors and fonts
     private final Color darkBlue = new Color(0, 0, 128);
     private final Color gold = new Color(255, 215, 0);
     private final Color highlightBlue = new Color(30, 30, 60);
+    private static final Color DEFAULT_BUTTON_BASE = new Color(0, 0, 100);
+    private static final Color BOARD_TOP = new Color(0, 0, 90);
+    private static final Color BOARD_BOTTOM = new Color(20, 20, 140);
+    private static final Color FINALE_TOP = new Color(0, 0, 70);
+    private static final Color FINALE_BOTTOM = new Color(15, 15, 120);
+    private static final Color SHIMMER_GOLD = new Color(255, 215, 0, 60);
+
+    private static final String SCENE_BOARD = "board";
+    private static final String SCENE_DAILY_DOUBLE = "dailyDouble";
+    private static final String SCENE_QUESTION = "question";
+    private static final String SCENE_ANSWER = "answer";
+    private static final String SCENE_WINNER = "winner";
+    private static final String SCENE_FJ_CATEGORY = "finalCategory";
+    private static final String SCENE_FJ_QUESTION = "finalQuestion";
+    private static final String SCENE_FINALE = "finale";
+    private static final String BAR_BUZZ = "buzz";
+    private static final String BAR_OPTIONS = "options";
+    private static final String BAR_CONFIRM = "confirm";
+    private static final String BAR_DD_CHOOSER = "ddChooser";
+    private static final String BAR_DD_JUDGE = "ddJudge";
+
+    // ===== Screen state, bound to whichever clue is in play =====
+    private Clue currentClue;
+    private Contestant answeringContestant;
+    private JLabel confirmPrompt, winnerLabel, finaleWinnerLabel;
+    private ClueTextView questionView, answerView, finalCategoryView, finalQuestionView;
+    private JLabel[] finaleScoreLabels;
+    private JPanel questionBars, finaleScoresPanel;
+    private final CardLayout questionBarCards = new CardLayout();
+    private JButton[] buzzButtons, ddChooserButtons;
+    private String questionBar = BAR_BUZZ; // the one showing under the question
+    private Runnable[] tileDimmers = new Runnable[0]; // by clue slot, for opening a clue without a click
+    private AnimationClock.Handle sceneDelay, shimmer, reveal; // timed scene change, finale animations
+    private AnimationClock.Animation shimmerStep, revealNext;
+    private int revealStep;
 
     private Font getGameFont(int size, boolean bold) {
-        int style = bold ? Font.BOLD : Font.PLAIN;
-        Font f = new Font("Arial Black", style, size);
-        if (!f.getFamily().equalsIgnoreCase("Arial Black")) {
-            f = new Font("Serif", style, size);
-        }
-        return f;
+        // Shared instances, snapped to FontCache's size buckets
+        return FontCache.game(bold ? Font.BOLD : Font.PLAIN, size);
     }
-    private Font getScaledFont(double scaleFactor, int minSize) {
-        int size = Math.max((int)(frame.getHeight() * scaleFactor), minSize);
-        return getGameFont(size, true);
+    /** Sizes {@code c}'s font for its role now and whenever the window is resized. */
+    private void setRoleFont(JComponent c, FontRole role) {
+        ResizePipeline.assign(c, role, screenHeight());
     }
 
     private JButton createGameButton(String text, int fontSize, Color bgColor, Color fgColor) {
         JButton btn = new JButton(text) {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                int w = getWidth(), h = getHeight();
-
-                // Use provided color or default dark blue base
-                Color base = (bgColor != null) ? bgColor : new Color(0, 0, 100);
-                Color top = base.brighter();
-                Color bottom = base.darker();
+                // Use provided color or default dark blue base; rollover brightens it.
+                // Cached gradient + soft border, so a hover repaint is just a blit
+                Color base = (bgColor != null) ? bgColor : DEFAULT_BUTTON_BASE;
+                RenderCache.drawButton(g, this, base, getModel().isRollover());
 
-                // Gradient fill
-                GradientPaint gp = new GradientPaint(0, 0, top, 0, h, bottom);
-                g2.setPaint(gp);
-                g2.fillRoundRect(0, 0, w, h, 25, 25);
-
-                // Soft border
-                g2.setColor(new Color(255, 255, 255, 60));
-                g2.drawRoundRect(1, 1, w - 3, h - 3, 25, 25);
-
-                super.paintComponent(g2);
-                g2.dispose();
+                super.paintComponent(g);
             }
         };
 
-        btn.setFont(new Font("Arial Black", Font.BOLD, fontSize));
+        btn.setFont(FontCache.get("Arial Black", Font.BOLD, fontSize));
         btn.setForeground(fgColor != null ? fgColor : Color.WHITE);
         btn.setOpaque(false);
         btn.setContentAreaFilled(false);
@@ -76,45 +150,159 @@ public class JeopardyGUI {
         btn.setFocusPainted(false);
         btn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 
-        // Subtle hover brighten effect
-        Color baseBg = (bgColor != null) ? bgColor : new Color(0, 0, 100);
-        btn.addMouseListener(new java.awt.event.MouseAdapter() {
-            @Override
-            public void mouseEntered(java.awt.event.MouseEvent e) {
-                btn.setBackground(baseBg.brighter());
-            }
+        return btn;
+    }
 
-            @Override
-            public void mouseExited(java.awt.event.MouseEvent e) {
-                btn.setBackground(baseBg);
-            }
-        });
 
-        return btn;
+    public JeopardyGUI() {
+        this(3);
     }
 
+    JeopardyGUI(int contestantCount) {
+        contestants = new Contestant[contestantCount];
+        engine = new GameEngine(contestantCount);
+        crowd = contestantCount > CLASSIC_MAX_CONTESTANTS;
+    }
 
     public void start() {
+        start(LaunchOptions.INTERACTIVE, null);
+    }
+
+    /**
+     * Opens the game window. With a clue file already loading ({@code preloaded}) the frame is
+     * built meanwhile and the board appears when the bank is ready; with names given there are no
+     * name prompts. Whatever the options leave out is asked for as usual.
+     */
+    void start(LaunchOptions options, CompletableFuture<ClueBank> preloaded) {
         // Unified dialog theme
         UIManager.put("OptionPane.background", darkBlue);
         UIManager.put("Panel.background", darkBlue);
         UIManager.put("OptionPane.messageForeground", Color.WHITE);
+        EdtMonitor.installIfEnabled();
 
         frame = new JFrame("Jeopardy");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(1100, 750);
+        frame.setSize(DEFAULT_WIDTH, DEFAULT_HEIGHT);
         frame.setLocationRelativeTo(null);
-        frame.setLayout(new BorderLayout(10, 10));
-        frame.getContentPane().setBackground(darkBlue);
+        frame.setContentPane(buildScreens());
+
+        startSpectators();
+        if (options.replay() != null) {
+            ResizePipeline.install(frame);
+            frame.setVisible(true);
+            playBack(options.replay());
+            return;
+        }
+
+        boolean resumed = openJournal();
+        startBuzzers();
+        if (CONTROL_PORT > 0) {
+            try {
+                ControlServer control = startControl(CONTROL_PORT);
+                // The console, not the title: the window is on the projector for the whole room to read
+                System.out.println("Tablet control on port " + control.port() + ", PIN " + control.pin());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(frame, "Control API is off, port " + CONTROL_PORT + " unavailable: " + ex.getMessage());
+            }
+        }
+        if (!resumed) {
+            if (preloaded == null) loadCluesDialog(this::rebuildBoard);
+            if (options.names() != null) setContestantNames(options.names());
+            else getContestantNames();
+        }
+        ResizePipeline.install(frame);
+
+        frame.setVisible(true);
+        if (preloaded != null && !resumed)
+            preloaded.whenComplete((bank, err) -> SwingUtilities.invokeLater(() -> preloadDone(options, bank, err)));
+    }
+
+    /** Starts reading a clue file on its own thread, before there is any UI to show it on. */
+    private CompletableFuture<ClueBank> preload(File file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ClueBank bank = loadCluesFromCSV(file, _ -> {}, () -> false);
+                assignDailyDouble(bank.allClues);
+                return bank;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, r -> new Thread(r, "clue-preload").start());
+    }
+
+    private void preloadDone(LaunchOptions options, ClueBank bank, Throwable err) {
+        if (err != null) {
+            Throwable cause = err.getCause() != null ? err.getCause() : err;
+            JOptionPane.showMessageDialog(frame, "Failed to load " + options.clues() + ": " + cause.getMessage());
+            loadCluesDialog(this::rebuildBoard);
+            return;
+        }
+        applyClueBank(bank);
+        rebuildBoard();
+        scenes.afterNextPaint(() -> firstBoardPainted(options));
+        if (!options.exitAfterBoard()) notePool(bank);
+    }
+
+    /** A pool bank only ever shows part of itself, so the host is told rather than left wondering. */
+    private void notePool(ClueBank bank) {
+        if (bank.drawer == null) return;
+        int skipped = bank.store.categoryCount() - bank.drawer.eligibleCategories();
+        JOptionPane.showMessageDialog(frame, bank.source.getName() + " has " + bank.store.categoryCount()
+                + " categories, more than " + MAX_FULL_BOARD_CATEGORIES + " fit on one board.\nEach game deals "
+                + BOARD_CATEGORIES + " of them at random, skipping clues already played."
+                + (skipped > 0 ? "\n" + skipped + " categories with fewer than " + BoardDrawer.TIERS
+                        + " different values can't fill a column and are never dealt." : ""),
+                "Clue pool", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /** Time to first board: from process start to the first paint of a loaded board. */
+    private void firstBoardPainted(LaunchOptions options) {
+        ProcessHandle.current().info().startInstant().ifPresent(start -> {
+            long nanos = Duration.between(start, Instant.now()).toNanos();
+            EdtMonitor.record(EdtMonitor.STARTUP, nanos);
+            if (Boolean.getBoolean("jeopardy.startupTiming"))
+                System.err.printf("first board after %.0f ms%n", nanos / 1e6);
+        });
+        if (options.exitAfterBoard()) {
+            frame.dispose();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Builds every screen and returns the panel holding them. Needs no window, so benchmarks can
+     * build and paint the screens headless.
+     */
+    JComponent buildScreens() {
+        engine.addListener(e -> {
+            if (e instanceof GameEngine.ScoreChanged sc) scoreChanged(sc.contestant(), sc.score());
+            if (spectators != null) {
+                switch (e) {
+                    case GameEngine.ClueOpened co -> spectators.clueOpened(co.clue(), co.value());
+                    case GameEngine.ClueClosed cc -> spectators.clueClosed(cc.clue());
+                    case GameEngine.ScoreChanged sc -> spectators.score(sc.contestant(), sc.score());
+                    default -> {}
+                }
+            }
+        });
+        scenes = new SceneManager(darkBlue);
+        boardScene = new JPanel(new BorderLayout(10, 10));
+        boardScene.setBackground(darkBlue);
+        scenes.add(SCENE_BOARD, boardScene);
 
         createScorePanel();
         createBoardPlaceholder();
-        loadCluesDialog();
-        getContestantNames();
-        rebuildBoard();
-        enableDynamicFontScaling(boardPanel);
+        buildScenes();
+        return scenes.root();
+    }
 
-        frame.setVisible(true);
+    GameEngine engine() {
+        return engine;
+    }
+
+    /** Height the role fonts are sized for: the window's, or the default size when there is none. */
+    private int screenHeight() {
+        return frame != null ? frame.getHeight() : DEFAULT_HEIGHT;
     }
 
     private void createScorePanel() {
@@ -124,7 +312,7 @@ public class JeopardyGUI {
         scorePanel.setBackground(darkBlue);
         scorePanel.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(Color.WHITE),
-                "Scores", 0, 0, new Font("SansSerif", Font.BOLD, 18), Color.WHITE));
+                "Scores", 0, 0, FontCache.get("SansSerif", Font.BOLD, 18), Color.WHITE));
 
         // Top buttons
         JButton fjBtn = createGameButton("Final Jeopardy", 18, null, null);
@@ -136,24 +324,28 @@ public class JeopardyGUI {
         JButton adjustBtn = createGameButton("Adjust Score", 18, null, null);
         adjustBtn.addActionListener(_ -> adjustScoreDialog());
 
+        JButton undoBtn = createGameButton("Undo", 18, null, null);
+        undoBtn.addActionListener(_ -> undoLastTurn());
+
         JButton newGameBtn = createGameButton("New Game", 18, null, null);
         newGameBtn.addActionListener(_ -> {
             int confirm = JOptionPane.showConfirmDialog(frame,
                     "Start a new game? All scores and board progress will be reset.",
                     "Confirm Reset", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                loadCluesDialog();
-                rebuildBoard();
-                for (Contestant c : contestants) c.score = 0;
-                updateScoreLabels();
+                loadCluesDialog(() -> {
+                    rebuildBoard();
+                    engine.resetScores();
+                });
             }
         });
 
         JPanel controlGroup = new JPanel();
-        controlGroup.setLayout(new GridLayout(3, 1, 6, 6));
+        controlGroup.setLayout(new GridLayout(4, 1, 6, 6));
         controlGroup.setBackground(darkBlue);
         controlGroup.add(fjBtn);
         controlGroup.add(adjustBtn);
+        controlGroup.add(undoBtn);
         controlGroup.add(newGameBtn);
         controlGroup.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(Color.WHITE, 1),
@@ -162,48 +354,68 @@ public class JeopardyGUI {
         scorePanel.add(controlGroup);
         scorePanel.add(Box.createVerticalStrut(20));
 
-        for (int i = 0; i < contestants.length; i++) {
-            contestants[i] = new Contestant("Contestant " + (i + 1));
-            JPanel playerPanel = createContestantPanel(contestants[i]);
-            scorePanel.add(playerPanel);
-            scorePanel.add(Box.createVerticalStrut(8));
+        for (int i = 0; i < contestants.length; i++) contestants[i] = new Contestant(i, "Contestant " + (i + 1));
+        if (crowd) {
+            leaderboard = new Leaderboard(contestants.length, seat -> contestants[seat].name, highlightBlue, gold);
+            scorePanel.add(leaderboard);
+        } else {
+            for (Contestant c : contestants) {
+                scorePanel.add(createContestantPanel(c));
+                scorePanel.add(Box.createVerticalStrut(8));
+            }
         }
 
-        frame.add(scorePanel, BorderLayout.EAST);
+        boardScene.add(scorePanel, BorderLayout.EAST);
     }
 
     private JPanel createContestantPanel(Contestant c) {
-        JPanel p = new JPanel(new BorderLayout());
+        JPanel p = new JPanel(new GridLayout(2, 1));
         p.setBackground(highlightBlue);
-        p.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-        c.scoreLabel = new JLabel("<html><center>" + c.name + "<br>$" + c.score + "</center></html>", SwingConstants.CENTER);
-        c.scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 22));
-        c.scoreLabel.setForeground(gold);
-        p.add(c.scoreLabel, BorderLayout.CENTER);
+        p.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.BLACK, 2),
+                BorderFactory.createEmptyBorder(4, 0, 4, 0)));
+        // Plain labels, not one HTML label: a score change is then new text, not an HTML parse
+        c.nameLabel = scoreLine(c.name);
+        c.scoreLabel = scoreLine("$" + c.score());
+        p.add(c.nameLabel);
+        p.add(c.scoreLabel);
         return p;
     }
 
+    private JLabel scoreLine(String text) {
+        JLabel line = new JLabel(text, SwingConstants.CENTER);
+        line.setFont(FontCache.get("SansSerif", Font.BOLD, 22));
+        line.setForeground(gold);
+        return line;
+    }
+
     private void createBoardPlaceholder() {
         boardPanel = new JPanel(new BorderLayout());
         boardPanel.setBackground(darkBlue);
         JLabel label = new JLabel("<html><center><font color='white'>Load a CSV file to start the game.</font></center></html>", SwingConstants.CENTER);
-        label.setFont(new Font("SansSerif", Font.BOLD, 18));
+        label.setFont(FontCache.get("SansSerif", Font.BOLD, 18));
         boardPanel.add(label, BorderLayout.CENTER);
-        frame.add(boardPanel, BorderLayout.CENTER);
+        boardScene.add(boardPanel, BorderLayout.CENTER);
     }
 
     private void adjustScoreDialog() {
         Object[] options = Arrays.stream(contestants).map(c -> c.name).toArray();
-        int choice = JOptionPane.showOptionDialog(frame, "Whose score to adjust?", "Adjust Score",
-                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        int choice;
+        if (crowd) {
+            // Too many for a button each: a drop-down
+            Object picked = JOptionPane.showInputDialog(frame, "Whose score to adjust?", "Adjust Score",
+                    JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+            choice = Arrays.asList(options).indexOf(picked);
+        } else {
+            choice = JOptionPane.showOptionDialog(frame, "Whose score to adjust?", "Adjust Score",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        }
         if (choice >= 0) {
             Contestant selected = contestants[choice];
             String newScoreStr = JOptionPane.showInputDialog(frame,
-                    "Enter new score for " + selected.name + ":", selected.score);
+                    "Enter new score for " + selected.name + ":", selected.score());
             if (newScoreStr != null && !newScoreStr.isBlank()) {
                 try {
-                    selected.score = Integer.parseInt(newScoreStr.trim());
-                    updateScoreLabels();
+                    engine.adjustScore(selected.index, Integer.parseInt(newScoreStr.trim()));
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(frame, "Invalid number. Score unchanged.", "Error", JOptionPane.ERROR_MESSAGE);
                 }
@@ -211,85 +423,290 @@ public class JeopardyGUI {
         }
     }
 
-    private void loadCluesDialog() {
-        JFileChooser chooser = new JFileChooser();
+    /**
+     * Lets the host pick a clue file and loads it in the background. {@code onLoaded} runs on
+     * the EDT once the new clues are on the model, or right away if the chooser is dismissed.
+     */
+    private void loadCluesDialog(Runnable onLoaded) {
+        if (chooser == null) chooser = new JFileChooser();
         if (chooser.showOpenDialog(frame) == JFileChooser.APPROVE_OPTION) {
+            loadCluesAsync(chooser.getSelectedFile(), onLoaded);
+        } else {
+            // Same bank again: a pool bank deals a fresh board, a fixed one starts over
+            if (boardDrawer != null) {
+                ClueBank bank = drawBoard(clueStore, boardDrawer);
+                assignDailyDouble(bank.allClues);
+                applyClueBank(bank);
+            } else {
+                // with the Daily Double somewhere new, not where the players saw it last game
+                for (Clue c : allClues) {
+                    c.setAsked(false);
+                    c.setDailyDouble(false);
+                }
+                assignDailyDouble(allClues);
+                dealToEngine();
+            }
+            onLoaded.run();
+        }
+    }
+
+    private void loadCluesAsync(File file, Runnable onLoaded) {
+        if (loadTask != null) loadTask.cancel(true);
+
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setStringPainted(true);
+        JButton cancelBtn = new JButton("Cancel");
+        JDialog progressDialog = new JDialog(frame, "Loading " + file.getName(), false);
+        progressDialog.setLayout(new BorderLayout(10, 10));
+        progressDialog.add(bar, BorderLayout.CENTER);
+        progressDialog.add(cancelBtn, BorderLayout.SOUTH);
+        progressDialog.setSize(360, 110);
+        progressDialog.setLocationRelativeTo(frame);
+
+        // Small banks finish before the dialog would even be noticed, so only show it if loading drags on
+        javax.swing.Timer showTimer = new javax.swing.Timer(300, _ -> progressDialog.setVisible(true));
+        showTimer.setRepeats(false);
+
+        long started = System.nanoTime();
+        SwingWorker<ClueBank, Void> task = new SwingWorker<>() {
+            @Override
+            protected ClueBank doInBackground() throws IOException {
+                ClueBank bank = loadCluesFromCSV(file, this::setProgress, this::isCancelled);
+                assignDailyDouble(bank.allClues);
+                return bank;
+            }
+
+            @Override
+            protected void done() {
+                showTimer.stop();
+                progressDialog.dispose();
+                if (loadTask == this) loadTask = null;
+                if (isCancelled()) return;
+                try {
+                    ClueBank bank = get();
+                    applyClueBank(bank);
+                    EdtMonitor.record(EdtMonitor.LOAD, System.nanoTime() - started);
+                    onLoaded.run();
+                    notePool(bank);
+                } catch (ExecutionException ex) {
+                    JOptionPane.showMessageDialog(frame, "Failed to load: " + ex.getCause().getMessage());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        task.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) bar.setValue((Integer) e.getNewValue());
+        });
+        cancelBtn.addActionListener(_ -> task.cancel(true));
+
+        loadTask = task;
+        showTimer.start();
+        task.execute();
+    }
+
+    /**
+     * Builds a fresh {@link ClueBank} from a clue file, using the cached {@link CluePack} next to
+     * it when that is still valid and compiling a new one otherwise. Safe to call off the EDT:
+     * nothing the board is showing is touched until {@link #applyClueBank} runs.
+     */
+    ClueBank loadCluesFromCSV(File file, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        CluePack pack = CluePack.openIfFresh(file);
+        if (pack == null) pack = compilePack(file, progress, cancelled);
+        if (pack == null) return new ClueBank(); // cancelled
+
+        ClueBank bank = clueBankFromStore(new ClueStore(pack));
+        bank.source = file;
+        progress.accept(100);
+        return bank;
+    }
+
+    /** The clue file's store alone, with no board drawn from it: for callers that deal their own. */
+    ClueStore openStore(File file) throws IOException {
+        CluePack pack = CluePack.openIfFresh(file);
+        if (pack == null) pack = compilePack(file, _ -> {}, () -> false);
+        return new ClueStore(pack);
+    }
+
+    /**
+     * Parses the CSV into a pack and maps it. The pack goes next to the CSV so the next load is
+     * instant; if that folder is read-only it goes to the CSV's fallback cache in the user's home,
+     * which the next load finds just the same. A CSV that changes while it is read is read again.
+     */
+    private CluePack compilePack(File file, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        for (int attempt = 0; ; attempt++) {
             try {
-                loadCluesFromCSV(chooser.getSelectedFile());
-                assignDailyDouble();
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(frame, "Failed to load: " + ex.getMessage());
+                return compilePackOnce(file, progress, cancelled);
+            } catch (ConcurrentModificationException changed) {
+                // Being saved by an editor, most likely; the parse may be half old, half new
+                if (attempt == 2) throw new IOException(file.getName() + " kept changing while it was read");
             }
         }
     }
 
-    private void loadCluesFromCSV(File file) throws IOException {
+    private CluePack compilePackOnce(File file, IntConsumer progress, BooleanSupplier cancelled) throws IOException {
+        CluePack.Builder packBuilder = new CluePack.Builder();
+        CluePack.SourceKey key = CluePack.SourceKey.of(file.toPath());
+        ClueFileParser.parse(file, new ClueFileParser.Sink() {
+            @Override
+            public void clue(String category, int value, String question, String answer) {
+                packBuilder.add(category, value, question, answer);
+            }
+
+            @Override
+            public void finalClue(String category, String question, String answer) {
+                packBuilder.setFinal(category, question, answer);
+            }
+        }, progress, cancelled);
+        if (cancelled.getAsBoolean()) return null;
+
+        key.crc = CluePack.crcOf(file.toPath());
+        CluePack.SourceKey after = CluePack.SourceKey.of(file.toPath());
+        if (after.size != key.size || after.mtime != key.mtime) throw new ConcurrentModificationException();
+        File packFile = CluePack.cacheFileFor(file);
+        try {
+            packBuilder.write(packFile, key);
+        } catch (IOException ex) {
+            System.err.println("Could not cache clue pack next to " + file + ": " + ex.getMessage());
+            packFile = CluePack.fallbackFileFor(file);
+            packBuilder.write(packFile, key);
+        }
+        return CluePack.open(packFile);
+    }
+
+    /**
+     * Makes {@link Clue} views for the board only, holding just category, value and store index.
+     * A normal clue file is played whole; a {@linkplain #poolDrawer pool} deals each game
+     * {@link #BOARD_CATEGORIES} fresh columns instead.
+     */
+    private ClueBank clueBankFromStore(ClueStore store) {
+        BoardDrawer drawer = poolDrawer(store);
+        if (drawer != null) return drawBoard(store, drawer);
+
+        ClueBank bank = newBankFor(store, null);
+        for (int c = 0; c < store.categoryCount(); c++) {
+            int[] column = new int[store.clueCount(c)];
+            for (int i = 0; i < column.length; i++) column[i] = store.firstClue(c) + i;
+            addBoardColumn(bank, store.categoryName(c), column);
+        }
+        return bank;
+    }
+
+    /**
+     * A drawer for {@code store} if it is a pool: more than {@link #MAX_FULL_BOARD_CATEGORIES}
+     * categories, and enough of them able to fill a column for a whole board. Null if the
+     * store is to be played whole, as a bank whose categories mostly can't be drawn from is.
+     */
+    static BoardDrawer poolDrawer(ClueStore store) {
+        if (store.categoryCount() <= MAX_FULL_BOARD_CATEGORIES) return null;
+        BoardDrawer drawer = new BoardDrawer(store);
+        return drawer.eligibleCategories() >= BOARD_CATEGORIES ? drawer : null;
+    }
+
+    private ClueBank drawBoard(ClueStore store, BoardDrawer drawer) {
+        ClueBank bank = newBankFor(store, drawer);
+        for (int[] column : drawer.draw(BOARD_CATEGORIES, rand))
+            addBoardColumn(bank, drawer.categoryName(column), column);
+        drawer.saveLater();
+        return bank;
+    }
+
+    private ClueBank newBankFor(ClueStore store, BoardDrawer drawer) {
+        ClueBank bank = new ClueBank();
+        bank.store = store;
+        bank.drawer = drawer;
+        CluePack pack = store.pack();
+        if (pack.hasFinal())
+            bank.finalJeopardyClue = new Clue(pack.finalCategory(), 0, pack.finalQuestion(), pack.finalAnswer());
+        return bank;
+    }
+
+    private void addBoardColumn(ClueBank bank, String cat, int[] storeIndices) {
+        ClueStore store = bank.store;
+        List<Clue> list = new ArrayList<>(storeIndices.length);
+        for (int i : storeIndices) {
+            Clue clue = new Clue(cat, store.value(i), null, null); // text is fetched when the tile is opened
+            clue.store = store;
+            clue.index = i;
+            // A pool recycles its clues once every one has been drawn; a new board starts clean
+            clue.setAsked(false);
+            clue.setDailyDouble(false);
+            list.add(clue);
+            bank.allClues.add(clue);
+        }
+        bank.categoryOrder.add(cat);
+        bank.byCategory.put(cat, list);
+    }
+
+    /** Swaps a finished bank into the board model and deals it. EDT only. */
+    void applyClueBank(ClueBank bank) {
+        installBank(bank);
+        dealToEngine();
+    }
+
+    /** Puts a bank's clues on the board model without telling the engine; clue slots follow {@code allClues}. */
+    private void installBank(ClueBank bank) {
         byCategory.clear();
+        byCategory.putAll(bank.byCategory);
         categoryOrder.clear();
+        categoryOrder.addAll(bank.categoryOrder);
         allClues.clear();
-        finalJeopardyClue = null;
-
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-            String line;
-            boolean inFinal = false;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                if (line.startsWith("# FinalJeopardy")) {
-                    inFinal = true;
-                    continue;
-                }
-                if (inFinal) {
-                    String[] parts = parseCSVLine(line);
-
-                    if (parts.length >= 4 && !parts[2].isBlank() && !parts[3].isBlank())
-                        finalJeopardyClue = new Clue(parts[0].trim(), 0, parts[2].trim(), parts[3].trim());
-                    break;
-                }
-                if (line.toLowerCase().contains("category")) continue;
-                String[] parts = parseCSVLine(line);
+        allClues.addAll(bank.allClues);
+        finalJeopardyClue = bank.finalJeopardyClue;
+        clueStore = bank.store;
+        boardDrawer = bank.drawer;
+        if (bank.source != null) clueFile = bank.source;
+        for (int i = 0; i < allClues.size(); i++) allClues.get(i).slot = i;
+    }
 
-                if (parts.length < 4 || parts[1].isBlank()) continue;
-                String cat = parts[0].trim();
-                int val = Integer.parseInt(parts[1].trim());
-                Clue clue = new Clue(cat, val, parts[2].trim(), parts[3].trim());
-                byCategory.computeIfAbsent(cat, k -> {
-                    categoryOrder.add(k);
-                    return new ArrayList<>();
-                }).add(clue);
-                allClues.add(clue);
-            }
+    /** Starts the engine on the current board. */
+    private void dealToEngine() {
+        int[] values = new int[allClues.size()];
+        int dailyDouble = -1;
+        for (int i = 0; i < values.length; i++) {
+            Clue c = allClues.get(i);
+            values[i] = c.value;
+            if (c.isDailyDouble()) dailyDouble = i;
+        }
+        if (clueStore != null && clueFile != null) {
+            List<int[]> columns = new ArrayList<>();
+            for (String cat : categoryOrder) columns.add(byCategory.get(cat).stream().mapToInt(c -> c.index).toArray());
+            record(new GameJournal.Dealt(clueFile.getAbsolutePath(), clueStore.pack().sourceCrc(), dailyDouble,
+                    List.copyOf(categoryOrder), columns));
         }
-        for (var cat : categoryOrder)
-            byCategory.get(cat).sort(Comparator.comparingInt(c -> c.value));
+        engine.newBoard(values, dailyDouble);
     }
 
-    private void assignDailyDouble() {
-        if (!allClues.isEmpty())
-            allClues.get(rand.nextInt(allClues.size())).isDailyDouble = true;
+    private void assignDailyDouble(List<Clue> clues) {
+        int slot = GameEngine.placeDailyDouble(clues.size(), rand);
+        if (slot >= 0) clues.get(slot).setDailyDouble(true);
     }
 
-    private void rebuildBoard() {
-        frame.remove(boardPanel);
+    void rebuildBoard() {
+        boardScene.remove(boardPanel);
+        publishBoard();
+        tileDimmers = new Runnable[allClues.size()];
 
         int categories = categoryOrder.size();
         int rows = byCategory.values().stream().mapToInt(List::size).max().orElse(5);
 
+        boolean canvas = switch (BOARD_RENDERER) {
+            case "canvas" -> true;
+            case "grid" -> false;
+            default -> categories * rows > CANVAS_BOARD_TILES;
+        };
+        if (canvas) {
+            rebuildCanvasBoard();
+            return;
+        }
+
         // ===== Custom gradient panel for the board background =====
         JPanel boardBackground = new JPanel(new BorderLayout()) {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                int width = getWidth();
-                int height = getHeight();
-
                 // Gentle vertical gradient (dark navy -> soft blue)
-                Color top = new Color(0, 0, 90);
-                Color bottom = new Color(20, 20, 140);
-                GradientPaint gp = new GradientPaint(0, 0, top, 0, height, bottom);
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, width, height);
+                RenderCache.drawVerticalGradient(g, this, BOARD_TOP, BOARD_BOTTOM);
             }
         };
         boardBackground.setBorder(BorderFactory.createLineBorder(Color.BLACK, 4));
@@ -301,8 +718,9 @@ public class JeopardyGUI {
 
         // ===== CATEGORY HEADERS =====
         for (String cat : categoryOrder) {
-            JLabel lbl = new JLabel("<html><center>" + wrapText(cat.toUpperCase(), 12) + "</center></html>", SwingConstants.CENTER);
-            lbl.setFont(getScaledFont(0.035, 20));
+            ClueTextView lbl = new ClueTextView();
+            lbl.setText(cat.toUpperCase());
+            setRoleFont(lbl, FontRole.HEADER);
             lbl.setForeground(Color.WHITE);
             lbl.setOpaque(true);
             lbl.setBackground(new Color(0, 0, 120));
@@ -320,28 +738,16 @@ public class JeopardyGUI {
                 if (r < list.size()) {
                     Clue clue = list.get(r);
                     JButton btn = createGameButton("$" + clue.value, 48, new Color(0, 0, 120), gold);
-                    btn.setFont(getScaledFont(0.04, 24));
+                    setRoleFont(btn, FontRole.TILE);
                     btn.setBackground(new Color(0, 0, 120));
                     btn.setForeground(gold);
                     btn.setFocusPainted(false);
                     btn.setBorder(BorderFactory.createLineBorder(new Color(10, 10, 60), 4));
                     btn.setMargin(new Insets(10, 10, 10, 10));
 
-                    // Subtle hover highlight
-                    Color baseColor = btn.getBackground();
-                    btn.addMouseListener(new java.awt.event.MouseAdapter() {
-                        @Override
-                        public void mouseEntered(java.awt.event.MouseEvent e) {
-                            btn.setBackground(baseColor.brighter());
-                        }
-
-                        @Override
-                        public void mouseExited(java.awt.event.MouseEvent e) {
-                            btn.setBackground(baseColor);
-                        }
-                    });
-
                     btn.addActionListener(_ -> showClue(clue, btn));
+                    tileDimmers[clue.slot] = () -> dimTile(btn);
+                    if (clue.asked()) dimTile(btn); // a restored or replayed board
                     grid.add(btn);
                 } else {
                     JPanel empty = new JPanel();
@@ -357,484 +763,345 @@ public class JeopardyGUI {
 
         boardPanel = boardBackground;
 
-        frame.add(boardPanel, BorderLayout.CENTER);
-        frame.revalidate();
-        frame.repaint();
+        boardScene.add(boardPanel, BorderLayout.CENTER);
+        boardScene.revalidate();
+        boardScene.repaint();
     }
 
+    /** Same board as the button grid, drawn by a single {@link BoardCanvas}. */
+    private void rebuildCanvasBoard() {
+        BoardCanvas[] canvas = new BoardCanvas[1];
+        canvas[0] = new BoardCanvas(categoryOrder, byCategory, FontRole.HEADER.fontFor(screenHeight()),
+                FontRole.TILE.fontFor(screenHeight()), clue -> showClue(clue, () -> canvas[0].tileChanged(clue)));
+        setRoleFont(canvas[0], FontRole.TILE);
+        for (Clue clue : allClues) tileDimmers[clue.slot] = () -> canvas[0].tileChanged(clue);
 
+        boardPanel = new JPanel(new BorderLayout());
+        boardPanel.setBackground(darkBlue);
+        boardPanel.add(canvas[0], BorderLayout.CENTER);
 
-    private void showClue(Clue clue, JButton sourceBtn) {
-        if (clue.asked) return;
-        clue.asked = true;
-        sourceBtn.setEnabled(false);
-        sourceBtn.setBackground(new Color(30, 30, 60)); // dim used clue
-        sourceBtn.setForeground(Color.GRAY);
-
-        // Remove hover listeners so the color doesn't change back
-        for (MouseListener ml : sourceBtn.getMouseListeners()) {
-            sourceBtn.removeMouseListener(ml);
-        }
-
-        if (clue.isDailyDouble) showDailyDouble(clue);
-        else displayQuestion(clue);
+        boardScene.add(boardPanel, BorderLayout.CENTER);
+        boardScene.revalidate();
+        boardScene.repaint();
     }
 
-    private void showDailyDouble(Clue clue) {
-        // Simple splash screen first
-        JPanel ddPanel = new JPanel(new BorderLayout());
-        ddPanel.setBackground(darkBlue);
-
-        JLabel ddLabel = new JLabel("DAILY DOUBLE!", SwingConstants.CENTER);
-        ddLabel.setFont(getScaledFont(0.12, 60));
-        ddLabel.setForeground(gold);
-        ddPanel.add(ddLabel, BorderLayout.CENTER);
 
-        frame.setContentPane(ddPanel);
-        frame.revalidate();
-        frame.repaint();
 
-        // Show splash briefly before showing contestant buttons inline
-        javax.swing.Timer ddTimer = new javax.swing.Timer(1500, _ -> {
-            // Transition into the inline contestant chooser version of the clue screen
-            showDailyDoubleInlineChooser(clue);
-        });
-        ddTimer.setRepeats(false);
-        ddTimer.start();
+    private void showClue(Clue clue, JButton sourceBtn) {
+        showClue(clue, () -> dimTile(sourceBtn));
     }
 
-    private void showDailyDoubleInlineChooser(Clue clue) {
-        JPanel questionPanel = new JPanel(new BorderLayout());
-        questionPanel.setBackground(darkBlue);
-
-        JLabel qLabel = new JLabel("<html><center>DAILY DOUBLE<br><br>Who found it?</center></html>", SwingConstants.CENTER);
-        qLabel.setFont(getGameFont(Math.max((int)(frame.getHeight() * 0.08), 48), false));
-        qLabel.setForeground(Color.WHITE);
-        qLabel.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
-        questionPanel.add(qLabel, BorderLayout.CENTER);
-
-        JPanel bottomPanel = new JPanel();
-        bottomPanel.setBackground(darkBlue);
-
-        for (Contestant c : contestants) {
-            JButton cBtn = new JButton(c.name);
-            cBtn.setFont(new Font("SansSerif", Font.BOLD, 22));
-            cBtn.addActionListener(_ -> handleDailyDoubleWager(clue, c));
-            bottomPanel.add(cBtn);
-        }
-
-        JButton cancelBtn = new JButton("Cancel");
-        cancelBtn.setFont(new Font("SansSerif", Font.BOLD, 22));
-        cancelBtn.addActionListener(_ -> backToBoard());
-        bottomPanel.add(cancelBtn);
+    private void dimTile(JButton tile) {
+        tile.setEnabled(false);
+        tile.setBackground(new Color(30, 30, 60)); // dim used clue
+        tile.setForeground(Color.GRAY);
+    }
 
-        questionPanel.add(bottomPanel, BorderLayout.SOUTH);
+    private void showClue(Clue clue, Runnable dimTile) {
+        if (engine.phase() != GameEngine.Phase.BOARD || engine.isAsked(clue.slot)) return;
+        engine.openClue(clue.slot);
+        clue.setAsked(true);
+        prefetchColumn(clue);
+        dimTile.run();
 
-        frame.setContentPane(questionPanel);
-        frame.revalidate();
-        frame.repaint();
+        if (engine.phase() == GameEngine.Phase.DAILY_DOUBLE) showDailyDouble(clue);
+        else displayQuestion(clue);
     }
 
-    private void handleDailyDoubleWager(Clue clue, Contestant c) {
-        // Simple popup for entering wager
-        String wagerStr = JOptionPane.showInputDialog(frame,
-                c.name + ", enter your wager (0–" + c.score + "):",
-                "Daily Double Wager", JOptionPane.PLAIN_MESSAGE);
-
-        int wager;
-        try {
-            wager = Integer.parseInt(wagerStr.trim());
-            wager = Math.max(0, Math.min(wager, Math.max(1000, c.score)));
-        } catch (Exception ex) {
-            wager = 0;
-        }
-        clue.value = wager;
+    /**
+     * Decodes and lays out the rest of a column in the background, so the next tile in it opens
+     * without touching the file or measuring text. The opened clue's answer is laid out first.
+     */
+    private void prefetchColumn(Clue opened) {
+        List<Clue> column = byCategory.get(opened.category);
+        if (column == null) return;
+        List<Clue> pending = column.stream().filter(c -> !c.asked()).toList();
+        ClueTextView.Spec q = questionView.spec(), a = answerView.spec();
+        CLUE_PREFETCH.execute(() -> {
+            a.prepare(opened.answer().toUpperCase());
+            for (Clue c : pending) {
+                q.prepare(c.question().toUpperCase());
+                a.prepare(c.answer().toUpperCase());
+            }
+        });
+    }
 
-        // After setting wager, display the question
-        displayQuestion(clue, c);
+    // ===== Screens =====
+    // Every screen is built once here and kept in the scene manager; showing one only rebinds
+    // its text and the clue/contestant its buttons act on.
+
+    private void buildScenes() {
+        scenes.add(SCENE_DAILY_DOUBLE, buildDailyDoubleScene());
+        scenes.add(SCENE_QUESTION, buildQuestionScene());
+        scenes.add(SCENE_ANSWER, buildAnswerScene());
+        scenes.add(SCENE_WINNER, buildWinnerScene());
+        scenes.add(SCENE_FJ_CATEGORY, buildFinalCategoryScene());
+        scenes.add(SCENE_FJ_QUESTION, buildFinalQuestionScene());
+        scenes.add(SCENE_FINALE, buildFinaleScene());
+        // Leaving a screen early drops whatever it still had scheduled
+        for (String scene : List.of(SCENE_DAILY_DOUBLE, SCENE_ANSWER, SCENE_WINNER))
+            scenes.onLeave(scene, this::cancelSceneDelay);
+        scenes.onLeave(SCENE_QUESTION, () -> {
+            if (buzzers != null) buzzers.idle();
+        });
+        scenes.onLeave(SCENE_FINALE, () -> {
+            if (shimmer != null) shimmer.cancel();
+            if (reveal != null) reveal.cancel();
+        });
     }
 
-    private void displayQuestion(Clue clue) {
-        displayQuestion(clue, null);
+    private JPanel buildDailyDoubleScene() {
+        JPanel ddPanel = new JPanel(new BorderLayout());
+        ddPanel.setBackground(darkBlue);
+
+        JLabel ddLabel = new JLabel("DAILY DOUBLE!", SwingConstants.CENTER);
+        setRoleFont(ddLabel, FontRole.SPLASH);
+        ddLabel.setForeground(gold);
+        ddPanel.add(ddLabel, BorderLayout.CENTER);
+        return ddPanel;
     }
 
-    private void displayQuestion(Clue clue, Contestant dailyDoubleContestant) {
+    private JPanel buildQuestionScene() {
         JPanel questionPanel = new JPanel(new BorderLayout());
         questionPanel.setBackground(darkBlue);
 
-        JLabel qLabel = new JLabel("<html><center>" + clue.question.toUpperCase() + "</center></html>", SwingConstants.CENTER);
-        qLabel.setFont(getGameFont(Math.max((int)(frame.getHeight() * 0.08), 48), false));
-        qLabel.setForeground(Color.WHITE);
-        qLabel.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
-        questionPanel.add(qLabel, BorderLayout.CENTER);
-
-        JPanel bottomPanel = new JPanel();
-        bottomPanel.setBackground(darkBlue);
-
-        // If this is a Daily Double question for a specific contestant
-        if (dailyDoubleContestant != null) {
-            JButton correctBtn = createGameButton("Correct", 22, new Color(34, 177, 76), Color.WHITE); // green
-            correctBtn.addActionListener(_ -> {
-                dailyDoubleContestant.score += clue.value;
-                updateScoreLabels();
-                showAnswerScreen(clue);
-            });
-
-            JButton incorrectBtn = createGameButton("Incorrect", 22, new Color(200, 0, 0), Color.WHITE); // red
-            incorrectBtn.addActionListener(_ -> {
-                dailyDoubleContestant.score -= clue.value;
-                updateScoreLabels();
-                showAnswerScreen(clue);
-            });
-
-            bottomPanel.add(correctBtn);
-            bottomPanel.add(incorrectBtn);
-        } else {
-            // Normal question flow (Buzz In / No Buzz)
-            JButton buzzBtn = createGameButton("Buzz In", 22, null, null);
-            buzzBtn.addActionListener(_ -> showBuzzOptions(clue, questionPanel));
-
-            JButton noBuzzBtn = createGameButton("No Buzz", 22, null, null);
-            noBuzzBtn.addActionListener(_ -> backToBoard());
-
-            bottomPanel.add(buzzBtn);
-            bottomPanel.add(noBuzzBtn);
-        }
-
-        questionPanel.add(bottomPanel, BorderLayout.SOUTH);
-
-        frame.setContentPane(questionPanel);
-        frame.revalidate();
-        frame.repaint();
+        questionView = new ClueTextView();
+        setRoleFont(questionView, FontRole.CLUE_TEXT);
+        questionView.setForeground(Color.WHITE);
+        questionView.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
+        questionPanel.add(questionView, BorderLayout.CENTER);
+
+        // One bottom bar per step of a clue, flipped in place
+        questionBars = new JPanel(questionBarCards);
+        questionBars.setBackground(darkBlue);
+        questionBars.add(buildBuzzBar(), BAR_BUZZ);
+        questionBars.add(buildBuzzOptionsBar(), BAR_OPTIONS);
+        questionBars.add(buildConfirmBar(), BAR_CONFIRM);
+        questionBars.add(buildDailyDoubleChooserBar(), BAR_DD_CHOOSER);
+        questionBars.add(buildDailyDoubleJudgeBar(), BAR_DD_JUDGE);
+        questionPanel.add(questionBars, BorderLayout.SOUTH);
+        return questionPanel;
     }
 
-
-    private JPanel createBuzzBar(Clue clue, JPanel questionPanel) {
+    private JPanel buildBuzzBar() {
         JPanel bottomPanel = new JPanel();
         bottomPanel.setBackground(darkBlue);
 
-        JButton buzzBtn = new JButton("Buzz In");
-        buzzBtn.setFont(new Font("SansSerif", Font.BOLD, 22));
-        buzzBtn.addActionListener(_ -> showBuzzOptions(clue, questionPanel));
+        JButton buzzBtn = createGameButton("Buzz In", 22, null, null);
+        buzzBtn.addActionListener(_ -> {
+            if (buzzers != null) buzzers.arm(); // the contestant buttons stay as a manual override
+            showBuzzOptions();
+        });
 
-        JButton noBuzzBtn = new JButton("No Buzz");
-        noBuzzBtn.setFont(new Font("SansSerif", Font.BOLD, 22));
-        noBuzzBtn.addActionListener(_ -> backToBoard());
+        JButton noBuzzBtn = createGameButton("No Buzz", 22, null, null);
+        noBuzzBtn.addActionListener(_ -> {
+            engine.closeClue();
+            backToBoard();
+        });
 
         bottomPanel.add(buzzBtn);
         bottomPanel.add(noBuzzBtn);
         return bottomPanel;
     }
 
-    private void showBuzzOptions(Clue clue, JPanel questionPanel) {
-        // Create styled bottom bar with contestant buttons
+    private JPanel buildBuzzOptionsBar() {
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
         bottomPanel.setBackground(darkBlue);
 
-        // Add a button for each contestant, using same style helper
-        for (Contestant c : contestants) {
-            JButton cBtn = createGameButton(c.name, 22, null, null);
-            cBtn.addActionListener(_ -> handleAnswerAttempt(clue, c, questionPanel));
-            bottomPanel.add(cBtn);
+        if (crowd) {
+            buzzPicker = new ContestantPicker(contestants.length, seat -> contestants[seat].name,
+                    seat -> handleAnswerAttempt(contestants[seat]), darkBlue);
+            bottomPanel.add(buzzPicker);
+        }
+
+        // A button for each contestant, renamed when the names change
+        buzzButtons = new JButton[crowd ? 0 : contestants.length];
+        for (int i = 0; i < buzzButtons.length; i++) {
+            Contestant c = contestants[i];
+            buzzButtons[i] = createGameButton(c.name, 22, null, null);
+            buzzButtons[i].addActionListener(_ -> handleAnswerAttempt(c));
+            bottomPanel.add(buzzButtons[i]);
         }
 
-        // Add Cancel button (same look)
         JButton cancelBtn = createGameButton("Cancel", 22, null, null);
         cancelBtn.addActionListener(_ -> {
-            // Restore the Buzz/No Buzz bar cleanly
-            removeSouthComponent(questionPanel);
-            JPanel newBottom = createBuzzBar(clue, questionPanel);
-            questionPanel.add(newBottom, BorderLayout.SOUTH);
-            frame.revalidate();
-            frame.repaint();
+            if (buzzers != null) buzzers.idle();
+            showQuestionBar(BAR_BUZZ);
         });
         bottomPanel.add(cancelBtn);
-
-        // Replace current bottom bar
-        removeSouthComponent(questionPanel);
-        questionPanel.add(bottomPanel, BorderLayout.SOUTH);
-
-        frame.revalidate();
-        frame.repaint();
-    }
-
-    /**
-     * Helper method to safely remove the SOUTH component of a BorderLayout panel.
-     */
-    private void removeSouthComponent(JPanel panel) {
-        BorderLayout layout = (BorderLayout) panel.getLayout();
-        Component southComp = layout.getLayoutComponent(BorderLayout.SOUTH);
-        if (southComp != null) {
-            panel.remove(southComp);
-        }
+        return bottomPanel;
     }
 
-    private void handleAnswerAttempt(Clue clue, Contestant c, JPanel questionPanel) {
-        // Build an inline confirmation bar (no popups)
+    private JPanel buildConfirmBar() {
+        // Inline confirmation bar (no popups)
         JPanel confirmBar = new JPanel(new FlowLayout(FlowLayout.CENTER, 16, 10));
         confirmBar.setBackground(darkBlue);
 
-        JLabel prompt = new JLabel("Did " + c.name + " answer correctly?");
-        prompt.setForeground(Color.WHITE);
-        prompt.setFont(new Font("SansSerif", Font.BOLD, 18));
+        confirmPrompt = new JLabel();
+        confirmPrompt.setForeground(Color.WHITE);
+        confirmPrompt.setFont(FontCache.get("SansSerif", Font.BOLD, 18));
 
         JButton correctBtn = createGameButton("Correct", 18, new Color(34, 177, 76), Color.WHITE);
         JButton incorrectBtn = createGameButton("Incorrect", 18, new Color(200, 0, 0), Color.WHITE);
         JButton passBtn = createGameButton("Pass", 16, null, null);
 
         // Correct: award points, show answer screen
-        correctBtn.addActionListener(_ -> {
-            c.score += clue.value;
-            updateScoreLabels();
-            showAnswerScreen(clue);
-        });
+        correctBtn.addActionListener(_ -> judged(true));
 
-        // Incorrect: deduct points, return to same question (allow other contestants to buzz)
-        incorrectBtn.addActionListener(_ -> {
-            c.score -= clue.value;
-            updateScoreLabels();
-            // Re-display the same question so others can buzz in
-            displayQuestion(clue);
-        });
+        // Incorrect: deduct points, back to the same question so others can buzz in
+        incorrectBtn.addActionListener(_ -> judged(false));
 
-        // Pass/Cancel: return to the original Buzz/No Buzz bar
+        // Pass: return to the Buzz/No Buzz bar
         passBtn.addActionListener(_ -> {
-            // Recreate the Buzz/No Buzz bar in the questionPanel
-            JPanel newBottom = createBuzzBar(clue, questionPanel);
-            // remove current bottom component (the confirmBar) and add the original bottom
-            // safer remove: find SOUTH component and remove it
-            questionPanel.remove(1);
-            questionPanel.add(newBottom, BorderLayout.SOUTH);
-            frame.revalidate();
-            frame.repaint();
+            engine.pass();
+            showQuestionBar(BAR_BUZZ);
         });
 
-        confirmBar.add(prompt);
+        confirmBar.add(confirmPrompt);
         confirmBar.add(correctBtn);
         confirmBar.add(incorrectBtn);
         confirmBar.add(passBtn);
+        return confirmBar;
+    }
+
+    private JPanel buildDailyDoubleChooserBar() {
+        JPanel bottomPanel = new JPanel();
+        bottomPanel.setBackground(darkBlue);
+
+        if (crowd) {
+            ddPicker = new ContestantPicker(contestants.length, seat -> contestants[seat].name,
+                    seat -> handleDailyDoubleWager(contestants[seat]), darkBlue);
+            bottomPanel.add(ddPicker);
+        }
+
+        ddChooserButtons = new JButton[crowd ? 0 : contestants.length];
+        for (int i = 0; i < ddChooserButtons.length; i++) {
+            Contestant c = contestants[i];
+            ddChooserButtons[i] = new JButton(c.name);
+            ddChooserButtons[i].setFont(FontCache.get("SansSerif", Font.BOLD, 22));
+            ddChooserButtons[i].addActionListener(_ -> handleDailyDoubleWager(c));
+            bottomPanel.add(ddChooserButtons[i]);
+        }
 
-        // Replace the existing bottom component with our confirmation bar
-        // (your code previously used questionPanel.remove(1); questionPanel.add(...))
-        questionPanel.remove(1);
-        questionPanel.add(confirmBar, BorderLayout.SOUTH);
-        frame.revalidate();
-        frame.repaint();
+        JButton cancelBtn = new JButton("Cancel");
+        cancelBtn.setFont(FontCache.get("SansSerif", Font.BOLD, 22));
+        cancelBtn.addActionListener(_ -> {
+            engine.closeClue();
+            backToBoard();
+        });
+        bottomPanel.add(cancelBtn);
+        return bottomPanel;
     }
 
+    private JPanel buildDailyDoubleJudgeBar() {
+        JPanel bottomPanel = new JPanel();
+        bottomPanel.setBackground(darkBlue);
 
-    private void showAnswerScreen(Clue clue) {
+        // Right or wrong, a Daily Double goes to the answer
+        JButton correctBtn = createGameButton("Correct", 22, new Color(34, 177, 76), Color.WHITE); // green
+        correctBtn.addActionListener(_ -> judged(true));
+
+        JButton incorrectBtn = createGameButton("Incorrect", 22, new Color(200, 0, 0), Color.WHITE); // red
+        incorrectBtn.addActionListener(_ -> judged(false));
+
+        bottomPanel.add(correctBtn);
+        bottomPanel.add(incorrectBtn);
+        return bottomPanel;
+    }
+
+    private JPanel buildAnswerScene() {
         JPanel answerPanel = new JPanel(new BorderLayout());
         answerPanel.setBackground(darkBlue);
-        JLabel aLabel = new JLabel(clue.answer.toUpperCase(), SwingConstants.CENTER);
-        aLabel.setFont(getGameFont(Math.max((int)(frame.getHeight() * 0.09), 48), false));
-        aLabel.setForeground(Color.WHITE);
-        answerPanel.add(aLabel, BorderLayout.CENTER);
-        frame.setContentPane(answerPanel);
-        frame.revalidate();
-        frame.repaint();
-
-        javax.swing.Timer backTimer = new javax.swing.Timer(2000, _ -> {
-            backToBoard();
-            if (allClues.stream().allMatch(c -> c.asked))
-                showWinnerOverlay();
-        });
-        backTimer.setRepeats(false);
-        backTimer.start();
+        answerView = new ClueTextView();
+        setRoleFont(answerView, FontRole.ANSWER_TEXT);
+        answerView.setForeground(Color.WHITE);
+        answerView.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
+        answerPanel.add(answerView, BorderLayout.CENTER);
+        return answerPanel;
     }
 
-    private void showWinnerOverlay() {
-        Contestant winner = Arrays.stream(contestants).max(Comparator.comparingInt(c -> c.score)).get();
+    private JPanel buildWinnerScene() {
         JPanel winnerPanel = new JPanel(new BorderLayout());
         winnerPanel.setBackground(darkBlue);
-        JLabel winnerLabel = new JLabel("<html><center>🏆 WINNER:<br>" + winner.name.toUpperCase() + "</center></html>", SwingConstants.CENTER);
+        winnerLabel = new JLabel("", SwingConstants.CENTER);
         winnerLabel.setFont(getGameFont(64, true));
         winnerLabel.setForeground(gold);
         winnerPanel.add(winnerLabel, BorderLayout.CENTER);
-        frame.setContentPane(winnerPanel);
-        frame.revalidate();
-        frame.repaint();
-        new javax.swing.Timer(3000, _ -> backToBoard()).start();
+        return winnerPanel;
     }
 
-    private Contestant chooseContestantDialog(String prompt) {
-        Object[] options = Arrays.stream(contestants).map(c -> c.name).toArray();
-        int i = JOptionPane.showOptionDialog(frame, prompt, "Buzz In", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
-        return i >= 0 ? contestants[i] : null;
-    }
+    private JPanel buildFinalCategoryScene() {
+        JPanel categoryPanel = new JPanel(new BorderLayout());
+        categoryPanel.setBackground(darkBlue);
 
-    private void updateScoreLabels() {
-        for (Contestant c : contestants)
-            c.scoreLabel.setText("<html><center>" + c.name + "<br>$" + c.score + "</center></html>");
-    }
-
-    private void getContestantNames() {
-        for (int i=0;i<contestants.length;i++) {
-            String name = JOptionPane.showInputDialog(frame, "Name for contestant " + (i+1) + ":", contestants[i].name);
-            if (name != null && !name.isBlank()) contestants[i].name = name.trim();
-        }
-        updateScoreLabels();
-    }
-
-    private void backToBoard() {
-        frame.setContentPane(new JPanel(new BorderLayout()) {{ add(boardPanel, BorderLayout.CENTER); add(scorePanel, BorderLayout.EAST); }});
-        frame.revalidate();
-        frame.repaint();
-    }
-
-    private void showFinalJeopardyCategorySlide() {
-        if (finalJeopardyClue == null) {
-            JOptionPane.showMessageDialog(frame, "No Final Jeopardy question in file.");
-            return;
-        }
-
-        JPanel categoryPanel = new JPanel(new BorderLayout());
-        categoryPanel.setBackground(darkBlue);
-
-        // Use the category from the CSV, not hardcoded "Final Jeopardy"
-        JLabel catLabel = new JLabel("<html><center>CATEGORY<br><br>"
-                + wrapText(finalJeopardyClue.category.toUpperCase(), 20) + "</center></html>", SwingConstants.CENTER);
-        catLabel.setFont(getScaledFont(0.09, 48));
-        catLabel.setForeground(Color.WHITE);
-        categoryPanel.add(catLabel, BorderLayout.CENTER);
+        finalCategoryView = new ClueTextView();
+        setRoleFont(finalCategoryView, FontRole.CATEGORY_SLIDE);
+        finalCategoryView.setForeground(Color.WHITE);
+        finalCategoryView.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
+        categoryPanel.add(finalCategoryView, BorderLayout.CENTER);
 
         // Ready button
         JButton readyBtn = new JButton("Ready");
-        readyBtn.setFont(new Font("SansSerif", Font.BOLD, 28));
+        readyBtn.setFont(FontCache.get("SansSerif", Font.BOLD, 28));
         readyBtn.addActionListener(_ -> showFinalJeopardyQuestion());
         JPanel bottomPanel = new JPanel();
         bottomPanel.setBackground(darkBlue);
         bottomPanel.add(readyBtn);
         categoryPanel.add(bottomPanel, BorderLayout.SOUTH);
-
-        frame.setContentPane(categoryPanel);
-        frame.revalidate();
-        frame.repaint();
+        return categoryPanel;
     }
 
-
-    private void showFinalJeopardyQuestion() {
+    private JPanel buildFinalQuestionScene() {
         JPanel finalPanel = new JPanel(new BorderLayout());
         finalPanel.setBackground(darkBlue);
 
-        JLabel qLabel = new JLabel("<html><center>FINAL JEOPARDY<br><br>"
-                + wrapText(finalJeopardyClue.question.toUpperCase(), 40) + "</center></html>", SwingConstants.CENTER);
-        qLabel.setFont(getGameFont(Math.max((int)(frame.getHeight() * 0.085), 44), false));
-        qLabel.setForeground(Color.WHITE);
-        finalPanel.add(qLabel, BorderLayout.CENTER);
+        finalQuestionView = new ClueTextView();
+        setRoleFont(finalQuestionView, FontRole.FINAL_TEXT);
+        finalQuestionView.setForeground(Color.WHITE);
+        finalQuestionView.setBorder(BorderFactory.createEmptyBorder(40, 80, 40, 80));
+        finalPanel.add(finalQuestionView, BorderLayout.CENTER);
 
         JPanel bottomPanel = new JPanel();
         bottomPanel.setBackground(darkBlue);
 
         JButton readyBtn = new JButton("Ready");
-        readyBtn.setFont(new Font("SansSerif", Font.BOLD, 22));
+        readyBtn.setFont(FontCache.get("SansSerif", Font.BOLD, 22));
         readyBtn.addActionListener(_ -> handleFinalJeopardyAnswers());
 
         bottomPanel.add(readyBtn);
         finalPanel.add(bottomPanel, BorderLayout.SOUTH);
-
-        frame.setContentPane(finalPanel);
-        frame.revalidate();
-        frame.repaint();
+        return finalPanel;
     }
 
-    private void handleFinalJeopardyAnswers() {
-        if (finalJeopardyClue == null) {
-            JOptionPane.showMessageDialog(frame, "No Final Jeopardy question loaded.");
-            return;
-        }
-
-        // Sort contestants by score ascending (lowest → highest)
-        Contestant[] order = Arrays.copyOf(contestants, contestants.length);
-        Arrays.sort(order, Comparator.comparingInt(c -> c.score));
-
-        Map<Contestant, Integer> wagers = new HashMap<>();
-
-        // ===== Get wagers and correctness sequentially =====
-        for (Contestant c : order) {
-            if (c.score <= 0) {
-                JOptionPane.showMessageDialog(frame, c.name + " has a non-positive score and cannot participate in Final Jeopardy.");
-                wagers.put(c, 0);
-                continue;
-            }
-
-            String input = JOptionPane.showInputDialog(
-                    frame,
-                    c.name + ", enter your Final Jeopardy wager (0–" + c.score + "):",
-                    "Final Jeopardy Wager",
-                    JOptionPane.PLAIN_MESSAGE
-            );
-
-            int wager;
-            try {
-                wager = Integer.parseInt(input.trim());
-                wager = Math.max(0, Math.min(wager, c.score));
-            } catch (Exception e) {
-                wager = 0;
-            }
-            wagers.put(c, wager);
-
-            int correct = JOptionPane.showConfirmDialog(
-                    frame,
-                    finalJeopardyClue.answer + "\n\nDid " + c.name + " answer correctly?",
-                    "Final Jeopardy Result",
-                    JOptionPane.YES_NO_OPTION
-            );
-
-            if (correct == JOptionPane.YES_OPTION)
-                c.score += wager;
-            else
-                c.score -= wager;
-
-            updateScoreLabels();
-        }
-
-        // ===== Dramatic Full-Screen Results Display =====
-        Contestant winner = Arrays.stream(contestants)
-                .max(Comparator.comparingInt(c -> c.score))
-                .orElse(null);
-
+    private JPanel buildFinaleScene() {
         // Animated shimmer background panel
-        JPanel finalePanel = new JPanel(new BorderLayout()) {
+        var finalePanel = new JPanel(new BorderLayout()) {
             float shimmerPhase = 0f;
 
-            {
-                // Timer for slow shimmer effect
-                new javax.swing.Timer(80, _ -> {
-                    shimmerPhase += 0.01f;
-                    if (shimmerPhase > 1f) shimmerPhase = 0f;
-                    repaint();
-                }).start();
-            }
-
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
                 int w = getWidth(), h = getHeight();
 
                 // Deep blue vertical gradient
-                GradientPaint gp = new GradientPaint(
-                        0, 0, new Color(0, 0, 70),
-                        0, h, new Color(15, 15, 120)
-                );
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, w, h);
+                RenderCache.drawVerticalGradient(g, this, FINALE_TOP, FINALE_BOTTOM);
 
                 // Moving gold shimmer (radial glow)
                 int cx = (int) (w / 2 + Math.sin(shimmerPhase * 2 * Math.PI) * w / 4);
                 int cy = (int) (h / 2 + Math.cos(shimmerPhase * 2 * Math.PI) * h / 6);
-                RadialGradientPaint rgp = new RadialGradientPaint(
-                        new Point(cx, cy), w / 2f,
-                        new float[]{0f, 1f},
-                        new Color[]{new Color(255, 215, 0, 60), new Color(0, 0, 0, 0)}
-                );
-                g2d.setPaint(rgp);
-                g2d.fillRect(0, 0, w, h);
+                RenderCache.drawGlow(g, this, cx, cy, w / 2, SHIMMER_GOLD);
             }
         };
         finalePanel.setBackground(Color.BLACK);
 
+        // Slow shimmer, run by the animation clock only while the finale is on screen
+        shimmerStep = () -> {
+            finalePanel.shimmerPhase += 0.01f;
+            if (finalePanel.shimmerPhase > 1f) finalePanel.shimmerPhase = 0f;
+            finalePanel.repaint();
+            return true;
+        };
+
         // Title
         JLabel title = new JLabel("FINAL SCORES", SwingConstants.CENTER);
         title.setForeground(Color.WHITE);
@@ -842,57 +1109,39 @@ public class JeopardyGUI {
         title.setBorder(BorderFactory.createEmptyBorder(40, 0, 20, 0));
         finalePanel.add(title, BorderLayout.NORTH);
 
-        // Scores area
-        JPanel scoresPanel = new JPanel();
-        scoresPanel.setOpaque(false);
-        scoresPanel.setLayout(new BoxLayout(scoresPanel, BoxLayout.Y_AXIS));
-
-        Arrays.stream(contestants)
-                .sorted((a, b) -> Integer.compare(b.score, a.score))
-                .forEach(c -> {
-                    JLabel lbl = new JLabel(c.name + ": $" + c.score, SwingConstants.CENTER);
-                    lbl.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    lbl.setFont(getGameFont(48, true));
-                    lbl.setForeground(c == winner ? new Color(255, 215, 0) : Color.WHITE);
-                    lbl.setVisible(false); // initially hidden for dramatic reveal
-                    scoresPanel.add(lbl);
-                    scoresPanel.add(Box.createVerticalStrut(20));
-                });
-
-        finalePanel.add(scoresPanel, BorderLayout.CENTER);
+        // Scores area: one row per contestant, or the top places of a crowd, filled in when the finale is shown
+        finaleScoresPanel = new JPanel();
+        finaleScoresPanel.setOpaque(false);
+        finaleScoresPanel.setLayout(new BoxLayout(finaleScoresPanel, BoxLayout.Y_AXIS));
+        finaleScoreLabels = new JLabel[crowd ? FINALE_PLACES : contestants.length];
+        for (int i = 0; i < finaleScoreLabels.length; i++) {
+            finaleScoreLabels[i] = new JLabel("", SwingConstants.CENTER);
+            finaleScoreLabels[i].setAlignmentX(Component.CENTER_ALIGNMENT);
+            finaleScoreLabels[i].setFont(getGameFont(48, true));
+            finaleScoresPanel.add(finaleScoreLabels[i]);
+            finaleScoresPanel.add(Box.createVerticalStrut(20));
+        }
+        finalePanel.add(finaleScoresPanel, BorderLayout.CENTER);
 
         // Winner label (hidden until final reveal)
-        JLabel winnerLabel = new JLabel(winner.name.toUpperCase() + " IS THE CHAMPION!", SwingConstants.CENTER);
-        winnerLabel.setForeground(new Color(255, 215, 0));
-        winnerLabel.setFont(getGameFont(64, true));
-        winnerLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 40, 0));
-        winnerLabel.setVisible(false);
-        finalePanel.add(winnerLabel, BorderLayout.SOUTH);
-
-        frame.setContentPane(finalePanel);
-        frame.revalidate();
-        frame.repaint();
-
-        // Step-by-step reveal effect
-        Timer revealTimer = new Timer(900, null);
-        final int[] step = {0};
-        revealTimer.addActionListener(_ -> {
-            if (step[0] < scoresPanel.getComponentCount()) {
-                Component comp = scoresPanel.getComponent(step[0]);
-                comp.setVisible(true);
-                scoresPanel.revalidate();
-                scoresPanel.repaint();
-            } else if (step[0] == scoresPanel.getComponentCount()) {
-                winnerLabel.setVisible(true);
-                scoresPanel.revalidate();
-                scoresPanel.repaint();
+        finaleWinnerLabel = new JLabel("", SwingConstants.CENTER);
+        finaleWinnerLabel.setForeground(new Color(255, 215, 0));
+        finaleWinnerLabel.setFont(getGameFont(64, true));
+        finaleWinnerLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 40, 0));
+        finalePanel.add(finaleWinnerLabel, BorderLayout.SOUTH);
+
+        // Step-by-step reveal effect; finished once the winner is shown
+        revealNext = () -> {
+            int count = finaleScoresPanel.getComponentCount();
+            if (revealStep < count) {
+                finaleScoresPanel.getComponent(revealStep).setVisible(true);
             } else {
-                revealTimer.stop();
+                finaleWinnerLabel.setVisible(true);
             }
-            step[0]++;
-        });
-
-        revealTimer.start();
+            finaleScoresPanel.revalidate();
+            finaleScoresPanel.repaint();
+            return ++revealStep <= count;
+        };
 
         // ===== Wait for user click to continue =====
         finalePanel.addMouseListener(new java.awt.event.MouseAdapter() {
@@ -901,117 +1150,796 @@ public class JeopardyGUI {
                 backToBoard();
             }
         });
+        return finalePanel;
     }
 
+    /** Moves on with {@code next} after the current screen has been showing for {@code millis}. */
+    private void afterShowing(int millis, Runnable next) {
+        cancelSceneDelay();
+        sceneDelay = AnimationClock.after(scenes.scene(scenes.current()), millis, next);
+    }
 
-    // Inner classes
-    class Clue {
-        String category, question, answer;
-        int value;
-        boolean asked = false;
-        boolean isDailyDouble = false;
+    private void cancelSceneDelay() {
+        if (sceneDelay != null) sceneDelay.cancel();
+        sceneDelay = null;
+    }
 
-        Clue(String category, int value, String question, String answer) {
-            this.category = category;
-            this.value = value;
-            this.question = question;
-            this.answer = answer;
+    private void showQuestionBar(String bar) {
+        questionBar = bar;
+        questionBarCards.show(questionBars, bar);
+        scenes.show(SCENE_QUESTION);
+    }
+
+    private void showDailyDouble(Clue clue) {
+        currentClue = clue;
+        scenes.show(SCENE_DAILY_DOUBLE);
+
+        // Show splash briefly before showing contestant buttons inline
+        afterShowing(1500, this::showDailyDoubleInlineChooser);
+    }
+
+    private void showDailyDoubleInlineChooser() {
+        questionView.setText("DAILY DOUBLE\n\nWho found it?");
+        if (ddPicker != null) ddPicker.reset();
+        showQuestionBar(BAR_DD_CHOOSER);
+    }
+
+    private void handleDailyDoubleWager(Contestant c) {
+        // Simple popup for entering wager
+        String wagerStr = JOptionPane.showInputDialog(frame,
+                c.name + ", enter your wager (0–" + c.score() + "):",
+                "Daily Double Wager", JOptionPane.PLAIN_MESSAGE);
+
+        int wager;
+        try {
+            wager = Integer.parseInt(wagerStr.trim());
+        } catch (Exception ex) {
+            wager = 0;
         }
+        placeDailyDoubleWager(c, wager);
     }
 
-    class Contestant {
-        String name;
-        int score = 0;
-        JLabel scoreLabel;
-        Contestant(String name) { this.name = name; }
-    }
-
-    private String[] parseCSVLine(String line) {
-        List<String> fields = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '"') {
-                inQuotes = !inQuotes; // toggle quote state
-            } else if (c == ',' && !inQuotes) {
-                fields.add(sb.toString().trim());
-                sb.setLength(0);
-            } else {
-                sb.append(c);
+    private void placeDailyDoubleWager(Contestant c, int wager) {
+        engine.wager(c.index, wager); // clamped by the engine
+
+        // After setting wager, display the question
+        displayQuestion(currentClue, c);
+    }
+
+    void displayQuestion(Clue clue) {
+        displayQuestion(clue, null);
+    }
+
+    private void displayQuestion(Clue clue, Contestant dailyDoubleContestant) {
+        currentClue = clue;
+        answeringContestant = dailyDoubleContestant;
+        questionView.setText(clue.question().toUpperCase());
+        // Only now, after any Daily Double wager: spectators must not see the question first
+        if (spectators != null) spectators.question(clue.slot, clue.question());
+        if (buzzers != null) {
+            if (dailyDoubleContestant == null) buzzers.expect();
+            else buzzers.idle();
+        }
+
+        // A Daily Double is judged straight away; otherwise the normal Buzz In / No Buzz flow
+        showQuestionBar(dailyDoubleContestant != null ? BAR_DD_JUDGE : BAR_BUZZ);
+    }
+
+    private void showBuzzOptions() {
+        if (buzzPicker != null) buzzPicker.reset();
+        showQuestionBar(BAR_OPTIONS);
+    }
+
+    private void handleAnswerAttempt(Contestant c) {
+        if (buzzers != null) buzzers.claim(c.index);
+        engine.buzz(c.index);
+        answeringContestant = c;
+        confirmPrompt.setText("Did " + c.name + " answer correctly?");
+        showQuestionBar(BAR_CONFIRM);
+    }
+
+    /** The host's ruling on whoever is answering: on to the answer, or back to buzzing. */
+    private void judged(boolean correct) {
+        engine.judge(correct);
+        if (engine.phase() == GameEngine.Phase.REVEAL) showAnswerScreen(currentClue);
+        else showQuestionBar(BAR_BUZZ);
+    }
+
+
+    private void showAnswerScreen(Clue clue) {
+        answerView.setText(clue.answer().toUpperCase());
+        scenes.show(SCENE_ANSWER);
+        afterShowing(2000, this::answerShown);
+    }
+
+    private void answerShown() {
+        engine.closeClue();
+        backToBoard();
+        if (engine.isBoardCleared())
+            showWinnerOverlay();
+    }
+
+    private void showWinnerOverlay() {
+        Contestant winner = contestants[engine.leader()];
+        winnerLabel.setText("<html><center>🏆 WINNER:<br>" + winner.name.toUpperCase() + "</center></html>");
+        scenes.show(SCENE_WINNER);
+        afterShowing(3000, this::backToBoard);
+    }
+
+    private Contestant chooseContestantDialog(String prompt) {
+        Object[] options = Arrays.stream(contestants).map(c -> c.name).toArray();
+        int i = JOptionPane.showOptionDialog(frame, prompt, "Buzz In", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        return i >= 0 ? contestants[i] : null;
+    }
+
+    void updateScoreLabels() {
+        if (crowd) leaderboard.namesChanged();
+        else for (Contestant c : contestants) {
+            c.nameLabel.setText(c.name);
+            scoreChanged(c.index, c.score());
+        }
+    }
+
+    /** One score moved: one label, or one leaderboard entry re-ranked. */
+    private void scoreChanged(int contestant, int score) {
+        if (crowd) {
+            leaderboard.scoreChanged(contestant, score);
+        } else {
+            contestants[contestant].scoreLabel.setText("$" + score);
+        }
+    }
+
+    private void getContestantNames() {
+        if (crowd) return; // not one prompt per seat: names come from the launch options, or stay numbered
+        String[] names = new String[contestants.length];
+        for (int i=0;i<contestants.length;i++)
+            names[i] = JOptionPane.showInputDialog(frame, "Name for contestant " + (i+1) + ":", contestants[i].name);
+        setContestantNames(names);
+    }
+
+    /** Renames contestants in seat order; missing or blank names keep the current one. */
+    private void setContestantNames(String[] names) {
+        for (int i = 0; i < Math.min(names.length, contestants.length); i++) {
+            if (names[i] != null && !names[i].isBlank()) contestants[i].name = names[i].trim();
+        }
+        for (int i = 0; i < buzzButtons.length; i++) {
+            buzzButtons[i].setText(contestants[i].name);
+            ddChooserButtons[i].setText(contestants[i].name);
+        }
+        if (crowd) {
+            buzzPicker.refresh();
+            ddPicker.refresh();
+        }
+        updateScoreLabels();
+        if (spectators != null) spectators.names(contestantNames());
+        record(new GameJournal.Named(contestantNames()));
+    }
+
+    void backToBoard() {
+        scenes.show(SCENE_BOARD);
+    }
+
+    private void showFinalJeopardyCategorySlide() {
+        if (finalJeopardyClue == null) {
+            JOptionPane.showMessageDialog(frame, "No Final Jeopardy question in file.");
+            return;
+        }
+
+        // Use the category from the CSV, not hardcoded "Final Jeopardy"
+        finalCategoryView.setText("CATEGORY\n\n" + finalJeopardyClue.category.toUpperCase());
+        scenes.show(SCENE_FJ_CATEGORY);
+    }
+
+
+    private void showFinalJeopardyQuestion() {
+        finalQuestionView.setText("FINAL JEOPARDY\n\n" + finalJeopardyClue.question().toUpperCase());
+        scenes.show(SCENE_FJ_QUESTION);
+    }
+
+    private void handleFinalJeopardyAnswers() {
+        if (finalJeopardyClue == null) {
+            JOptionPane.showMessageDialog(frame, "No Final Jeopardy question loaded.");
+            return;
+        }
+
+        // Lowest score first; the engine clamps wagers and benches non-positive scores. The
+        // tablet may have started it already, and judged some seats: those are not asked again.
+        if (engine.phase() == GameEngine.Phase.BOARD) engine.startFinal();
+
+        List<Integer> playing = new ArrayList<>();
+        List<String> benched = new ArrayList<>();
+        for (int i : engine.finalOrder()) {
+            if (!engine.canPlayFinal(i)) benched.add(contestants[i].name);
+            else if (!engine.isFinalDone(i)) playing.add(i);
+        }
+        String sittingOut = benched.isEmpty() ? null
+                : "Non-positive score, sitting out Final Jeopardy: " + String.join(", ", benched);
+
+        if (crowd) {
+            // Two dialogs per seat would be hundreds in a row: one table instead
+            if (!playing.isEmpty()) finalJeopardyTable(playing, sittingOut);
+            else if (sittingOut != null) JOptionPane.showMessageDialog(frame, wrapped(sittingOut));
+        } else {
+            if (sittingOut != null) JOptionPane.showMessageDialog(frame, sittingOut);
+
+            // ===== Get wagers and correctness sequentially =====
+            for (int i : playing) {
+                if (engine.phase() != GameEngine.Phase.FINAL) break;
+                Contestant c = contestants[i];
+
+                String input = JOptionPane.showInputDialog(
+                        frame,
+                        c.name + ", enter your Final Jeopardy wager (0–" + c.score() + "):",
+                        "Final Jeopardy Wager",
+                        JOptionPane.PLAIN_MESSAGE
+                );
+
+                int wager;
+                try {
+                    wager = Integer.parseInt(input.trim());
+                } catch (Exception e) {
+                    wager = 0;
+                }
+                engine.finalWager(i, wager);
+
+                int correct = JOptionPane.showConfirmDialog(
+                        frame,
+                        finalJeopardyClue.answer() + "\n\nDid " + c.name + " answer correctly?",
+                        "Final Jeopardy Result",
+                        JOptionPane.YES_NO_OPTION
+                );
+
+                engine.finalJudge(i, correct == JOptionPane.YES_OPTION);
             }
         }
-        fields.add(sb.toString().trim());
-        return fields.toArray(new String[0]);
+        if (engine.phase() == GameEngine.Phase.GAME_OVER && !SCENE_FINALE.equals(scenes.current())) showFinale();
     }
 
     /**
-     * Wrap text every N characters by inserting <br> tags.
+     * Crowd mode's Final Jeopardy: every playing seat's wager and ruling in one table, lowest
+     * score first. Cancelling applies nothing, so the host can open it again.
      */
-    private String wrapText(String text, int maxCharsPerLine) {
-        StringBuilder sb = new StringBuilder();
-        int count = 0;
-        for (String word : text.split(" ")) {
-            sb.append(word).append(" ");
-            count += word.length() + 1;
-            if (count >= maxCharsPerLine) {
-                sb.append("<br>");
-                count = 0;
+    private void finalJeopardyTable(List<Integer> seats, String sittingOut) {
+        DefaultTableModel model = new DefaultTableModel(new Object[] {"Contestant", "Score", "Wager", "Correct"}, 0) {
+            @Override
+            public Class<?> getColumnClass(int col) {
+                return col == 3 ? Boolean.class : col == 0 ? String.class : Integer.class;
             }
+
+            @Override
+            public boolean isCellEditable(int row, int col) {
+                return col >= 2;
+            }
+        };
+        for (int i : seats) model.addRow(new Object[] {contestants[i].name, contestants[i].score(), 0, false});
+        JTable table = new JTable(model);
+        table.setRowHeight(24);
+        JScrollPane rows = new JScrollPane(table);
+        rows.setPreferredSize(new Dimension(560, Math.min(420, table.getRowHeight() * (seats.size() + 2))));
+
+        String header = "Answer: " + finalJeopardyClue.answer() + (sittingOut != null ? "\n\n" + sittingOut : "");
+        int choice = JOptionPane.showConfirmDialog(frame, new Object[] {wrapped(header), rows},
+                "Final Jeopardy Wagers and Results", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (table.isEditing()) table.getCellEditor().stopCellEditing(); // the cell still being typed in
+        if (choice != JOptionPane.OK_OPTION) return;
+
+        for (int row = 0; row < seats.size(); row++) {
+            if (engine.phase() != GameEngine.Phase.FINAL) break;
+            int seat = seats.get(row);
+            engine.finalWager(seat, model.getValueAt(row, 2) instanceof Integer wager ? wager : 0);
+            engine.finalJudge(seat, Boolean.TRUE.equals(model.getValueAt(row, 3)));
         }
-        return sb.toString().trim();
     }
 
-    private void enableDynamicFontScaling(JPanel targetPanel) {
-        frame.addComponentListener(new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                int width = frame.getWidth();
-                int height = frame.getHeight();
+    /** Long text for a dialog, wrapped and scrollable rather than one line as wide as the screen. */
+    private static JComponent wrapped(String text) {
+        JTextArea area = new JTextArea(text, Math.min(8, 1 + text.length() / 60), 48);
+        area.setLineWrap(true);
+        area.setWrapStyleWord(true);
+        area.setEditable(false);
+        area.setCaretPosition(0);
+        return new JScrollPane(area);
+    }
 
-                // Scale font size roughly proportionally to window width
-                int baseSize = Math.min(width, height) / 40; // adjust divisor for tuning
-                Font dynamicFont = getGameFont(baseSize, true);
+    /** Dramatic full-screen results, once Final Jeopardy is judged. */
+    private void showFinale() {
+        Contestant winner = contestants[engine.leader()];
+
+        Contestant[] ranked = Arrays.stream(contestants)
+                .sorted((a, b) -> Integer.compare(b.score(), a.score()))
+                .toArray(Contestant[]::new);
+        for (int i = 0; i < finaleScoreLabels.length; i++) {
+            JLabel lbl = finaleScoreLabels[i];
+            lbl.setText(ranked[i].name + ": $" + ranked[i].score());
+            lbl.setForeground(ranked[i] == winner ? new Color(255, 215, 0) : Color.WHITE);
+            lbl.setVisible(false); // initially hidden for dramatic reveal
+        }
+        finaleWinnerLabel.setText(winner.name.toUpperCase() + " IS THE CHAMPION!");
+        finaleWinnerLabel.setVisible(false);
+
+        scenes.show(SCENE_FINALE);
+        revealStep = 0;
+        JComponent finale = scenes.scene(SCENE_FINALE);
+        shimmer = AnimationClock.every(finale, 80, shimmerStep);
+        reveal = AnimationClock.every(finale, 900, revealNext);
+    }
 
-                // Apply scaled font to all components in the board
-                updateFontRecursively(targetPanel, dynamicFont);
-            }
+    // ===== Network buzzers =====
+
+    private void startBuzzers() {
+        if (BUZZER_PORT <= 0) return;
+        int seats = Math.min(contestants.length, BuzzerServer.MAX_SEATS);
+        if (seats < contestants.length)
+            JOptionPane.showMessageDialog(frame, "Network buzzers reach seats 1-" + seats + " only; seats " + (seats + 1)
+                    + "-" + contestants.length + " buzz in from the laptop.");
+        try {
+            buzzers = new BuzzerServer(BUZZER_PORT, seats,
+                    (seat, buzzNanos) -> SwingUtilities.invokeLater(() -> networkBuzz(seat, buzzNanos)));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(frame, "Buzzers are off, port " + BUZZER_PORT + " unavailable: " + ex.getMessage());
+        }
+    }
+
+    /** The buzzer server picked a winner; they answer as if the host had chosen them. */
+    private void networkBuzz(int seat, long buzzNanos) {
+        // The host may have moved on, or picked someone by hand, while this was queued
+        if (engine.phase() != GameEngine.Phase.CLUE_OPEN) return;
+        Contestant c = contestants[seat];
+        handleAnswerAttempt(c);
+        scenes.afterNextPaint(() -> {
+            long nanos = System.nanoTime() - buzzNanos;
+            EdtMonitor.record(EdtMonitor.BUZZ, nanos);
+            if (BUZZER_STATS) System.err.printf("buzz %s -> screen: %.2f ms%n", c.name, nanos / 1e6);
+        });
+    }
+
+    // ===== Spectators =====
+
+    private void startSpectators() {
+        if (SPECTATOR_PORT <= 0) return;
+        try {
+            spectators = new SpectatorFeed(SPECTATOR_PORT);
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(frame, "Spectator feed is off, port " + SPECTATOR_PORT + " unavailable: " + ex.getMessage());
+        }
+    }
+
+    /** The whole board to spectators, whenever it is rebuilt. */
+    private void publishBoard() {
+        if (spectators == null) return;
+        int[] columns = categoryOrder.stream().mapToInt(cat -> byCategory.get(cat).size()).toArray();
+        int[] values = allClues.stream().mapToInt(c -> c.value).toArray();
+        BitSet asked = new BitSet();
+        for (Clue c : allClues) if (c.asked()) asked.set(c.slot);
+        int[] scores = Arrays.stream(contestants).mapToInt(Contestant::score).toArray();
+        spectators.board(categoryOrder.toArray(String[]::new), columns, values, asked, contestantNames(), scores);
+    }
+
+    private String[] contestantNames() {
+        return Arrays.stream(contestants).map(c -> c.name).toArray(String[]::new);
+    }
+
+    // ===== Host control API =====
+    // Each action does what the host's click would, through the same handlers, and refuses
+    // (IllegalStateException) what the screen on show doesn't offer; it never opens a dialog,
+    // since that would hold up the reply until someone at the laptop closed it.
+
+    /** Serves the control API on {@code port}, 0 for any free one; call on the EDT. */
+    ControlServer startControl(int port) throws IOException {
+        ControlServer control = new ControlServer(port, this::controlState);
+        onControl(control, "open", p -> controlOpen(p.number("slot")));
+        onControl(control, "judge", p -> controlJudge(p.flag("correct"), p.number("seat", -1)));
+        onControl(control, "wager", p -> controlWager(p.number("seat"), p.number("amount")));
+        onControl(control, "adjust", p -> controlAdjust(p.number("seat"), p.number("score")));
+        onControl(control, "advance", p -> controlAdvance(p.flag("final", false)));
+        return control;
+    }
+
+    /**
+     * Registers an action that is refused while the laptop has a dialog up: the dialog's code is
+     * paused mid-flow (e.g. between a Final Jeopardy wager and its ruling) and would carry on
+     * from a game the tablet had moved under it.
+     */
+    private void onControl(ControlServer control, String name, ControlServer.Action action) {
+        control.on(name, p -> {
+            if (hostDialogOpen()) throw new IllegalStateException("The host has a dialog open on the laptop");
+            action.run(p);
         });
     }
 
-    private void updateFontRecursively(Component comp, Font font) {
-        comp.setFont(font);
-        if (comp instanceof Container container) {
-            for (Component child : container.getComponents()) {
-                updateFontRecursively(child, font);
+    private static boolean hostDialogOpen() {
+        for (Window w : Window.getWindows())
+            if (w instanceof Dialog d && d.isModal() && d.isShowing()) return true;
+        return false;
+    }
+
+    private void controlOpen(int slot) {
+        if (slot < 0 || slot >= allClues.size()) throw new IllegalArgumentException("No clue " + slot);
+        if (!SCENE_BOARD.equals(scenes.current())) throw new IllegalStateException("The board is not showing");
+        if (engine.phase() != GameEngine.Phase.BOARD) throw new IllegalStateException("Expected BOARD but in " + engine.phase());
+        if (engine.isAsked(slot)) throw new IllegalStateException("Clue " + slot + " was already played");
+        showClue(allClues.get(slot), tileDimmers[slot]);
+    }
+
+    /** Rules on whoever is answering; with a seat, on that contestant, buzzing them in first if nobody is. */
+    private void controlJudge(boolean correct, int seat) {
+        if (seat >= contestants.length) throw new IllegalArgumentException("No seat " + seat);
+        switch (engine.phase()) {
+            case FINAL -> {
+                if (seat < 0) throw new IllegalArgumentException("Final Jeopardy is judged per seat");
+                engine.finalJudge(seat, correct);
+                if (engine.phase() == GameEngine.Phase.GAME_OVER) showFinale();
             }
+            case CLUE_OPEN -> {
+                if (seat < 0) throw new IllegalStateException("Nobody has buzzed in");
+                handleAnswerAttempt(contestants[seat]);
+                judged(correct);
+            }
+            case ANSWERING -> {
+                if (seat >= 0 && seat != engine.answering())
+                    throw new IllegalStateException(contestants[engine.answering()].name + " is answering");
+                judged(correct);
+            }
+            default -> throw new IllegalStateException("Nothing to judge in " + engine.phase());
         }
     }
 
-    private void smoothTransition(JPanel newPanel) {
-        newPanel.setOpaque(false);
-        JLayeredPane layered = frame.getLayeredPane();
-        layered.add(newPanel, Integer.valueOf(1));
-        newPanel.setBounds(0, 0, frame.getWidth(), frame.getHeight());
+    private void controlWager(int seat, int amount) {
+        if (seat < 0 || seat >= contestants.length) throw new IllegalArgumentException("No seat " + seat);
+        switch (engine.phase()) {
+            case DAILY_DOUBLE -> placeDailyDoubleWager(contestants[seat], amount);
+            case FINAL -> engine.finalWager(seat, amount);
+            default -> throw new IllegalStateException("No wager to place in " + engine.phase());
+        }
+    }
 
-        Timer t = new Timer(20, null);
-        final float[] alpha = {0f};
-        t.addActionListener(_ -> {
-            alpha[0] += 0.05f;
-            if (alpha[0] >= 1f) {
-                frame.setContentPane(newPanel);
-                layered.remove(newPanel);
-                t.stop();
-            } else {
-                newPanel.setOpaque(true);
-                newPanel.repaint();
+    private void controlAdjust(int seat, int score) {
+        if (seat < 0 || seat >= contestants.length) throw new IllegalArgumentException("No seat " + seat);
+        engine.adjustScore(seat, score);
+    }
+
+    /** On to the next screen, as its own button or timer would; {@code toFinal} leaves a board with clues on it. */
+    private void controlAdvance(boolean toFinal) {
+        switch (scenes.current()) {
+            case SCENE_BOARD -> {
+                if (engine.phase() != GameEngine.Phase.BOARD) throw new IllegalStateException("The game is over");
+                if (!engine.isBoardCleared() && !toFinal)
+                    throw new IllegalStateException(engine.remainingClues() + " clues left; advance with final=true to go to Final Jeopardy anyway");
+                if (finalJeopardyClue == null) throw new IllegalStateException("No Final Jeopardy question in file");
+                showFinalJeopardyCategorySlide();
+            }
+            case SCENE_DAILY_DOUBLE -> showDailyDoubleInlineChooser();
+            case SCENE_QUESTION -> {
+                if (!questionBar.equals(BAR_BUZZ)) throw new IllegalStateException(switch (questionBar) {
+                    case BAR_DD_CHOOSER -> "Waiting for the Daily Double wager";
+                    case BAR_OPTIONS -> "Waiting for who buzzed in";
+                    default -> "Waiting for a ruling";
+                });
+                // No Buzz
+                engine.closeClue();
+                backToBoard();
+            }
+            case SCENE_ANSWER -> answerShown();
+            case SCENE_FJ_CATEGORY -> showFinalJeopardyQuestion();
+            case SCENE_FJ_QUESTION -> {
+                // Wagers and rulings then come per seat; the finale shows once the last is judged
+                if (engine.phase() == GameEngine.Phase.FINAL)
+                    throw new IllegalStateException("Waiting for Final Jeopardy wagers and rulings");
+                engine.startFinal();
+                if (engine.phase() == GameEngine.Phase.GAME_OVER) showFinale(); // nobody could play
+            }
+            default -> backToBoard(); // winner, finale
+        }
+    }
+
+    /** Everything a host tablet shows, as one JSON object. */
+    private StringBuilder controlState() {
+        StringBuilder sb = new StringBuilder(512);
+        Json.quote(sb.append("{\"scene\":"), scenes.current());
+        Json.quote(sb.append(",\"bar\":"), SCENE_QUESTION.equals(scenes.current()) ? questionBar : null);
+        sb.append(",\"phase\":\"").append(engine.phase()).append('"');
+        sb.append(",\"clue\":").append(engine.currentClue());
+        sb.append(",\"answering\":").append(engine.answering());
+        sb.append(",\"stake\":").append(engine.stake());
+        Json.array(sb.append(",\"categories\":"), categoryOrder.toArray(String[]::new));
+        Json.array(sb.append(",\"columns\":"), categoryOrder.stream().mapToInt(cat -> byCategory.get(cat).size()).toArray());
+        Json.array(sb.append(",\"values\":"), allClues.stream().mapToInt(c -> c.value).toArray());
+        sb.append(",\"asked\":\"");
+        for (int i = 0; i < engine.clueCount(); i++) sb.append(engine.isAsked(i) ? '1' : '0');
+        sb.append('"');
+        Json.array(sb.append(",\"names\":"), contestantNames());
+        Json.array(sb.append(",\"scores\":"), Arrays.stream(contestants).mapToInt(Contestant::score).toArray());
+        if (engine.phase() == GameEngine.Phase.FINAL) {
+            sb.append(",\"finalDone\":\"");
+            for (int i = 0; i < contestants.length; i++) sb.append(engine.isFinalDone(i) ? '1' : '0');
+            sb.append('"');
+        }
+        return sb.append('}');
+    }
+
+    // ===== Journal: crash recovery, undo and playback =====
+
+    /**
+     * Opens the journal and records every engine command to it from now on. If the journal
+     * holds an interrupted game the host may resume it, which restores board and scores and
+     * returns true; otherwise the old journal is set aside and a new one started.
+     */
+    private boolean openJournal() {
+        if (JOURNAL_PATH.isEmpty()) return false;
+        File file = new File(JOURNAL_PATH);
+        boolean resumed = false;
+        try {
+            if (file.isFile() && file.length() > 0) {
+                List<GameJournal.Entry> saved = trimToBoard(GameJournal.effective(GameJournal.read(file)));
+                if (isResumable(saved) && JOptionPane.showConfirmDialog(frame,
+                        "A game was interrupted. Resume it?", "Resume", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+                    try {
+                        restore(saved);
+                        GameJournal.rewrite(file, saved); // drops undone turns and any torn tail
+                        resumed = true;
+                    } catch (IOException ex) {
+                        JOptionPane.showMessageDialog(frame, "Could not resume: " + ex.getMessage());
+                    }
+                }
+                if (!resumed) setAside(file);
+            }
+            journal = GameJournal.open(file);
+        } catch (IOException ex) {
+            // Unreadable: move it out of the way and record this game in a fresh one
+            System.err.println("Journal " + file + " not usable, starting a new one: " + ex.getMessage());
+            setAside(file);
+            try {
+                journal = GameJournal.open(file);
+            } catch (IOException again) {
+                System.err.println("Journal " + file + " not usable, game will not be recorded: " + again.getMessage());
+            }
+        }
+        engine.setRecorder(c -> record(new GameJournal.Played(c)));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (journal != null) journal.close();
+        }));
+        return resumed;
+    }
+
+    /**
+     * Keeps the last game's journal next to the new one as {@code <journal>.prev}, for playback.
+     * Only the one: older games are dropped, so journals don't pile up in the home folder.
+     */
+    private static void setAside(File file) {
+        File prev = new File(file.getPath() + ".prev");
+        prev.delete(); // renameTo won't replace a file on every platform
+        if (!file.renameTo(prev)) file.delete();
+    }
+
+    private void record(GameJournal.Entry entry) {
+        if (replaying || journal == null) return;
+        history.add(entry);
+        journal.append(entry);
+    }
+
+    /**
+     * Cuts a history back to the last moment the game was on the board: a clue that was open
+     * when the show stopped is played again from the start. Also cuts off anything that does not
+     * replay, e.g. a journal from a game with more contestants.
+     */
+    private List<GameJournal.Entry> trimToBoard(List<GameJournal.Entry> entries) {
+        GameEngine scratch = new GameEngine(contestants.length);
+        int keep = 0;
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                if (entries.get(i) instanceof GameJournal.Played p) scratch.apply(p.command());
+                if (scratch.phase() == GameEngine.Phase.BOARD || scratch.phase() == GameEngine.Phase.GAME_OVER) keep = i + 1;
+            }
+        } catch (RuntimeException ex) {
+            System.err.println("Journal stops replaying at a bad entry: " + ex.getMessage());
+        }
+        return new ArrayList<>(entries.subList(0, keep));
+    }
+
+    /** A board was dealt, something happened on it, and the game did not end. */
+    private boolean isResumable(List<GameJournal.Entry> saved) {
+        boolean dealt = false, played = false;
+        GameEngine scratch = new GameEngine(contestants.length);
+        for (GameJournal.Entry e : saved) {
+            if (e instanceof GameJournal.Dealt) {
+                dealt = true;
+                played = false;
+            } else if (e instanceof GameJournal.Played p) {
+                try {
+                    scratch.apply(p.command());
+                } catch (IndexOutOfBoundsException ex) {
+                    return false; // recorded with more contestants than this game has
+                }
+                if (p.command() instanceof GameEngine.OpenClue || p.command() instanceof GameEngine.AdjustScore) played = true;
+            }
+        }
+        return dealt && played && scratch.phase() == GameEngine.Phase.BOARD;
+    }
+
+    /** Puts the journaled game back on screen: its last board, names, scores and played clues. */
+    private void restore(List<GameJournal.Entry> saved) throws IOException {
+        GameJournal.Dealt deal = null;
+        String[] names = null;
+        for (GameJournal.Entry e : saved) {
+            if (e instanceof GameJournal.Dealt d) deal = d;
+            else if (e instanceof GameJournal.Named n) names = n.names();
+        }
+        installBank(bankForDeal(deal)); // may throw; nothing has changed yet
+        history.clear();
+        history.addAll(saved);
+        replayHistory();
+        if (names != null) {
+            replaying = true;
+            setContestantNames(names);
+            replaying = false;
+        }
+        syncBoardWithEngine();
+    }
+
+    /** The board a {@link GameJournal.Dealt} describes, rebuilt from its clue file. */
+    private ClueBank bankForDeal(GameJournal.Dealt deal) throws IOException {
+        File file = new File(deal.file());
+        CluePack pack = CluePack.openIfFresh(file);
+        if (pack == null) pack = compilePack(file, _ -> {}, () -> false);
+        if (pack.sourceCrc() != deal.sourceCrc()) throw new IOException(file.getName() + " has changed since the game was played");
+
+        ClueStore store = new ClueStore(pack);
+        ClueBank bank = newBankFor(store, poolDrawer(store));
+        for (int i = 0; i < deal.categories().size(); i++) addBoardColumn(bank, deal.categories().get(i), deal.columns().get(i));
+        if (deal.dailyDouble() >= 0) bank.allClues.get(deal.dailyDouble()).setDailyDouble(true);
+        bank.source = file;
+        return bank;
+    }
+
+    /** Rebuilds the engine from the start of the history. */
+    private void replayHistory() {
+        replaying = true;
+        try {
+            engine.clear();
+            for (GameJournal.Entry e : history) {
+                if (e instanceof GameJournal.Played p) engine.apply(p.command());
+            }
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /** Makes the tiles match the engine's played clues. */
+    private void syncBoardWithEngine() {
+        for (Clue c : allClues) c.setAsked(engine.isAsked(c.slot));
+        rebuildBoard();
+    }
+
+    /** Takes back the last clue played or score adjusted, however it went. */
+    private void undoLastTurn() {
+        if (engine.phase() != GameEngine.Phase.BOARD || !GameJournal.undoLastTurn(history)) {
+            JOptionPane.showMessageDialog(frame, "Nothing to undo.");
+            return;
+        }
+        journal.append(new GameJournal.Undone());
+        replayHistory();
+        syncBoardWithEngine();
+    }
+
+    /** Plays a journal back on the board, one entry per step, without recording anything. */
+    private void playBack(File file) {
+        List<GameJournal.Entry> entries;
+        try {
+            entries = GameJournal.effective(GameJournal.read(file));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(frame, "Could not read " + file + ": " + ex.getMessage());
+            return;
+        }
+        replaying = true;
+        frame.setTitle("Jeopardy - replay of " + file.getName());
+        Iterator<GameJournal.Entry> it = entries.iterator();
+        AnimationClock.every(boardScene, REPLAY_STEP_MILLIS, () -> {
+            if (!it.hasNext()) {
+                if (engine.phase() == GameEngine.Phase.GAME_OVER || engine.isBoardCleared()) showWinnerOverlay();
+                return false;
+            }
+            try {
+                switch (it.next()) {
+                    case GameJournal.Dealt d -> {
+                        installBank(bankForDeal(d));
+                        rebuildBoard();
+                    }
+                    case GameJournal.Named n -> setContestantNames(n.names());
+                    case GameJournal.Played p -> {
+                        engine.apply(p.command());
+                        if (p.command() instanceof GameEngine.OpenClue || p.command() instanceof GameEngine.NewBoard)
+                            syncBoardWithEngine();
+                    }
+                    case GameJournal.Undone _ -> {} // already applied by effective()
+                }
+                return true;
+            } catch (IOException | RuntimeException ex) {
+                JOptionPane.showMessageDialog(frame, "Replay stopped: " + ex.getMessage());
+                return false;
             }
         });
-        t.start();
     }
 
+    // Inner classes
+    static class ClueBank {
+        final Map<String, List<Clue>> byCategory = new LinkedHashMap<>();
+        final List<String> categoryOrder = new ArrayList<>();
+        final List<Clue> allClues = new ArrayList<>();
+        Clue finalJeopardyClue = null;
+        ClueStore store = null; // whole bank; the lists above hold only the board
+        File source = null; // the clue file, when the bank was loaded from one
+        BoardDrawer drawer = null; // set when the bank is a pool that boards are drawn from
+    }
+
+    static class Clue {
+        String category;
+        volatile String question, answer; // null until fetched for store-backed clues
+        int value;
+        ClueStore store = null; // set when this clue is a board view of a store entry
+        int index = -1;
+        int slot = -1; // position on the engine's board
+
+        Clue(String category, int value, String question, String answer) {
+            this.category = category;
+            this.value = value;
+            this.question = question;
+            this.answer = answer;
+        }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new JeopardyGUI().start());
+        String question() {
+            String q = question;
+            if (q == null && store != null) question = q = store.question(index);
+            return q;
+        }
+
+        String answer() {
+            String a = answer;
+            if (a == null && store != null) answer = a = store.answer(index);
+            return a;
+        }
+
+        // Flags live in the store; a clue with none (Final Jeopardy) is never played from the board
+        boolean asked() { return store != null && store.isAsked(index); }
+
+        void setAsked(boolean value) { store.setAsked(index, value); }
+
+        boolean isDailyDouble() { return store != null && store.isDailyDouble(index); }
+
+        void setDailyDouble(boolean value) { store.setDailyDouble(index, value); }
+    }
+
+    class Contestant {
+        final int index; // the engine's contestant number
+        String name;
+        JLabel nameLabel, scoreLabel;
+        Contestant(int index, String name) { this.index = index; this.name = name; }
+        int score() { return engine.score(index); }
+    }
+
+    /** Server mode: no window, just rooms of games over the network sharing one clue bank. */
+    private static void serveRooms(JeopardyGUI gui, LaunchOptions options) throws IOException {
+        if (options.clues() == null) throw new IllegalArgumentException("serve= needs clues=<file>");
+        // The server draws every room's board itself, so no bank (and no second drawer on the
+        // same used-clue file) is made here
+        ClueStore store = gui.openStore(options.clues());
+        try (RoomServer server = new RoomServer(options.serve(), store, options.contestantCount())) {
+            System.out.println("Serving rooms of " + options.contestantCount() + " on port " + server.port());
+            server.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** See {@link LaunchOptions} for the arguments; with none, everything is asked for interactively. */
+    public static void main(String[] args) throws IOException {
+        LaunchOptions options = LaunchOptions.parse(args);
+        JeopardyGUI gui = new JeopardyGUI(options.contestantCount());
+        if (options.serve() >= 0) {
+            serveRooms(gui, options);
+            return;
+        }
+        // Read the bank while the EDT is busy building the frame
+        CompletableFuture<ClueBank> preloaded = options.clues() != null ? gui.preload(options.clues()) : null;
+        SwingUtilities.invokeLater(() -> gui.start(options, preloaded));
     }
 }
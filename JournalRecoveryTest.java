@@ -0,0 +1,326 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that a {@link GameJournal} gives back what was played after the ways a game can end
+ * badly. Plays a random game on a {@link GameEngine}, journals it, then: cuts the file at every
+ * byte and checks each read is an intact prefix; appends a wild count, malformed UTF and an
+ * unknown tag and checks the read stops before them; undoes turns and checks the engine ends up
+ * where the shorter game left it, and back where it was once the turn is played again; and
+ * compacts the journal with {@link GameJournal#rewrite} and checks the restored game is the same.
+ *
+ * Usage: java JournalRecoveryTest [turns=60] [seats=3] [seed=1]
+ * Exits non-zero if a check fails.
+ */
+public class JournalRecoveryTest {
+
+    // Entry tags, as GameJournal writes them
+    private static final int DEALT = 1, NAMED = 2, NEW_BOARD = 10;
+
+    public static void main(String[] args) throws Exception {
+        int turns = 60, seats = 3;
+        long seed = 1;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "turns" -> turns = Integer.parseInt(kv[1]);
+                case "seats" -> seats = Integer.parseInt(kv[1]);
+                case "seed" -> seed = Long.parseLong(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        Game game = play(turns, seats, new Random(seed));
+        File file = File.createTempFile("journal-recovery-test", ".jrn");
+        try {
+            boolean ok = tornTail(file, game);
+            ok &= badTails(file, game);
+            ok &= undoAndReplay(file, game);
+            ok &= restoreAfterRewrite(file, game);
+            System.exit(ok ? 0 : 1);
+        } finally {
+            file.delete();
+        }
+    }
+
+    // ===== The game =====
+
+    /** What was journaled, where each turn starts, and where the last board was dealt. */
+    private record Game(int seats, List<GameJournal.Entry> entries, List<Integer> turnStarts, int lastBoard) {}
+
+    /** Plays random turns, dealing a new board when one runs out, and ends on a finished turn. */
+    private static Game play(int turns, int seats, Random rng) {
+        List<GameJournal.Entry> entries = new ArrayList<>();
+        List<Integer> turnStarts = new ArrayList<>();
+        GameEngine engine = new GameEngine(seats);
+        engine.setRecorder(c -> entries.add(new GameJournal.Played(c)));
+
+        String[] names = new String[seats];
+        for (int i = 0; i < seats; i++) names[i] = i == 1 ? "Zoë 李" : "Player " + (i + 1);
+        entries.add(new GameJournal.Named(names));
+        int lastBoard = deal(engine, entries, rng);
+        for (int t = 0; t < turns; t++) {
+            if (engine.isBoardCleared()) lastBoard = deal(engine, entries, rng);
+            turnStarts.add(entries.size());
+            if (rng.nextInt(10) == 0) {
+                engine.adjustScore(rng.nextInt(seats), 100 * (rng.nextInt(20) - 5));
+                continue;
+            }
+            int slot = rng.nextInt(engine.clueCount());
+            while (engine.isAsked(slot)) slot = (slot + 1) % engine.clueCount();
+            engine.openClue(slot);
+            if (engine.phase() == GameEngine.Phase.DAILY_DOUBLE) {
+                engine.wager(rng.nextInt(seats), 100 * rng.nextInt(30));
+                engine.judge(rng.nextBoolean());
+            } else {
+                for (int tries = 0; tries < seats && engine.phase() == GameEngine.Phase.CLUE_OPEN; tries++) {
+                    if (rng.nextInt(4) == 0) break;
+                    engine.buzz(rng.nextInt(seats));
+                    if (rng.nextInt(6) == 0) engine.pass();
+                    else engine.judge(rng.nextBoolean());
+                }
+                if (engine.phase() == GameEngine.Phase.CLUE_OPEN) engine.noBuzz();
+            }
+            engine.closeClue();
+        }
+        return new Game(seats, entries, turnStarts, lastBoard);
+    }
+
+    /** Deals a board the way the GUI does: the deal, then the engine's new board. Returns its index. */
+    private static int deal(GameEngine engine, List<GameJournal.Entry> entries, Random rng) {
+        int categories = 2 + rng.nextInt(5), rows = 5;
+        List<String> names = new ArrayList<>();
+        List<int[]> columns = new ArrayList<>();
+        int[] values = new int[categories * rows];
+        for (int c = 0; c < categories; c++) {
+            names.add("Category " + c);
+            int[] column = new int[rows];
+            for (int r = 0; r < rows; r++) column[r] = rng.nextInt(1000);
+            columns.add(column);
+            for (int r = 0; r < rows; r++) values[c * rows + r] = 100 * (r + 1);
+        }
+        int dailyDouble = rng.nextInt(values.length);
+        entries.add(new GameJournal.Dealt("clues.csv", rng.nextLong(), dailyDouble, names, columns));
+        int board = entries.size();
+        engine.newBoard(values, dailyDouble);
+        return board;
+    }
+
+    // ===== Torn tail =====
+
+    private static boolean tornTail(File file, Game game) throws IOException {
+        journal(file, game.entries());
+        List<String> full = describe(game.entries());
+        boolean ok = check("journal reads back whole", describe(GameJournal.read(file)), full);
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        boolean prefixes = true;
+        int whole = 0;
+        for (int cut = 0; cut <= bytes.length; cut++) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(cut);
+            }
+            List<String> read = describe(GameJournal.read(file));
+            prefixes &= read.size() <= full.size() && read.equals(full.subList(0, read.size()));
+            if (cut == bytes.length) whole = read.size();
+            Files.write(file.toPath(), bytes);
+        }
+        ok &= check("every cut reads an intact prefix", prefixes);
+        ok &= check("uncut file reads every entry", whole == full.size());
+        return ok;
+    }
+
+    // ===== Bad tails =====
+
+    private static boolean badTails(File file, Game game) throws IOException {
+        List<String> full = describe(game.entries());
+        boolean ok = true;
+        ok &= check("negative count in a deal", appendAndRead(file, game, out -> {
+            out.writeByte(DEALT);
+            out.writeUTF("clues.csv");
+            out.writeLong(0);
+            out.writeInt(-1);
+            out.writeInt(-7);
+        }), full);
+        ok &= check("huge count in the names", appendAndRead(file, game, out -> {
+            out.writeByte(NAMED);
+            out.writeInt(0x7fffffff);
+        }), full);
+        ok &= check("negative count in a board", appendAndRead(file, game, out -> {
+            out.writeByte(NEW_BOARD);
+            out.writeInt(-1);
+        }), full);
+        ok &= check("malformed UTF in a name", appendAndRead(file, game, out -> {
+            out.writeByte(NAMED);
+            out.writeInt(1);
+            out.writeShort(2);
+            out.writeByte(0xC3); // a two-byte lead...
+            out.writeByte(0x28); // ...without its continuation byte
+        }), full);
+        ok &= check("unknown entry tag", appendAndRead(file, game, out -> out.writeByte(99)), full);
+        return ok;
+    }
+
+    private interface Tail {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** Journals the game, appends raw bytes after it and reads it back. */
+    private static List<String> appendAndRead(File file, Game game, Tail tail) throws IOException {
+        journal(file, game.entries());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            tail.write(out);
+            out.writeUTF("trailing bytes a reader must not reach");
+        }
+        Files.write(file.toPath(), bytes.toByteArray(), StandardOpenOption.APPEND);
+        try {
+            return describe(GameJournal.read(file));
+        } catch (IOException | RuntimeException ex) {
+            return List.of("threw " + ex);
+        }
+    }
+
+    // ===== Undo =====
+
+    private static boolean undoAndReplay(File file, Game game) throws IOException {
+        List<GameJournal.Entry> entries = game.entries();
+        List<Integer> starts = game.turnStarts();
+        boolean ok = true;
+
+        // Undo the last few turns, back to the last board at most, which is never undone
+        List<GameJournal.Entry> undone = new ArrayList<>(entries);
+        int cut = entries.size();
+        boolean matches = true;
+        for (int undos = 1; undos <= 4; undos++) {
+            undone.add(new GameJournal.Undone());
+            int start = starts.get(starts.size() - undos);
+            if (start > game.lastBoard()) cut = start;
+            journal(file, undone);
+            List<GameJournal.Entry> effective = GameJournal.effective(GameJournal.read(file));
+            matches &= describe(effective).equals(describe(entries.subList(0, cut)));
+            matches &= state(game.seats(), effective).equals(state(game.seats(), entries.subList(0, cut)));
+        }
+        ok &= check("undo matches the shorter game", matches);
+
+        // Undo the last turn, then play it again
+        List<GameJournal.Entry> replayed = new ArrayList<>(entries);
+        replayed.add(new GameJournal.Undone());
+        replayed.addAll(entries.subList(starts.get(starts.size() - 1), entries.size()));
+        journal(file, replayed);
+        List<GameJournal.Entry> effective = GameJournal.effective(GameJournal.read(file));
+        ok &= check("undo then replay is the same game", state(game.seats(), effective).equals(state(game.seats(), entries)));
+
+        // Nothing before the last board comes back off
+        List<GameJournal.Entry> board = new ArrayList<>(entries.subList(0, game.lastBoard() + 1));
+        board.add(new GameJournal.Undone());
+        ok &= check("undo stops at a new board",
+                describe(GameJournal.effective(board)).equals(describe(entries.subList(0, game.lastBoard() + 1))));
+        return ok;
+    }
+
+    // ===== Rewrite =====
+
+    private static boolean restoreAfterRewrite(File file, Game game) throws IOException {
+        List<GameJournal.Entry> journaled = new ArrayList<>(game.entries());
+        journaled.add(new GameJournal.Undone());
+        journal(file, journaled);
+        // Tear the tail too, as a crash would have
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length());
+            raf.writeByte(NAMED);
+            raf.writeShort(0);
+        }
+        List<GameJournal.Entry> saved = GameJournal.effective(GameJournal.read(file));
+        GameJournal.rewrite(file, saved);
+
+        List<GameJournal.Entry> restored = GameJournal.read(file);
+        boolean ok = check("rewrite reads back the same entries", describe(restored), describe(saved));
+        ok &= check("rewrite leaves no undos", restored.stream().noneMatch(e -> e instanceof GameJournal.Undone));
+        ok &= check("restored game has the same state", state(game.seats(), restored).equals(state(game.seats(), saved)));
+        ok &= check("rewrite leaves no temp file", !new File(file.getPath() + ".tmp").exists());
+
+        // The game carries on in the rewritten file
+        GameJournal.Entry next = new GameJournal.Played(new GameEngine.AdjustScore(0, 1234));
+        GameJournal journal = GameJournal.open(file);
+        journal.append(next);
+        journal.close();
+        List<GameJournal.Entry> expected = new ArrayList<>(saved);
+        expected.add(next);
+        ok &= check("appends after a rewrite", describe(GameJournal.read(file)), describe(expected));
+        return ok;
+    }
+
+    // ===== Helpers =====
+
+    /** Writes {@code entries} to a fresh journal through the background writer. */
+    private static void journal(File file, List<GameJournal.Entry> entries) throws IOException {
+        file.delete();
+        GameJournal journal = GameJournal.open(file);
+        for (GameJournal.Entry e : entries) journal.append(e);
+        journal.close();
+    }
+
+    /** Replays the commands on a fresh engine and sums up everything it would show. */
+    private static String state(int seats, List<GameJournal.Entry> entries) {
+        GameEngine engine = new GameEngine(seats);
+        try {
+            for (GameJournal.Entry e : entries) if (e instanceof GameJournal.Played p) engine.apply(p.command());
+        } catch (IllegalStateException ex) {
+            return "replay stopped: " + ex.getMessage(); // a history the engine refuses never matches one it took
+        }
+        StringBuilder sb = new StringBuilder().append(engine.phase());
+        for (int i = 0; i < seats; i++) sb.append(' ').append(engine.score(i));
+        sb.append(" asked=");
+        for (int slot = 0; slot < engine.clueCount(); slot++) sb.append(engine.isAsked(slot) ? '1' : '0');
+        sb.append(" remaining=").append(engine.remainingClues())
+                .append(" clue=").append(engine.currentClue())
+                .append(" answering=").append(engine.answering())
+                .append(" stake=").append(engine.stake());
+        return sb.toString();
+    }
+
+    /** Entries as text, since records holding arrays don't compare by content. */
+    private static List<String> describe(List<GameJournal.Entry> entries) {
+        List<String> out = new ArrayList<>(entries.size());
+        for (GameJournal.Entry e : entries) {
+            out.add(switch (e) {
+                case GameJournal.Dealt d -> "Dealt " + d.file() + " " + d.sourceCrc() + " " + d.dailyDouble()
+                        + " " + d.categories() + " " + d.columns().stream().map(Arrays::toString).toList();
+                case GameJournal.Named n -> "Named " + Arrays.toString(n.names());
+                case GameJournal.Undone _ -> "Undone";
+                case GameJournal.Played p when p.command() instanceof GameEngine.NewBoard b ->
+                        "NewBoard " + Arrays.toString(b.values()) + " " + Arrays.toString(b.dailyDoubles());
+                case GameJournal.Played p -> p.command().toString();
+            });
+        }
+        return out;
+    }
+
+    // ===== Reporting =====
+
+    private static boolean check(String what, List<String> actual, List<String> expected) {
+        boolean passed = check(what, actual.equals(expected));
+        if (!passed) {
+            int i = 0;
+            while (i < Math.min(actual.size(), expected.size()) && actual.get(i).equals(expected.get(i))) i++;
+            System.out.printf("      %d vs %d entries; first difference at %d:%n      expected %s%n      actual   %s%n",
+                    expected.size(), actual.size(), i,
+                    i < expected.size() ? expected.get(i) : "(end)", i < actual.size() ? actual.get(i) : "(end)");
+        }
+        return passed;
+    }
+
+    private static boolean check(String what, boolean passed) {
+        System.out.printf("  %-40s %s%n", what, passed ? "ok" : "FAILED");
+        return passed;
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Just enough JSON for the game's HTTP endpoints; no library needed. */
+final class Json {
+    private Json() {}
+
+    /** Appends {@code s} as a JSON string, or {@code null}. */
+    static StringBuilder quote(StringBuilder sb, String s) {
+        if (s == null) return sb.append("null");
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (ch < 0x20) sb.append(String.format("\\u%04x", (int) ch));
+                    else sb.append(ch);
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+    static StringBuilder array(StringBuilder sb, String[] items) {
+        sb.append('[');
+        for (int i = 0; i < items.length; i++) {
+            if (i > 0) sb.append(',');
+            quote(sb, items[i]);
+        }
+        return sb.append(']');
+    }
+
+    static StringBuilder array(StringBuilder sb, int[] items) {
+        sb.append('[');
+        for (int i = 0; i < items.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(items[i]);
+        }
+        return sb.append(']');
+    }
+
+    /**
+     * Reads a flat object, the most a request body needs: every value a string, number, boolean
+     * or null, returned as its text (null as {@code null}). Throws IllegalArgumentException on
+     * anything else.
+     */
+    static Map<String, String> object(String json) {
+        Reader in = new Reader(json);
+        Map<String, String> fields = new LinkedHashMap<>();
+        in.expect('{');
+        if (!in.skip('}')) {
+            do {
+                String name = in.string();
+                in.expect(':');
+                fields.put(name, in.peek() == '"' ? in.string() : in.literal());
+            } while (in.skip(','));
+            in.expect('}');
+        }
+        if (in.peek() != -1) throw new IllegalArgumentException("Trailing text after JSON object");
+        return fields;
+    }
+
+    private static final class Reader {
+        private final String s;
+        private int pos;
+
+        Reader(String s) {
+            this.s = s;
+        }
+
+        int peek() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+            return pos < s.length() ? s.charAt(pos) : -1;
+        }
+
+        boolean skip(char ch) {
+            if (peek() != ch) return false;
+            pos++;
+            return true;
+        }
+
+        void expect(char ch) {
+            if (!skip(ch)) throw new IllegalArgumentException("Expected '" + ch + "' at " + pos + " in JSON");
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length()) throw new IllegalArgumentException("Unterminated JSON string");
+                char ch = s.charAt(pos++);
+                if (ch == '"') return sb.toString();
+                if (ch != '\\') {
+                    sb.append(ch);
+                    continue;
+                }
+                if (pos >= s.length()) throw new IllegalArgumentException("Unterminated JSON string");
+                char esc = s.charAt(pos++);
+                switch (esc) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw new IllegalArgumentException("Bad \\u escape in JSON");
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("Bad \\u escape in JSON");
+                        }
+                        pos += 4;
+                    }
+                    default -> sb.append(esc); // \" \\ \/
+                }
+            }
+        }
+
+        /** A number, true, false or null. */
+        String literal() {
+            peek();
+            int start = pos;
+            while (pos < s.length() && ("+-.eE".indexOf(s.charAt(pos)) >= 0 || Character.isLetterOrDigit(s.charAt(pos)))) pos++;
+            String text = s.substring(start, pos);
+            if (text.isEmpty() || !(text.equals("true") || text.equals("false") || text.equals("null")
+                    || Character.isDigit(text.charAt(0)) || text.charAt(0) == '-'))
+                throw new IllegalArgumentException("Expected a string, number, boolean or null at " + start + " in JSON");
+            return text.equals("null") ? null : text;
+        }
+    }
+}
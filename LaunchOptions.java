@@ -0,0 +1,73 @@
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * What to start a show with, from the command line or a config file, so the game can skip the
+ * file chooser and name prompts and go straight to the board.
+ *
+ * Arguments are {@code key=value}: {@code clues=<csv>}, {@code names=Alice,Bob,Carol},
+ * {@code contestants=<n>} (default: one per name, or 3),
+ * {@code config=<file>} (a properties file with the same keys; arguments win over it),
+ * {@code exitAfterBoard=true}, which quits once the first board is painted, and
+ * {@code replay=<journal>}, which plays a recorded game back at speed instead of starting one
+ * (see {@link GameJournal}). {@code serve=<port>} runs no window at all but a {@link RoomServer}
+ * for many games at once on the clues given, with {@code contestants} seats per room.
+ * With no arguments the game asks for everything interactively.
+ *
+ * For launches under a second, dump a class-data-sharing archive once and reuse it:
+ * <pre>
+ *   java -XX:ArchiveClassesAtExit=jeopardy.jsa JeopardyGUI clues=show.csv names=A,B,C exitAfterBoard=true
+ *   java -XX:SharedArchiveFile=jeopardy.jsa JeopardyGUI clues=show.csv names=A,B,C
+ * </pre>
+ * or let the JVM keep it current with {@code -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=jeopardy.jsa}.
+ * {@code -Djeopardy.startupTiming=true} prints the time from process start to the first board.
+ */
+record LaunchOptions(File clues, String[] names, int contestants, boolean exitAfterBoard, File replay,
+                     int serve) {
+
+    static final LaunchOptions INTERACTIVE = new LaunchOptions(null, null, 0, false, null, -1);
+
+    static LaunchOptions parse(String[] args) throws IOException {
+        Properties props = new Properties();
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Expected key=value but got " + arg);
+            if (kv[0].equals("config")) {
+                try (Reader in = new FileReader(kv[1])) {
+                    Properties file = new Properties();
+                    file.load(in);
+                    file.forEach(props::putIfAbsent);
+                }
+            } else {
+                props.setProperty(kv[0], kv[1]);
+            }
+        }
+        for (String key : props.stringPropertyNames()) {
+            if (!key.equals("clues") && !key.equals("names") && !key.equals("exitAfterBoard")
+                    && !key.equals("replay") && !key.equals("contestants")
+                    && !key.equals("serve"))
+                throw new IllegalArgumentException("Unknown option " + key);
+        }
+
+        String clues = props.getProperty("clues");
+        String names = props.getProperty("names");
+        String replay = props.getProperty("replay");
+        return new LaunchOptions(
+                clues != null ? new File(clues) : null,
+                names != null ? Arrays.stream(names.split(",")).map(String::trim).toArray(String[]::new) : null,
+                Integer.parseInt(props.getProperty("contestants", "0")),
+                Boolean.parseBoolean(props.getProperty("exitAfterBoard")),
+                replay != null ? new File(replay) : null,
+                Integer.parseInt(props.getProperty("serve", "-1")));
+    }
+
+    /** How many seats the game has: as asked, else one per name, else the classic three. */
+    int contestantCount() {
+        if (contestants > 0) return contestants;
+        return names != null && names.length > 0 ? names.length : 3;
+    }
+}
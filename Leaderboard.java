@@ -0,0 +1,103 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.IntFunction;
+
+/**
+ * Standings for games with many contestants: a scrolling list, highest score first, where only
+ * the rows in view are ever painted. Rows have a fixed height and width, so the list never
+ * measures rows it does not show, and a score change moves one entry in a {@link RankIndex}
+ * and repaints just the rows between its old and new place.
+ */
+@SuppressWarnings("serial")
+final class Leaderboard extends JScrollPane {
+    private static final int ROW_HEIGHT = 28;
+
+    private final RankIndex ranks;
+    private final Model model = new Model();
+
+    Leaderboard(int seats, IntFunction<String> names, Color background, Color foreground) {
+        ranks = new RankIndex(seats);
+        JList<Integer> list = new JList<>(model);
+        list.setFixedCellHeight(ROW_HEIGHT);
+        list.setFixedCellWidth(1); // the viewport width decides; nothing is measured
+        list.setBackground(background);
+        list.setCellRenderer(new Row(names, foreground));
+        list.setFocusable(false);
+        setViewportView(list);
+        setHorizontalScrollBarPolicy(HORIZONTAL_SCROLLBAR_NEVER);
+        getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT);
+        setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+        getViewport().setBackground(background);
+    }
+
+    void scoreChanged(int seat, int score) {
+        int from = ranks.rankOf(seat);
+        ranks.update(seat, score);
+        int to = ranks.rankOf(seat);
+        model.changed(Math.min(from, to), Math.max(from, to));
+    }
+
+    /** Names changed; repaints the rows in view. */
+    void namesChanged() {
+        model.changed(0, ranks.size() - 1);
+    }
+
+    @Override
+    public boolean isValidateRoot() {
+        return true;
+    }
+
+    private final class Model extends AbstractListModel<Integer> {
+        @Override
+        public int getSize() {
+            return ranks.size();
+        }
+
+        @Override
+        public Integer getElementAt(int index) {
+            return ranks.seatAt(index);
+        }
+
+        void changed(int from, int to) {
+            fireContentsChanged(this, from, to);
+        }
+    }
+
+    /** Paints "rank. name" on the left and the score on the right, clipped to the row. */
+    private final class Row extends JComponent implements ListCellRenderer<Integer> {
+        private final IntFunction<String> names;
+        private final Font font = FontCache.get("SansSerif", Font.BOLD, 16);
+        private String label = "", score = "";
+        private boolean leader;
+
+        Row(IntFunction<String> names, Color foreground) {
+            this.names = names;
+            setForeground(foreground);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Integer> list, Integer seat, int index,
+                                                      boolean selected, boolean focused) {
+            label = (index + 1) + ". " + names.apply(seat);
+            score = "$" + ranks.score(seat);
+            leader = index == 0;
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(font);
+            g2.setColor(leader ? getForeground() : Color.WHITE);
+            FontMetrics fm = g2.getFontMetrics();
+            int baseline = (getHeight() + fm.getAscent() - fm.getDescent()) / 2;
+            int scoreWidth = fm.stringWidth(score);
+            g2.drawString(score, getWidth() - scoreWidth - 8, baseline);
+            Shape clip = g2.getClip();
+            g2.clipRect(0, 0, Math.max(0, getWidth() - scoreWidth - 16), getHeight());
+            g2.drawString(label, 8, baseline);
+            g2.setClip(clip);
+        }
+    }
+}
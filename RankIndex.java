@@ -0,0 +1,144 @@
+import java.util.SplittableRandom;
+
+/**
+ * Contestants in standings order (highest score first, ties by seat) with O(log n) score
+ * updates and O(log n) lookups both ways, rank to seat and seat to rank, so a leaderboard of
+ * hundreds never re-sorts on a score change.
+ *
+ * A treap in parallel arrays: each seat is its own node, ordered by (score, seat) and kept
+ * balanced by random priorities, and each node knows the size of its subtree. EDT only.
+ */
+final class RankIndex {
+    private static final int NIL = -1;
+
+    private final int[] score, left, right, size, priority;
+    private int root = NIL;
+
+    /** Every seat starts on 0. */
+    RankIndex(int seats) {
+        score = new int[seats];
+        left = new int[seats];
+        right = new int[seats];
+        size = new int[seats];
+        priority = new int[seats];
+        SplittableRandom rng = new SplittableRandom(seats);
+        for (int s = 0; s < seats; s++) {
+            priority[s] = rng.nextInt();
+            root = insert(root, s);
+        }
+    }
+
+    int size() {
+        return score.length;
+    }
+
+    int score(int seat) {
+        return score[seat];
+    }
+
+    void update(int seat, int newScore) {
+        if (score[seat] == newScore) return;
+        root = remove(root, seat);
+        score[seat] = newScore;
+        root = insert(root, seat);
+    }
+
+    /** The seat in standings place {@code rank}, 0 being the leader. */
+    int seatAt(int rank) {
+        int t = root;
+        while (true) {
+            int l = sizeOf(left[t]);
+            if (rank < l) {
+                t = left[t];
+            } else if (rank == l) {
+                return t;
+            } else {
+                rank -= l + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    /** Standings place of {@code seat}, 0 being the leader. */
+    int rankOf(int seat) {
+        int rank = sizeOf(left[seat]);
+        int t = root;
+        while (t != seat) {
+            if (before(seat, t)) {
+                t = left[t];
+            } else {
+                rank += sizeOf(left[t]) + 1;
+                t = right[t];
+            }
+        }
+        return rank;
+    }
+
+    // ===== Treap =====
+
+    private boolean before(int a, int b) {
+        return score[a] != score[b] ? score[a] > score[b] : a < b;
+    }
+
+    private int sizeOf(int t) {
+        return t == NIL ? 0 : size[t];
+    }
+
+    private void resize(int t) {
+        size[t] = 1 + sizeOf(left[t]) + sizeOf(right[t]);
+    }
+
+    private int insert(int t, int node) {
+        if (t == NIL) {
+            left[node] = right[node] = NIL;
+            size[node] = 1;
+            return node;
+        }
+        if (before(node, t)) {
+            left[t] = insert(left[t], node);
+            if (priority[left[t]] > priority[t]) t = rotateRight(t);
+        } else {
+            right[t] = insert(right[t], node);
+            if (priority[right[t]] > priority[t]) t = rotateLeft(t);
+        }
+        resize(t);
+        return t;
+    }
+
+    private int remove(int t, int node) {
+        if (t == node) return merge(left[t], right[t]);
+        if (before(node, t)) left[t] = remove(left[t], node);
+        else right[t] = remove(right[t], node);
+        resize(t);
+        return t;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            resize(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        resize(b);
+        return b;
+    }
+
+    private int rotateRight(int t) {
+        int l = left[t];
+        left[t] = right[l];
+        right[l] = t;
+        resize(t);
+        return l;
+    }
+
+    private int rotateLeft(int t) {
+        int r = right[t];
+        right[t] = left[r];
+        left[r] = t;
+        resize(t);
+        return r;
+    }
+}
@@ -0,0 +1,158 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered backgrounds for buttons and panels, so a repaint is a single blit instead of
+ * building gradients and colors every time.
+ *
+ * Images are keyed by what they depend on (kind, size, colors, state) and kept in a small LRU.
+ * On a real screen they live in {@link VolatileImage}s, i.e. in video memory, and are re-rendered
+ * if the pipeline drops their contents; headless they fall back to plain BufferedImages.
+ * EDT only, like the rest of Swing painting.
+ */
+final class RenderCache {
+    private static final int MAX_ENTRIES = 256;
+    private static final Color SOFT_WHITE = new Color(255, 255, 255, 60);
+
+    /**
+     * What an image depends on. Lookups reuse {@link #probe} so a cache hit allocates nothing;
+     * a copy is stored only when an image is rendered.
+     */
+    private static final class Key {
+        String kind;
+        int w, h, rgb1, rgb2;
+
+        Key set(String kind, int w, int h, int rgb1, int rgb2) {
+            this.kind = kind;
+            this.w = w;
+            this.h = h;
+            this.rgb1 = rgb1;
+            this.rgb2 = rgb2;
+            return this;
+        }
+
+        Key copy() {
+            return new Key().set(kind, w, h, rgb1, rgb2);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && kind.equals(k.kind) && w == k.w && h == k.h && rgb1 == k.rgb1 && rgb2 == k.rgb2;
+        }
+
+        @Override
+        public int hashCode() {
+            return (((kind.hashCode() * 31 + w) * 31 + h) * 31 + rgb1) * 31 + rgb2;
+        }
+    }
+
+    /** Draws an image's contents from its key; only called on a cache miss. */
+    private interface Renderer {
+        void render(Graphics2D g2, Key key);
+    }
+
+    private static final Key probe = new Key();
+
+    private static final Map<Key, Image> images = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+            if (size() <= MAX_ENTRIES) return false;
+            eldest.getValue().flush();
+            return true;
+        }
+    };
+
+    private RenderCache() {}
+
+    /**
+     * The rounded gradient behind every game button: {@code base.brighter()} fading to
+     * {@code base.darker()}, all one step brighter on rollover.
+     */
+    static void drawButton(Graphics g, Component c, Color base, boolean rollover) {
+        draw(g, c, probe.set("button", c.getWidth(), c.getHeight(), base.getRGB(), rollover ? 1 : 0), 0, 0,
+                RenderCache::renderButton);
+    }
+
+    /** A full-size vertical gradient, as used behind the board and the final scores. */
+    static void drawVerticalGradient(Graphics g, Component c, Color top, Color bottom) {
+        draw(g, c, probe.set("vgradient", c.getWidth(), c.getHeight(), top.getRGB(), bottom.getRGB()), 0, 0,
+                RenderCache::renderVerticalGradient);
+    }
+
+    /** A radial glow of the given radius fading from {@code color} to transparent, centred on (cx, cy). */
+    static void drawGlow(Graphics g, Component c, int cx, int cy, int radius, Color color) {
+        int d = Math.max(1, radius * 2);
+        draw(g, c, probe.set("glow", d, d, color.getRGB(), 0), cx - radius, cy - radius, RenderCache::renderGlow);
+    }
+
+    private static void renderButton(Graphics2D g2, Key key) {
+        Color base = new Color(key.rgb1, true);
+        if (key.rgb2 != 0) base = base.brighter();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setPaint(new GradientPaint(0, 0, base.brighter(), 0, key.h, base.darker()));
+        g2.fillRoundRect(0, 0, key.w, key.h, 25, 25);
+        g2.setColor(SOFT_WHITE);
+        g2.drawRoundRect(1, 1, key.w - 3, key.h - 3, 25, 25);
+    }
+
+    private static void renderVerticalGradient(Graphics2D g2, Key key) {
+        g2.setPaint(new GradientPaint(0, 0, new Color(key.rgb1, true), 0, key.h, new Color(key.rgb2, true)));
+        g2.fillRect(0, 0, key.w, key.h);
+    }
+
+    private static void renderGlow(Graphics2D g2, Key key) {
+        int radius = key.w / 2;
+        g2.setPaint(new RadialGradientPaint(new Point(radius, radius), Math.max(1, radius),
+                new float[]{0f, 1f}, new Color[]{new Color(key.rgb1, true), new Color(0, 0, 0, 0)}));
+        g2.fillRect(0, 0, key.w, key.h);
+    }
+
+    private static void draw(Graphics g, Component c, Key key, int x, int y, Renderer render) {
+        if (key.w <= 0 || key.h <= 0) return;
+        GraphicsConfiguration gc = c.getGraphicsConfiguration();
+        Image img = images.get(key);
+
+        if (gc == null || GraphicsEnvironment.isHeadless()) {
+            if (!(img instanceof BufferedImage)) {
+                BufferedImage bi = new BufferedImage(key.w, key.h, BufferedImage.TYPE_INT_ARGB_PRE);
+                renderInto(bi.createGraphics(), key, render);
+                images.put(key.copy(), img = bi);
+            }
+            g.drawImage(img, x, y, null);
+            return;
+        }
+
+        // A VolatileImage can lose its contents at any time (display change, another app
+        // grabbing VRAM), so validate before every use and re-render if needed
+        for (int attempt = 0; attempt < 3; attempt++) {
+            VolatileImage vi = img instanceof VolatileImage v ? v : null;
+            int status = vi == null ? VolatileImage.IMAGE_INCOMPATIBLE : vi.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (vi != null) vi.flush();
+                vi = gc.createCompatibleVolatileImage(key.w, key.h, Transparency.TRANSLUCENT);
+                images.put(key.copy(), img = vi);
+                status = VolatileImage.IMAGE_RESTORED;
+            }
+            if (status == VolatileImage.IMAGE_RESTORED) {
+                Graphics2D g2 = vi.createGraphics();
+                g2.setComposite(AlphaComposite.Clear);
+                g2.fillRect(0, 0, key.w, key.h);
+                g2.setComposite(AlphaComposite.SrcOver);
+                renderInto(g2, key, render);
+            }
+            g.drawImage(vi, x, y, null);
+            if (!vi.contentsLost()) return;
+        }
+    }
+
+    private static void renderInto(Graphics2D g2, Key key, Renderer render) {
+        try {
+            render.render(g2, key);
+        } finally {
+            g2.dispose();
+        }
+    }
+}
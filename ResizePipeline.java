@@ -0,0 +1,64 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+
+/**
+ * Rescales text when the game window is resized.
+ *
+ * Components opt in by being given a {@link FontRole}; their font size is a fraction of the
+ * window height with a floor, as each screen already computes it when it is built. Resize
+ * events are coalesced: however many arrive while dragging, the current content pane is walked
+ * at most once per frame, and only fonts that actually change are replaced.
+ */
+final class ResizePipeline {
+
+    private static final String ROLE_KEY = "jeopardy.fontRole";
+    private static final int FRAME_MILLIS = 16;
+
+    private final JFrame frame;
+    private final Timer frameTimer;
+    private int appliedHeight = -1;
+
+    private ResizePipeline(JFrame frame) {
+        this.frame = frame;
+        frameTimer = new Timer(FRAME_MILLIS, _ -> apply());
+        frameTimer.setRepeats(false);
+    }
+
+    static ResizePipeline install(JFrame frame) {
+        ResizePipeline pipeline = new ResizePipeline(frame);
+        frame.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                // Absorb the burst: one pass per frame, however many events arrive
+                if (!pipeline.frameTimer.isRunning()) pipeline.frameTimer.start();
+            }
+        });
+        return pipeline;
+    }
+
+    /** Tags {@code c} with a role and gives it the font for the window's current height. */
+    static void assign(JComponent c, FontRole role, int frameHeight) {
+        c.putClientProperty(ROLE_KEY, role);
+        c.setFont(role.fontFor(frameHeight));
+    }
+
+    private void apply() {
+        int height = frame.getHeight();
+        if (height == appliedHeight) return;
+        appliedHeight = height;
+        // Whatever screen is showing now, not the one that existed at startup
+        rescale(frame.getContentPane(), height);
+    }
+
+    private static void rescale(Component comp, int height) {
+        if (comp instanceof JComponent jc && jc.getClientProperty(ROLE_KEY) instanceof FontRole role) {
+            Font f = role.fontFor(height);
+            if (jc.getFont() != f) jc.setFont(f);
+        }
+        if (comp instanceof Container container) {
+            for (Component child : container.getComponents()) rescale(child, height);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills a {@link RoomServer} with rooms and plays them all flat out over loopback. Each room
+ * has a host connection that opens every clue in turn, judges whoever buzzed right, closes the
+ * clue and deals a new board when one runs out, and contestant connections that buzz as fast
+ * as replies come back. Clients run on virtual threads too, one per connection.
+ *
+ * Reports commands and clues per second over all rooms and the round trip of each command.
+ * Every room's scores are checked at the end against the stakes its host judged: one room's
+ * commands landing in another's game would show up there. Also checks that contestants can't
+ * run the host's commands or buzz for another seat, that seats out of range are refused, and
+ * that rooms go away once everyone has left.
+ *
+ * Usage: java RoomLoadTest [clues=cybersecurity_full_clues.csv] [rooms=50] [seats=3] [seconds=5]
+ * Exits non-zero if a check fails.
+ */
+public class RoomLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        File clues = new File("cybersecurity_full_clues.csv");
+        int rooms = 50, seats = 3, seconds = 5;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "clues" -> clues = new File(kv[1]);
+                case "rooms" -> rooms = Integer.parseInt(kv[1]);
+                case "seats" -> seats = Integer.parseInt(kv[1]);
+                case "seconds" -> seconds = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        ClueStore store = new JeopardyGUI().openStore(clues);
+
+        LatencyHistogram roundTrip = new LatencyHistogram();
+        AtomicLong cluesPlayed = new AtomicLong(), buzzWins = new AtomicLong();
+        boolean ok = true;
+        try (RoomServer server = new RoomServer(0, store, seats);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Everyone is seated before the clock starts
+            List<Conn> hostConns = new ArrayList<>(), contestantConns = new ArrayList<>();
+            for (int r = 0; r < rooms; r++) {
+                Conn host = new Conn(server, roundTrip);
+                host.send("HOST room" + r);
+                hostConns.add(host);
+                for (int s = 0; s < seats; s++) {
+                    Conn contestant = new Conn(server, roundTrip);
+                    contestant.send("JOIN room" + r + " c" + s);
+                    contestantConns.add(contestant);
+                }
+            }
+            int openRooms = server.rooms();
+            Conn host0 = hostConns.get(0), seat0 = contestantConns.get(0);
+            boolean refused = seat0.send("JUDGE right").startsWith("ERR")
+                    && seat0.send("DEAL").startsWith("ERR")
+                    && (seats < 2 || seat0.send("BUZZ 1").startsWith("ERR"))
+                    && host0.send("ADJUST " + seats + " 100").startsWith("ERR")
+                    && host0.send("BUZZ -1").startsWith("ERR")
+                    && host0.send("SCORES").matches("OK( 0)+");
+
+            long started = System.nanoTime(), end = started + seconds * 1_000_000_000L;
+            for (Conn c : contestantConns) clients.submit(() -> buzzUntil(c, end, buzzWins));
+            List<Future<Boolean>> hosts = new ArrayList<>();
+            for (Conn h : hostConns) hosts.add(clients.submit(() -> host(h, end, cluesPlayed)));
+            boolean scoresMatch = true;
+            for (Future<Boolean> h : hosts) scoresMatch &= h.get();
+            double elapsed = (System.nanoTime() - started) / 1e9;
+            long commands = server.commands();
+
+            System.out.printf("%d rooms x (1 host + %d contestants), %.1f s: %,d commands (%,.0f/s), %,d clues (%,.0f/s), %,d buzz wins%n",
+                    rooms, seats, elapsed, commands, commands / elapsed, cluesPlayed.get(), cluesPlayed.get() / elapsed, buzzWins.get());
+            System.out.printf("  %-16s n=%,d  p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", "round trip", roundTrip.count(),
+                    roundTrip.percentileNanos(0.5) / 1e6, roundTrip.percentileNanos(0.99) / 1e6, roundTrip.maxNanos() / 1e6);
+            ok &= check("every room was open at once", openRooms == rooms);
+            ok &= check("scores match each room's own play", scoresMatch);
+            ok &= check("host commands and bad seats refused", refused);
+
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 100 && server.rooms() > 0; i++) Thread.sleep(10);
+            ok &= check("empty rooms are dropped", server.rooms() == 0);
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /** Plays clues until {@code end}; true if the room's scores add up to what was judged. */
+    private static boolean host(Conn host, long end, AtomicLong cluesPlayed) throws IOException {
+        long judged = 0;
+        int slots = host.send("BOARD").split(" ")[2].length(), slot = 0;
+        while (System.nanoTime() < end) {
+            String[] opened = host.send("OPEN " + slot).split(" ", 4);
+            if (opened[2].equals("1")) {
+                judged += Integer.parseInt(host.send("WAGER 0 500").substring(3));
+                host.send("JUDGE right");
+            } else {
+                // Until a contestant has buzzed in; once they have stopped, the host buzzes for seat 0
+                while (!host.send("JUDGE right").startsWith("OK")) {
+                    if (System.nanoTime() > end) host.send("BUZZ 0");
+                }
+                judged += Integer.parseInt(opened[1]);
+            }
+            cluesPlayed.incrementAndGet();
+            host.send("CLOSE");
+            if (++slot == slots) {
+                host.send("DEAL");
+                slots = host.send("BOARD").split(" ")[2].length();
+                slot = 0;
+            }
+        }
+        String[] scores = host.send("SCORES").split(" ");
+        long total = 0;
+        for (int i = 1; i < scores.length; i++) total += Long.parseLong(scores[i]);
+        host.send("QUIT");
+        host.close();
+        if (total != judged) System.out.println("  room scores " + total + " but judged " + judged);
+        return total == judged;
+    }
+
+    private static Void buzzUntil(Conn contestant, long end, AtomicLong wins) throws IOException {
+        while (System.nanoTime() < end) {
+            if (contestant.send("BUZZ").equals("OK")) wins.incrementAndGet();
+        }
+        contestant.send("QUIT");
+        contestant.close();
+        return null;
+    }
+
+    private static boolean check(String what, boolean passed) {
+        System.out.printf("  %-32s %s%n", what, passed ? "ok" : "FAILED");
+        return passed;
+    }
+
+    /** One blocking client connection; each command waits for its reply. */
+    private static final class Conn implements Closeable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+        private final LatencyHistogram roundTrip;
+
+        Conn(RoomServer server, LatencyHistogram roundTrip) throws IOException {
+            socket = new Socket("127.0.0.1", server.port());
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            this.roundTrip = roundTrip;
+        }
+
+        String send(String command) throws IOException {
+            long t0 = System.nanoTime();
+            out.write(command);
+            out.write('\n');
+            out.flush();
+            String reply = command.equals("QUIT") ? "" : in.readLine();
+            roundTrip.record(System.nanoTime() - t0);
+            if (reply == null) throw new IOException("server closed");
+            return reply;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
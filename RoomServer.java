@@ -0,0 +1,351 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Many games at once from one JVM, for breakout rooms: each room has its own board, Daily
+ * Double, contestants and {@link GameEngine}, and clients drive it over a line-based TCP
+ * protocol. Every connection gets its own virtual thread and plain blocking I/O.
+ *
+ * The clue bank is shared by all rooms and only ever read: clue text comes straight from the
+ * mapped {@link CluePack}, and a bank small enough to be played whole is laid out as one
+ * {@link Board} that every room uses. A room's state is touched only under that room's lock,
+ * so rooms never wait on each other; the room table is a ConcurrentHashMap, and a room lives
+ * as long as someone is connected to it. Nothing that can block runs inside a monitor, so
+ * connection threads never pin their carrier: room and drawer locks are ReentrantLocks, and a
+ * new room's first board is dealt under the room's lock, not inside the table's compute.
+ *
+ * Protocol: one command per line, one reply line per command, {@code OK ...} or {@code ERR why}.
+ * Commands marked (host) are refused to contestants, who may only buzz for their own seat.
+ * <pre>
+ *   JOIN room name      take the next free seat; replies with the seat number
+ *   HOST room           join without a seat, to run the game
+ *   CATEGORIES          category names, separated by '|'
+ *   BOARD               phase and one 0/1 per clue slot (1 = played), column by column
+ *   OPEN slot           (host) value, 1 if it is a Daily Double, and the clue
+ *   ANSWER              (host) the open clue's answer
+ *   BUZZ [seat]         your own seat; a host names the seat
+ *   WAGER seat amount   (host) Daily Double wager; replies with it after clamping
+ *   JUDGE right|wrong   (host) replies with the contestant's new score
+ *   PASS | NOBUZZ | CLOSE   (host)
+ *   ADJUST seat score   (host)
+ *   DEAL                (host) a new board; scores are kept
+ *   SCORES
+ *   QUIT
+ * </pre>
+ */
+final class RoomServer implements Closeable {
+    private static final int ROWS = BoardDrawer.TIERS;
+    private static final Set<String> HOST_ONLY = Set.of("OPEN", "ANSWER", "WAGER", "JUDGE", "PASS", "NOBUZZ", "CLOSE", "ADJUST", "DEAL");
+
+    /** Where each clue slot of a board comes from; never changed once built, so rooms can share one. */
+    record Board(String[] categories, int[] clues, int[] values) {}
+
+    private final ClueStore store;
+    private final BoardDrawer drawer; // null when the whole bank is the board
+    private final Board wholeBank;
+    private final int seats;
+    private final ConcurrentHashMap<String, Room> rooms = new ConcurrentHashMap<>();
+    private final ServerSocket socket;
+    private final Thread acceptor;
+    private final LongAdder commands = new LongAdder();
+    private volatile boolean running = true;
+
+    /** Serves {@code store}'s clues on {@code port}, 0 for any free port; see {@link #port()}. */
+    RoomServer(int port, ClueStore store, int seats) throws IOException {
+        this.store = store;
+        this.seats = seats;
+        drawer = JeopardyGUI.poolDrawer(store);
+        if (drawer != null) {
+            wholeBank = null;
+            int skipped = store.categoryCount() - drawer.eligibleCategories();
+            if (skipped > 0) System.err.println(skipped + " categories have too few values to fill a column and are never dealt");
+        } else {
+            wholeBank = boardOf(store);
+        }
+        socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(port), 1024);
+        acceptor = Thread.ofPlatform().name("room-acceptor").start(this::acceptLoop);
+    }
+
+    int port() {
+        return socket.getLocalPort();
+    }
+
+    int rooms() {
+        return rooms.size();
+    }
+
+    /** Commands handled so far, across all rooms. */
+    long commands() {
+        return commands.sum();
+    }
+
+    /** Blocks until the server is closed. */
+    void await() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        socket.close();
+    }
+
+    // ===== Boards =====
+
+    private static Board boardOf(ClueStore store) {
+        int n = 0;
+        for (int c = 0; c < store.categoryCount(); c++) n += store.clueCount(c);
+        String[] categories = new String[store.categoryCount()];
+        int[] clues = new int[n], values = new int[n];
+        int slot = 0;
+        for (int c = 0; c < categories.length; c++) {
+            categories[c] = store.categoryName(c);
+            for (int i = 0; i < store.clueCount(c); i++, slot++) {
+                clues[slot] = store.firstClue(c) + i;
+                values[slot] = store.value(clues[slot]);
+            }
+        }
+        return new Board(categories, clues, values);
+    }
+
+    private Board drawBoard(Random rng) {
+        int[][] columns = drawer.draw(JeopardyGUI.BOARD_CATEGORIES, rng);
+        drawer.saveLater(); // off the connection thread
+        String[] categories = new String[columns.length];
+        int[] clues = new int[columns.length * ROWS], values = new int[clues.length];
+        for (int c = 0; c < columns.length; c++) {
+            categories[c] = drawer.categoryName(columns[c]);
+            for (int r = 0; r < ROWS; r++) {
+                clues[c * ROWS + r] = columns[c][r];
+                values[c * ROWS + r] = store.value(columns[c][r]);
+            }
+        }
+        return new Board(categories, clues, values);
+    }
+
+    // ===== Rooms =====
+
+    /** One game. Fields other than {@code lock} are only touched while holding it. */
+    private final class Room {
+        final ReentrantLock lock = new ReentrantLock(); // not synchronized: that would pin virtual threads
+        final GameEngine engine = new GameEngine(seats);
+        final String[] names = new String[seats];
+        final Random rng = new Random();
+        final int[] dailyDouble = new int[1];
+        Board board;
+        int members; // guarded by the room table, see join and leave
+
+        void deal() {
+            board = drawer != null ? drawBoard(rng) : wholeBank;
+            dailyDouble[0] = GameEngine.placeDailyDouble(board.clues().length, rng);
+            engine.newBoard(board.values(), dailyDouble);
+        }
+    }
+
+    private Room join(String name) {
+        // compute runs under the table's lock for this key only, so joins and leaves of one
+        // room are atomic without holding up other rooms. It is a monitor, so it does no more
+        // than count: the first board is dealt after, under the room's own lock.
+        Room room = rooms.compute(name, (_, r) -> {
+            if (r == null) r = new Room();
+            r.members++;
+            return r;
+        });
+        room.lock.lock();
+        try {
+            if (room.board == null) room.deal();
+        } finally {
+            room.lock.unlock();
+        }
+        return room;
+    }
+
+    private void leave(String name, Room room) {
+        rooms.computeIfPresent(name, (_, r) -> r == room && --r.members == 0 ? null : r);
+    }
+
+    // ===== Connections =====
+
+    private void acceptLoop() {
+        long id = 0;
+        while (running) {
+            try {
+                Socket client = socket.accept();
+                Thread.ofVirtual().name("room-conn-", id++).start(() -> serve(client));
+            } catch (IOException ex) {
+                if (running) System.err.println("Room server accept failed: " + ex);
+            }
+        }
+    }
+
+    /** One client's session; runs on its own virtual thread. */
+    private final class Session {
+        String roomName;
+        Room room;
+        int seat = -1;
+        boolean host;
+    }
+
+    private void serve(Socket client) {
+        Session s = new Session();
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            client.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply;
+                try {
+                    reply = handle(s, line.trim().split("\\s+", 3));
+                } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+                    reply = "ERR " + ex.getMessage();
+                }
+                commands.increment();
+                if (reply == null) break;
+                out.write(reply);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException ex) {
+            // the client went away; nothing to tell it
+        } finally {
+            if (s.room != null) {
+                if (s.seat >= 0) withRoom(s, () -> s.room.names[s.seat] = null);
+                leave(s.roomName, s.room);
+            }
+        }
+    }
+
+    /** Runs one command; null ends the session. */
+    private String handle(Session s, String[] cmd) {
+        String verb = cmd[0].toUpperCase();
+        if (verb.equals("QUIT")) return null;
+        if (verb.equals("JOIN") || verb.equals("HOST")) {
+            if (s.room != null) throw new IllegalStateException("Already in room " + s.roomName);
+            s.roomName = cmd[1];
+            s.room = join(cmd[1]);
+            if (verb.equals("HOST")) {
+                s.host = true;
+                return "OK";
+            }
+            String name = cmd.length > 2 ? cmd[2] : "Contestant";
+            int seat = withRoom(s, () -> {
+                for (int i = 0; i < seats; i++) {
+                    if (s.room.names[i] == null) {
+                        s.room.names[i] = name;
+                        return i;
+                    }
+                }
+                return -1;
+            });
+            if (seat < 0) {
+                leave(s.roomName, s.room);
+                s.room = null;
+                throw new IllegalStateException("Room " + cmd[1] + " is full");
+            }
+            s.seat = seat;
+            return "OK " + seat;
+        }
+        if (s.room == null) throw new IllegalStateException("JOIN or HOST a room first");
+
+        GameEngine engine = s.room.engine;
+        if (!s.host && HOST_ONLY.contains(verb)) throw new IllegalStateException(verb + " is for the host");
+        return switch (verb) {
+            case "CATEGORIES" -> "OK " + String.join("|", withRoom(s, () -> s.room.board.categories()));
+            case "BOARD" -> withRoom(s, () -> {
+                StringBuilder sb = new StringBuilder("OK ").append(engine.phase()).append(' ');
+                for (int i = 0; i < engine.clueCount(); i++) sb.append(engine.isAsked(i) ? '1' : '0');
+                return sb.toString();
+            });
+            case "OPEN" -> {
+                int slot = Integer.parseInt(cmd[1]);
+                int[] opened = withRoom(s, () -> {
+                    engine.openClue(slot);
+                    return new int[] {s.room.board.clues()[slot], engine.stake(), engine.isDailyDouble(slot) ? 1 : 0};
+                });
+                // Text is read from the shared pack outside the room lock
+                yield "OK " + opened[1] + " " + opened[2] + " " + oneLine(store.question(opened[0]));
+            }
+            case "ANSWER" -> {
+                int clue = withRoom(s, () -> {
+                    int slot = engine.currentClue();
+                    if (slot < 0) throw new IllegalStateException("No clue open");
+                    return s.room.board.clues()[slot];
+                });
+                yield "OK " + oneLine(store.answer(clue));
+            }
+            case "BUZZ" -> {
+                int seat = cmd.length > 1 ? seat(cmd[1]) : s.seat;
+                if (seat < 0) throw new IllegalArgumentException("Hosts buzz for a seat: BUZZ seat");
+                if (!s.host && seat != s.seat) throw new IllegalStateException("You can only buzz for seat " + s.seat);
+                yield ok(s, () -> engine.buzz(seat));
+            }
+            case "WAGER" -> {
+                int seat = seat(cmd[1]), amount = Integer.parseInt(cmd[2]);
+                yield "OK " + withRoom(s, () -> engine.wager(seat, amount));
+            }
+            case "JUDGE" -> "OK " + withRoom(s, () -> {
+                int who = engine.answering();
+                engine.judge(cmd[1].equalsIgnoreCase("right"));
+                return engine.score(who);
+            });
+            case "PASS" -> ok(s, engine::pass);
+            case "NOBUZZ" -> ok(s, engine::noBuzz);
+            case "CLOSE" -> "OK " + withRoom(s, () -> {
+                engine.closeClue();
+                return engine.remainingClues();
+            });
+            case "ADJUST" -> {
+                int seat = seat(cmd[1]), score = Integer.parseInt(cmd[2]);
+                yield ok(s, () -> engine.adjustScore(seat, score));
+            }
+            case "DEAL" -> ok(s, s.room::deal);
+            case "SCORES" -> withRoom(s, () -> {
+                StringBuilder sb = new StringBuilder("OK");
+                for (int i = 0; i < engine.contestantCount(); i++) sb.append(' ').append(engine.score(i));
+                return sb.toString();
+            });
+            default -> throw new IllegalArgumentException("Unknown command " + verb);
+        };
+    }
+
+    private int seat(String arg) {
+        int seat = Integer.parseInt(arg);
+        if (seat < 0 || seat >= seats) throw new IllegalArgumentException("No seat " + seat);
+        return seat;
+    }
+
+    private interface Locked<T> {
+        T run();
+    }
+
+    private static <T> T withRoom(Session s, Locked<T> body) {
+        s.room.lock.lock();
+        try {
+            return body.run();
+        } finally {
+            s.room.lock.unlock();
+        }
+    }
+
+    private static String ok(Session s, Runnable body) {
+        withRoom(s, () -> {
+            body.run();
+            return null;
+        });
+        return "OK";
+    }
+
+    private static String oneLine(String text) {
+        return text.replace('\r', ' ').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,102 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds every game screen, built once, in a single {@link CardLayout} panel that becomes the
+ * frame's content pane. Moving between screens is a card flip; screens only rebind their text and
+ * buttons to the current clue instead of being rebuilt.
+ *
+ * Each transition is timed from {@link #show} to the end of the first paint of the new screen,
+ * into {@link EdtMonitor}'s {@value EdtMonitor#TRANSITION} histogram. With
+ * {@code -Djeopardy.transitionStats=true} every transition is printed to stderr.
+ */
+final class SceneManager {
+    private static final boolean LOG = Boolean.getBoolean("jeopardy.transitionStats");
+
+    private final CardLayout cards = new CardLayout();
+    private final JPanel root;
+    private final Map<String, JComponent> scenes = new HashMap<>();
+    private final Map<String, Runnable> onLeave = new HashMap<>();
+
+    private final List<Runnable> afterPaint = new ArrayList<>();
+
+    private String current;
+    private String pendingTransition;
+    private long pendingStart;
+
+    SceneManager(Color background) {
+        root = new JPanel(cards) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                transitionPainted();
+                runAfterPaint();
+            }
+        };
+        root.setBackground(background);
+    }
+
+    /** The panel holding all scenes, to be installed as the content pane. */
+    JComponent root() {
+        return root;
+    }
+
+    void add(String name, JComponent scene) {
+        scenes.put(name, scene);
+        root.add(scene, name);
+        if (current == null) current = name;
+    }
+
+    /** Runs whenever the given scene is replaced by another one, e.g. to stop its animations. */
+    void onLeave(String name, Runnable action) {
+        onLeave.put(name, action);
+    }
+
+    JComponent scene(String name) {
+        return scenes.get(name);
+    }
+
+    String current() {
+        return current;
+    }
+
+    /** Runs {@code action} once, after the next time the current scene has been painted. */
+    void afterNextPaint(Runnable action) {
+        afterPaint.add(action);
+        root.repaint();
+    }
+
+    void show(String name) {
+        if (!scenes.containsKey(name)) throw new IllegalArgumentException("No scene " + name);
+        if (current != null && !current.equals(name)) {
+            Runnable leave = onLeave.get(current);
+            if (leave != null) leave.run();
+        }
+        pendingTransition = current + " -> " + name;
+        pendingStart = System.nanoTime();
+        current = name;
+        cards.show(root, name);
+        root.revalidate();
+        root.repaint();
+    }
+
+    private void runAfterPaint() {
+        if (afterPaint.isEmpty()) return;
+        // Posted, not run here: an action may change the screen, and we are mid-paint
+        List<Runnable> due = new ArrayList<>(afterPaint);
+        afterPaint.clear();
+        due.forEach(SwingUtilities::invokeLater);
+    }
+
+    private void transitionPainted() {
+        if (pendingTransition == null) return;
+        long nanos = System.nanoTime() - pendingStart;
+        EdtMonitor.record(EdtMonitor.TRANSITION, nanos);
+        if (LOG) System.err.printf("transition %s: %.2f ms%n", pendingTransition, nanos / 1e6);
+        pendingTransition = null;
+    }
+}
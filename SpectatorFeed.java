@@ -0,0 +1,308 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The board, live, for the audience and stream overlays: Server-Sent Events on
+ * {@code GET /events}, and the current state as one JSON object on {@code GET /state}.
+ *
+ * A new subscriber first gets a {@code snapshot} event with everything: categories, clues per
+ * category, clue values, which clues have been played ({@code asked}, one 0/1 per slot), the
+ * open clue, names and scores. After that it gets one small event per change: {@code clue}
+ * (a clue was opened, which also marks it played; its text is null until shown),
+ * {@code question} (the open clue's text, once it is on the host's screen, which for a Daily
+ * Double is after the wager), {@code closed}, {@code score} and {@code names}. A new board goes
+ * out as a fresh snapshot. Every event has an SSE id, so a reconnecting EventSource picks up
+ * where it left off.
+ *
+ * The game only hands each change over to one {@code spectator-feed} thread and moves on; that
+ * thread encodes it once into a ring of the last {@link #BACKLOG} events, and every subscriber
+ * copies the same bytes out on its own virtual thread, without taking a lock. A slow spectator
+ * blocks only itself, in its own socket write. One that falls more than the ring behind skips
+ * the deltas it missed and gets a single snapshot instead, so nothing queues up for it and
+ * the host never waits on anyone watching.
+ */
+final class SpectatorFeed implements Closeable {
+    static final int BACKLOG = 1024;
+    private static final long KEEPALIVE_MILLIS = 15_000;
+    private static final byte[] KEEPALIVE = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    // Publishing happens here, so the game never contends with subscribers for the lock; so do
+    // keepalives, which saves every waiting subscriber from setting a timer of its own
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "spectator-feed");
+        t.setDaemon(true);
+        return t;
+    });
+    private final byte[][] ring = new byte[BACKLOG][];
+    private volatile long seq; // id of the newest event, which is in ring[seq % BACKLOG]; written after the ring
+    // Completed, and replaced, on every event: subscribers wait on it without any lock to queue on
+    private volatile CompletableFuture<Void> published = new CompletableFuture<>();
+    private volatile boolean running = true;
+
+    // What a snapshot shows, kept current with the events; all guarded by lock, which only
+    // the publisher and subscribers needing a snapshot take
+    private final ReentrantLock lock = new ReentrantLock();
+    private String[] categories = new String[0], names = new String[0];
+    private int[] columns = new int[0], values = new int[0], scores = new int[0];
+    private final BitSet asked = new BitSet();
+    private int clue = -1, clueValue;
+    private String clueText;
+    private byte[] snapshot; // encoded at seq; null once something has changed
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder resyncs = new LongAdder();
+
+    /** Serves on {@code port}, 0 for any free port; see {@link #port()}. */
+    SpectatorFeed(int port) throws IOException {
+        server = HttpServers.create(port, 1024);
+        server.setExecutor(handlers);
+        server.createContext("/events", this::subscribe);
+        server.createContext("/state", this::state);
+        server.start();
+        publisher.scheduleAtFixedRate(this::wake, KEEPALIVE_MILLIS, KEEPALIVE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    int subscribers() {
+        return subscribers.get();
+    }
+
+    /** Times a subscriber fell too far behind and was sent a snapshot instead of its deltas. */
+    long resyncs() {
+        return resyncs.sum();
+    }
+
+    /** Id of the newest event. */
+    long lastId() {
+        return seq;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        published.complete(null);
+        server.stop(0);
+        handlers.shutdownNow();
+        publisher.shutdownNow();
+    }
+
+    // ===== Publishing, from the game; the arguments are copied before the call returns =====
+
+    /**
+     * A whole new board: {@code columns[c]} clues in category {@code c}, slots in category order.
+     * Sent to everyone as a snapshot.
+     */
+    void board(String[] categories, int[] columns, int[] values, BitSet asked, String[] names, int[] scores) {
+        String[] c = categories.clone(), n = names.clone();
+        int[] col = columns.clone(), v = values.clone(), sc = scores.clone();
+        BitSet a = (BitSet) asked.clone();
+        publisher.execute(() -> locked(() -> {
+            this.categories = c;
+            this.columns = col;
+            this.values = v;
+            this.asked.clear();
+            this.asked.or(a);
+            this.names = n;
+            this.scores = sc;
+            clue = -1;
+            clueText = null;
+            snapshot = encode(seq + 1, "snapshot", stateJson());
+            append(snapshot);
+        }));
+    }
+
+    void clueOpened(int slot, int value) {
+        publisher.execute(() -> locked(() -> {
+            asked.set(slot);
+            clue = slot;
+            clueValue = value;
+            clueText = null;
+            publish("clue", new StringBuilder("{\"slot\":").append(slot).append(",\"value\":").append(value).append(",\"text\":null}"));
+        }));
+    }
+
+    void question(int slot, String text) {
+        publisher.execute(() -> locked(() -> {
+            if (slot != clue) return; // closed before it got here
+            clueText = text;
+            publish("question", Json.quote(new StringBuilder("{\"slot\":").append(slot).append(",\"text\":"), text).append('}'));
+        }));
+    }
+
+    void clueClosed(int slot) {
+        publisher.execute(() -> locked(() -> {
+            clue = -1;
+            clueText = null;
+            publish("closed", new StringBuilder("{\"slot\":").append(slot).append('}'));
+        }));
+    }
+
+    void score(int seat, int score) {
+        publisher.execute(() -> locked(() -> {
+            if (seat >= scores.length) return; // no board published yet
+            scores[seat] = score;
+            publish("score", new StringBuilder("{\"seat\":").append(seat).append(",\"score\":").append(score).append('}'));
+        }));
+    }
+
+    void names(String[] names) {
+        String[] n = names.clone();
+        publisher.execute(() -> locked(() -> {
+            this.names = n;
+            publish("names", Json.array(new StringBuilder("{\"names\":"), n).append('}'));
+        }));
+    }
+
+    private void locked(Runnable body) {
+        lock.lock();
+        try {
+            body.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publish(String event, StringBuilder json) {
+        snapshot = null;
+        append(encode(seq + 1, event, json));
+    }
+
+    private void append(byte[] event) {
+        long id = seq + 1;
+        ring[(int) (id % BACKLOG)] = event;
+        seq = id;
+        wake();
+    }
+
+    /** Wakes every waiting subscriber: to send what is new, or a keepalive if nothing is. */
+    private void wake() {
+        CompletableFuture<Void> woken = published;
+        published = new CompletableFuture<>();
+        woken.complete(null);
+    }
+
+    private static byte[] encode(long id, String event, CharSequence json) {
+        return ("id: " + id + "\nevent: " + event + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private StringBuilder stateJson() {
+        StringBuilder sb = new StringBuilder(256);
+        Json.array(sb.append("{\"categories\":"), categories);
+        Json.array(sb.append(",\"columns\":"), columns);
+        Json.array(sb.append(",\"values\":"), values);
+        sb.append(",\"asked\":\"");
+        for (int i = 0; i < values.length; i++) sb.append(asked.get(i) ? '1' : '0');
+        sb.append("\",\"clue\":");
+        if (clue < 0) sb.append("null");
+        else Json.quote(sb.append("{\"slot\":").append(clue).append(",\"value\":").append(clueValue).append(",\"text\":"), clueText).append('}');
+        Json.array(sb.append(",\"names\":"), names);
+        Json.array(sb.append(",\"scores\":"), scores);
+        return sb.append('}');
+    }
+
+    private byte[] snapshotLocked() {
+        if (snapshot == null) snapshot = encode(seq, "snapshot", stateJson());
+        return snapshot;
+    }
+
+    // ===== Subscribers =====
+
+    private void subscribe(HttpExchange ex) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        ex.getResponseHeaders().set("Cache-Control", "no-cache");
+        ex.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        ex.sendResponseHeaders(200, 0);
+        long cursor = lastEventId(ex);
+        List<byte[]> batch = new ArrayList<>();
+        subscribers.incrementAndGet();
+        try (OutputStream out = ex.getResponseBody()) {
+            while (running) {
+                CompletableFuture<Void> next = published; // read before seq, so no event can slip between
+                long last = seq;
+                if (cursor == last) {
+                    next.get();
+                    if (seq == cursor) {
+                        out.write(KEEPALIVE);
+                        out.flush();
+                    }
+                    continue;
+                }
+                batch.clear();
+                // Less than the ring behind, not up to it: the next append overwrites its slot
+                // before seq moves on, so the oldest slot may already hold a newer event
+                if (cursor >= 0 && cursor < last && last - cursor < BACKLOG) {
+                    for (long id = cursor + 1; id <= last; id++) batch.add(ring[(int) (id % BACKLOG)]);
+                    // Still all there? The publisher may have lapped us while we copied
+                    if (seq - cursor < BACKLOG) cursor = last;
+                    else batch.clear();
+                }
+                if (batch.isEmpty()) {
+                    if (cursor >= 0) resyncs.increment();
+                    lock.lock();
+                    try {
+                        batch.add(snapshotLocked());
+                        cursor = seq;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                // A slow client only ever holds up its own thread, here
+                for (byte[] event : batch) out.write(event);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException | ExecutionException gone) {
+            // the spectator left, or the feed is closing
+        } finally {
+            subscribers.decrementAndGet();
+            ex.close();
+        }
+    }
+
+    /** Where a reconnecting EventSource left off, or -1 for a new subscriber. */
+    private static long lastEventId(HttpExchange ex) {
+        String id = ex.getRequestHeaders().getFirst("Last-Event-ID");
+        try {
+            return id != null ? Long.parseLong(id.trim()) : -1;
+        } catch (NumberFormatException bad) {
+            return -1;
+        }
+    }
+
+    private void state(HttpExchange ex) throws IOException {
+        byte[] body;
+        lock.lock();
+        try {
+            body = stateJson().toString().getBytes(StandardCharsets.UTF_8);
+        } finally {
+            lock.unlock();
+        }
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thousands of spectators on one {@link SpectatorFeed}, over loopback, while a stand-in for the
+ * game publishes clues and score changes as fast as asked. Most spectators read everything as
+ * it comes; a few stop reading, the way a stalled browser tab does.
+ *
+ * Reports what publishing costs the game per event (the time the EDT would spend), how long
+ * events take to reach spectators, and how many resyncs were needed by spectators that fell
+ * behind. Checks that every reading spectator got events in order (a resync may skip ahead,
+ * never back) up to the last one, that a spectator reconnecting exactly {@link SpectatorFeed#BACKLOG}
+ * events behind gets a snapshot while one a single event closer gets the deltas, and that the
+ * feed drops spectators who leave.
+ *
+ * Usage: java SpectatorLoadTest [spectators=2000] [slow=50] [rate=50] [seconds=5]
+ * ({@code rate} is events per second). Exits non-zero if a check fails.
+ */
+public class SpectatorLoadTest {
+    private static final int SEATS = 3, SLOTS = 30;
+
+    public static void main(String[] args) throws Exception {
+        int spectators = 2000, slow = 50, rate = 50, seconds = 5;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            switch (kv[0]) {
+                case "spectators" -> spectators = Integer.parseInt(kv[1]);
+                case "slow" -> slow = Integer.parseInt(kv[1]);
+                case "rate" -> rate = Integer.parseInt(kv[1]);
+                case "seconds" -> seconds = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        LatencyHistogram publishCost = new LatencyHistogram(), delivery = new LatencyHistogram();
+        AtomicLongArray publishedAt = new AtomicLongArray(1 << 20);
+        AtomicLong delivered = new AtomicLong(), outOfOrder = new AtomicLong(), skipped = new AtomicLong();
+        boolean ok = true;
+        try (SpectatorFeed feed = new SpectatorFeed(0);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            String[] categories = new String[SLOTS / 5];
+            int[] columns = new int[categories.length], values = new int[SLOTS];
+            for (int c = 0; c < categories.length; c++) {
+                categories[c] = "Category " + c;
+                columns[c] = 5;
+            }
+            for (int i = 0; i < SLOTS; i++) values[i] = (i % 5 + 1) * 200;
+            feed.board(categories, columns, values, new BitSet(), new String[] {"Ada", "Grace", "Linus"}, new int[SEATS]);
+
+            List<Socket> sockets = new ArrayList<>();
+            AtomicLongArray lastSeen = new AtomicLongArray(spectators);
+            for (int i = 0; i < spectators; i++) {
+                boolean reads = i >= slow;
+                Socket socket = new Socket();
+                if (!reads) socket.setReceiveBufferSize(4096); // fills up soon, so the feed has to notice
+                socket.connect(new InetSocketAddress("127.0.0.1", feed.port()));
+                sockets.add(socket);
+                int me = i;
+                clients.submit(() -> watch(socket, reads, publishedAt, delivery, delivered, outOfOrder, skipped, lastSeen, me));
+            }
+            for (int i = 0; i < 500 && (feed.subscribers() < spectators || feed.lastId() != 1); i++) Thread.sleep(10);
+            ok &= check("every spectator subscribed", feed.subscribers() == spectators);
+
+            // The game: opens a clue, shows it, changes a score, closes it, at the requested rate
+            long events = (long) rate * seconds, periodNanos = 1_000_000_000L / rate;
+            long start = System.nanoTime();
+            int slot = 0;
+            for (long n = 0; n < events; n++) {
+                long due = start + n * periodNanos;
+                for (long wait; (wait = due - System.nanoTime()) > 0; ) LockSupport.parkNanos(wait); // not a spin: cores are for spectators
+                long t0 = System.nanoTime();
+                publishedAt.set((int) ((n + 2) % publishedAt.length()), t0); // the board was id 1
+                switch ((int) (n % 4)) {
+                    case 0 -> feed.clueOpened(slot, values[slot]);
+                    case 1 -> feed.question(slot, "This clue is about as long as a real one, so the events are a realistic size " + n);
+                    case 2 -> feed.score((int) (n % SEATS), (int) n);
+                    default -> feed.clueClosed(slot++ % SLOTS);
+                }
+                publishCost.record(System.nanoTime() - t0);
+                if (slot == SLOTS) slot = 0;
+            }
+            long lastId = events + 1;
+            for (int i = 0; i < 3000 && !allCaughtUp(lastSeen, slow, lastId); i++) Thread.sleep(10);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,d spectators (%d not reading), %,d events in %.1f s: %,d deliveries (%,.0f/s), %,d resyncs, %,d events skipped%n",
+                    spectators, slow, events, elapsed, delivered.get(), delivered.get() / elapsed, feed.resyncs(), skipped.get());
+            print("publish (game)", publishCost);
+            print("delivery", delivery);
+            ok &= check("readers got events in order, to the last", allCaughtUp(lastSeen, slow, lastId) && outOfOrder.get() == 0);
+
+            // Enough events to fill the ring, then reconnect at the edge of it
+            for (int i = 0; i <= SpectatorFeed.BACKLOG; i++) feed.score(0, i);
+            long newest = lastId + SpectatorFeed.BACKLOG + 1;
+            for (int i = 0; i < 500 && feed.lastId() != newest; i++) Thread.sleep(10);
+            ok &= check("a full ring behind resyncs", firstEvent(feed, newest - SpectatorFeed.BACKLOG).equals("snapshot"));
+            ok &= check("inside the ring gets the deltas", firstEvent(feed, newest - SpectatorFeed.BACKLOG + 1).equals("score"));
+
+            for (Socket socket : sockets) socket.close();
+            for (int i = 0; i < 500 && feed.subscribers() > 0; i++) {
+                feed.score(0, i); // a write is what notices a closed socket
+                Thread.sleep(10);
+            }
+            ok &= check("spectators who left are dropped", feed.subscribers() == 0);
+            clients.shutdownNow();
+            clients.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /** The name of the first event a spectator reconnecting after {@code lastEventId} is sent. */
+    private static String firstEvent(SpectatorFeed feed, long lastEventId) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", feed.port())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /events HTTP/1.1\r\nHost: localhost\r\nLast-Event-ID: " + lastEventId + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            Bytes in = new Bytes(socket.getInputStream());
+            for (String line; ; ) if ((line = line(in)).startsWith("event: ")) return line.substring(7);
+        }
+    }
+
+    private static boolean allCaughtUp(AtomicLongArray lastSeen, int slow, long lastId) {
+        for (int i = slow; i < lastSeen.length(); i++) if (lastSeen.get(i) != lastId) return false;
+        return true;
+    }
+
+    /** One spectator: reads the stream and times each event, or subscribes and then never reads. */
+    private static Void watch(Socket socket, boolean reads, AtomicLongArray publishedAt, LatencyHistogram delivery,
+                              AtomicLong delivered, AtomicLong outOfOrder, AtomicLong skipped,
+                              AtomicLongArray lastSeen, int me) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write("GET /events HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        if (!reads) return null;
+        Bytes in = new Bytes(socket.getInputStream());
+        Events events = new Events(publishedAt, delivery, delivered, outOfOrder, skipped, lastSeen, me);
+        try {
+            while (!line(in).isEmpty()) {} // status line and headers
+            // The response is chunked; a chunk may end anywhere in an event
+            int size;
+            while ((size = Integer.parseInt(line(in), 16)) > 0) {
+                events.chunk(in, size);
+                line(in); // CRLF after the chunk
+            }
+        } catch (IOException | RuntimeException closed) {
+            // the test is over
+        }
+        return null;
+    }
+
+    /** Picks the ids out of one spectator's event stream, a byte at a time and without allocating. */
+    private static final class Events {
+        private static final byte[] ID = "id: ".getBytes(StandardCharsets.US_ASCII);
+
+        private final AtomicLongArray publishedAt, lastSeen;
+        private final LatencyHistogram delivery;
+        private final AtomicLong delivered, outOfOrder, skipped;
+        private final int me;
+        private int column; // in the current line; -1 once it is known not to be an id line
+        private long id;
+
+        Events(AtomicLongArray publishedAt, LatencyHistogram delivery, AtomicLong delivered, AtomicLong outOfOrder,
+               AtomicLong skipped, AtomicLongArray lastSeen, int me) {
+            this.publishedAt = publishedAt;
+            this.delivery = delivery;
+            this.delivered = delivered;
+            this.outOfOrder = outOfOrder;
+            this.skipped = skipped;
+            this.lastSeen = lastSeen;
+            this.me = me;
+            lastSeen.set(me, -1);
+        }
+
+        void chunk(Bytes in, int size) throws IOException {
+            for (int i = 0; i < size; i++) {
+                int ch = in.read();
+                if (ch == '\n') {
+                    if (column > ID.length) event(id);
+                    column = 0;
+                    id = 0;
+                } else if (column >= 0) {
+                    if (column < ID.length) column = ch == ID[column] ? column + 1 : -1;
+                    else if (ch >= '0' && ch <= '9') {
+                        id = id * 10 + ch - '0';
+                        column++;
+                    } else column = -1;
+                }
+            }
+        }
+
+        private void event(long id) {
+            long now = System.nanoTime();
+            long last = lastSeen.get(me);
+            if (last >= 0 && id <= last) outOfOrder.incrementAndGet();
+            if (last >= 0 && id > last + 1) skipped.addAndGet(id - last - 1); // resynced with a snapshot
+            if (last >= 0) delivery.record(now - publishedAt.get((int) (id % publishedAt.length())));
+            delivered.incrementAndGet();
+            lastSeen.set(me, id);
+        }
+    }
+
+    private static String line(Bytes in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b != '\r') sb.append((char) b);
+        }
+        return sb.toString();
+    }
+
+    /** Buffered bytes without a lock per read: with thousands of readers on a few cores, that adds up. */
+    private static final class Bytes {
+        private final InputStream in;
+        private final byte[] buf = new byte[16384];
+        private int pos, limit;
+
+        Bytes(InputStream in) {
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            if (pos == limit) {
+                limit = in.read(buf);
+                pos = 0;
+                if (limit <= 0) throw new EOFException();
+            }
+            return buf[pos++] & 0xFF;
+        }
+    }
+
+    private static boolean check(String what, boolean passed) {
+        System.out.printf("  %-36s %s%n", what, passed ? "ok" : "FAILED");
+        return passed;
+    }
+
+    private static void print(String name, LatencyHistogram h) {
+        System.out.printf("  %-16s n=%,d  p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", name, h.count(),
+                h.percentileNanos(0.5) / 1e6, h.percentileNanos(0.99) / 1e6, h.maxNanos() / 1e6);
+    }
+}
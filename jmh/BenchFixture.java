@@ -0,0 +1,171 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.LongSupplier;
+
+/**
+ * Sets up the paths {@code bench.HotPathBenchmark} times and hands each one over as a
+ * {@link LongSupplier}. JMH only takes benchmarks in a named package, and code there can't name
+ * the game's classes in the default package; this class can, so it does all the touching and
+ * the benchmarks only see JDK types. Every op returns a value for JMH to consume.
+ */
+public final class BenchFixture {
+
+    private BenchFixture() {}
+
+    /** Parsing and loading a generated bank of {@code rows} rows, written into {@code dir}. */
+    public static Map<String, LongSupplier> bank(int rows, Path dir) throws IOException {
+        byte[] data = CsvParseBenchmark.generateBank(rows, 42);
+        File csv = dir.resolve("bank-" + rows + ".csv").toFile();
+        Files.write(csv.toPath(), data);
+        JeopardyGUI gui = new JeopardyGUI();
+        File pack = CluePack.cacheFileFor(csv);
+
+        Map<String, LongSupplier> ops = new HashMap<>();
+        ops.put("parse.readLine", () -> io(() -> CsvParseBenchmark.legacyParse(data)));
+        ops.put("parse.tokenizer", () -> io(() -> CsvParseBenchmark.tokenizerParse(data)));
+        ops.put("parse.file", () -> io(() -> parseFile(csv)));
+        ops.put("load.cold", () -> io(() -> {
+            pack.delete();
+            return (long) gui.loadCluesFromCSV(csv, _ -> {}, () -> false).allClues.size();
+        }));
+        ops.put("load.warm", () -> io(() -> (long) gui.loadCluesFromCSV(csv, _ -> {}, () -> false).allClues.size()));
+        return ops;
+    }
+
+    /** Board, score panel and screen switches of one game on that bank, painted into an offscreen image. */
+    public static Map<String, LongSupplier> screens(int rows, Path dir) throws Exception {
+        // No screen to flip to: paint straight into the benchmark's image
+        SwingUtilities.invokeAndWait(() -> RepaintManager.currentManager(null).setDoubleBufferingEnabled(false));
+        File csv = dir.resolve("screens-" + rows + ".csv").toFile();
+        Files.write(csv.toPath(), CsvParseBenchmark.generateBank(rows, 42));
+        JeopardyGUI gui = new JeopardyGUI();
+        JeopardyGUI.ClueBank bank = gui.loadCluesFromCSV(csv, _ -> {}, () -> false);
+        JComponent root = onEdt(gui::buildScreens);
+        BufferedImage img = new BufferedImage(JeopardyGUI.DEFAULT_WIDTH, JeopardyGUI.DEFAULT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        onEdt(() -> {
+            root.setSize(img.getWidth(), img.getHeight());
+            root.addNotify(); // displayable, so the board's buttons lay out and paint as on screen
+            gui.applyClueBank(bank);
+            return null;
+        });
+
+        Map<String, LongSupplier> ops = new HashMap<>();
+        ops.put("rebuildBoard", () -> onEdtUnchecked(() -> {
+            gui.rebuildBoard();
+            return paint(root, img);
+        }));
+        int[] score = {0};
+        ops.put("scoreChange", () -> onEdtUnchecked(() -> {
+            gui.engine().adjustScore(score[0] % gui.engine().contestantCount(), ++score[0]);
+            return (long) score[0];
+        }));
+        List<JeopardyGUI.Clue> clues = new ArrayList<>(bank.allClues);
+        int[] next = {0};
+        ops.put("transition", () -> onEdtUnchecked(() -> {
+            JeopardyGUI.Clue clue = clues.get(next[0]++ % clues.size());
+            gui.displayQuestion(clue);
+            long pixel = paint(root, img);
+            gui.backToBoard();
+            return pixel + paint(root, img);
+        }));
+        return ops;
+    }
+
+    /** Fitting clue text into the question screen's box, with fresh text each call and with the same. */
+    public static Map<String, LongSupplier> clueText() {
+        Font font = FontRole.CLUE_TEXT.fontFor(JeopardyGUI.DEFAULT_HEIGHT);
+        ClueTextView.Spec spec = new ClueTextView.Spec(font, JeopardyGUI.DEFAULT_WIDTH - 160, JeopardyGUI.DEFAULT_HEIGHT - 200);
+        String clue = "THIS TOOL, RELEASED IN 1995 BY DAN FARMER AND WIETSE VENEMA, WAS CONTROVERSIAL "
+                + "FOR SCANNING NETWORKS FOR VULNERABILITIES; ITS NAME IS AN ACRONYM";
+        Map<String, LongSupplier> ops = new HashMap<>();
+        long[] n = {0};
+        ops.put("new", () -> {
+            spec.prepare(clue + " " + n[0]++);
+            return n[0];
+        });
+        ops.put("cached", () -> {
+            spec.prepare(clue);
+            return 1;
+        });
+        return ops;
+    }
+
+    private static long parseFile(File csv) throws IOException {
+        long[] count = {0};
+        ClueFileParser.parse(csv, new ClueFileParser.Sink() {
+            @Override
+            public void clue(String category, int value, String question, String answer) {
+                count[0] += value;
+            }
+
+            @Override
+            public void finalClue(String category, String question, String answer) {
+                count[0]++;
+            }
+        }, _ -> {}, () -> false);
+        return count[0];
+    }
+
+    /** Lays out and paints the whole tree; returns a pixel so the paint is observable. */
+    private static long paint(JComponent root, BufferedImage img) {
+        root.validate();
+        Graphics2D g = img.createGraphics();
+        try {
+            root.printAll(g);
+        } finally {
+            g.dispose();
+        }
+        return img.getRGB(img.getWidth() / 2, img.getHeight() / 2);
+    }
+
+    private interface IoOp {
+        long run() throws IOException;
+    }
+
+    private static long io(IoOp op) {
+        try {
+            return op.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long onEdtUnchecked(Callable<Long> body) {
+        try {
+            return onEdt(body);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static <T> T onEdt(Callable<T> body) throws Exception {
+        Object[] result = new Object[1];
+        Exception[] failure = new Exception[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    result[0] = body.call();
+                } catch (Exception ex) {
+                    failure[0] = ex;
+                }
+            });
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+        if (failure[0] != null) throw failure[0];
+        @SuppressWarnings("unchecked") T t = (T) result[0];
+        return t;
+    }
+}
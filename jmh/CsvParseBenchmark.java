@@ -0,0 +1,127 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Parse throughput of the old readLine/parseCSVLine path against {@link CsvTokenizer}.
+ *
+ * Usage, on the test classpath: java CsvParseBenchmark [clues.csv | rowCount] [iterations]
+ * Without a file a synthetic bank is generated in memory (default 500,000 rows).
+ */
+public class CsvParseBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        byte[] data;
+        if (args.length > 0 && new File(args[0]).isFile()) {
+            data = Files.readAllBytes(new File(args[0]).toPath());
+        } else {
+            int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+            data = generateBank(rows, 42);
+        }
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double mb = data.length / (1024.0 * 1024.0);
+        System.out.printf("Input: %.1f MB, %d iterations%n", mb, iterations);
+
+        // Warm up both paths before timing anything
+        for (int i = 0; i < 3; i++) {
+            legacyParse(data);
+            tokenizerParse(data);
+        }
+
+        long legacyRows = 0, tokenRows = 0;
+        long legacyNanos = 0, tokenNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            legacyRows = legacyParse(data);
+            long t1 = System.nanoTime();
+            tokenRows = tokenizerParse(data);
+            long t2 = System.nanoTime();
+            legacyNanos += t1 - t0;
+            tokenNanos += t2 - t1;
+        }
+        report("readLine + parseCSVLine", legacyRows, mb * iterations, legacyNanos);
+        report("CsvTokenizer", tokenRows, mb * iterations, tokenNanos);
+    }
+
+    private static void report(String name, long rows, double totalMb, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-26s %,10d rows  %8.1f MB/s%n", name, rows, totalMb / seconds);
+    }
+
+    static byte[] generateBank(int rows, long seed) {
+        Random r = new Random(seed);
+        StringBuilder sb = new StringBuilder(rows * 96);
+        sb.append("Category,Value,Question,Answer\r\n");
+        for (int i = 0; i < rows; i++) {
+            int cat = i / 5;
+            sb.append("Topic ").append(cat).append(',')
+              .append((i % 5 + 1) * 200).append(',');
+            if (r.nextInt(8) == 0) {
+                sb.append("\"This clue, number ").append(i).append(", has a \"\"quoted\"\" word\"");
+            } else {
+                sb.append("This clue number ").append(i).append(" asks about topic ").append(r.nextInt(10_000));
+            }
+            sb.append(",Answer ").append(i).append("\r\n");
+            if (i % 5 == 4) sb.append(",,,\r\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ===== Path as it was in JeopardyGUI before CsvTokenizer =====
+
+    static long legacyParse(byte[] data) throws IOException {
+        long rows = 0;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.toLowerCase().contains("category")) continue;
+                String[] parts = parseCSVLine(line);
+                if (parts.length < 4 || parts[1].isBlank()) continue;
+                Integer.parseInt(parts[1].trim());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String[] parseCSVLine(String line) {
+        List<String> fields = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                fields.add(sb.toString().trim());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    static long tokenizerParse(byte[] data) throws IOException {
+        long[] rows = {0};
+        try (Reader in = new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8)) {
+            new CsvTokenizer(in).parse(row -> {
+                if (row.fieldCount() < 4 || row.isBlank(1) || row.fieldEqualsIgnoreCase(0, "category")) return true;
+                // Same strings loadCluesFromCSV builds for a Clue
+                row.field(0);
+                row.intField(1);
+                row.field(2);
+                row.field(3);
+                rows[0]++;
+                return true;
+            });
+        }
+        return rows[0];
+    }
+}
@@ -0,0 +1,167 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * The paths a show depends on, over generated clue banks of several sizes: CSV parsing, bank
+ * loading (compiling the pack, and reopening it), clue text layout, rebuilding and painting the
+ * board, score label updates, and board -> clue -> board screen transitions. Swing parts run
+ * headless, painting into an image.
+ *
+ * The game lives in the default package, which JMH won't generate benchmarks for and which
+ * this package can't name, so each path is set up by {@code BenchFixture} and reached through a
+ * LongSupplier; the extra interface call is nanoseconds against paths of microseconds and up.
+ *
+ * Run with {@code mvn -Pjmh verify}; e.g. {@code -Djmh.args="load -p rows=10000"} to pick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Djava.awt.headless=true"})
+public class HotPathBenchmark {
+
+    /** A generated bank on disk, in a temp directory that goes away after the trial. */
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"150", "10000", "1000000"})
+        public int rows;
+
+        Path dir;
+        LongSupplier parseReadLine, parseTokenizer, parseFile, loadCold, loadWarm;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            dir = Files.createTempDirectory("jeopardy-bench");
+            Map<String, LongSupplier> ops = fixture("bank", rows, dir);
+            parseReadLine = ops.get("parse.readLine");
+            parseTokenizer = ops.get("parse.tokenizer");
+            parseFile = ops.get("parse.file");
+            loadCold = ops.get("load.cold");
+            loadWarm = ops.get("load.warm");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(dir);
+        }
+    }
+
+    /** One game's screens on a bank of that size. */
+    @State(Scope.Benchmark)
+    public static class Screens {
+        @Param({"150", "10000", "1000000"})
+        public int rows;
+
+        Path dir;
+        LongSupplier rebuildBoard, scoreChange, transition;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            dir = Files.createTempDirectory("jeopardy-bench");
+            Map<String, LongSupplier> ops = fixture("screens", rows, dir);
+            rebuildBoard = ops.get("rebuildBoard");
+            scoreChange = ops.get("scoreChange");
+            transition = ops.get("transition");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ClueText {
+        LongSupplier fresh, cached;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp() throws Exception {
+            Map<String, LongSupplier> ops = (Map<String, LongSupplier>) Class.forName("BenchFixture").getMethod("clueText").invoke(null);
+            fresh = ops.get("new");
+            cached = ops.get("cached");
+        }
+    }
+
+    // ===== Parsing and loading =====
+
+    @Benchmark
+    public long parseReadLine(Bank bank) {
+        return bank.parseReadLine.getAsLong();
+    }
+
+    @Benchmark
+    public long parseTokenizer(Bank bank) {
+        return bank.parseTokenizer.getAsLong();
+    }
+
+    @Benchmark
+    public long parseClueFile(Bank bank) {
+        return bank.parseFile.getAsLong();
+    }
+
+    /** Compiles the pack every time. */
+    @Benchmark
+    public long loadCold(Bank bank) {
+        return bank.loadCold.getAsLong();
+    }
+
+    /** Maps the cached pack. */
+    @Benchmark
+    public long loadWarm(Bank bank) {
+        return bank.loadWarm.getAsLong();
+    }
+
+    // ===== Screens =====
+
+    /** rebuildBoard, then layout and paint of the whole window. */
+    @Benchmark
+    public long rebuildBoard(Screens screens) {
+        return screens.rebuildBoard.getAsLong();
+    }
+
+    /** One score change: what updateScoreLabels does per change. */
+    @Benchmark
+    public long updateScoreLabels(Screens screens) {
+        return screens.scoreChange.getAsLong();
+    }
+
+    /** Board to clue and back, both painted. */
+    @Benchmark
+    public long transition(Screens screens) {
+        return screens.transition.getAsLong();
+    }
+
+    // ===== Clue text =====
+
+    @Benchmark
+    public long wrapNewText(ClueText text) {
+        return text.fresh.getAsLong();
+    }
+
+    @Benchmark
+    public long wrapCachedText(ClueText text) {
+        return text.cached.getAsLong();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, LongSupplier> fixture(String name, int rows, Path dir) throws Exception {
+        return (Map<String, LongSupplier>) Class.forName("BenchFixture").getMethod(name, int.class, Path.class).invoke(null, rows, dir);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}